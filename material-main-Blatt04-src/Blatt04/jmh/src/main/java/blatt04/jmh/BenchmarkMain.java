@@ -0,0 +1,39 @@
+package blatt04.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Einstieg des Benchmark-Jars.
+ *
+ * Ohne Argumente laufen alle Benchmarks mit GC-Profiler (Allokationsrate und Bytes pro
+ * Operation), das Ergebnis wird als JSON nach jmh-result.json geschrieben, damit es sich
+ * über die Zeit vergleichen lässt. Mit Argumenten wird an das normale JMH-Main übergeben.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        runAll();
+    }
+
+    private static void runAll() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("blatt04\\.jmh\\..*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,84 @@
+package blatt04.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mikro-Benchmarks der Board-Operationen, die die Suche an jedem Knoten aufruft.
+ * Das Brett ist ein Mittelspiel mit ungefähr einem Drittel belegter Felder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"3", "4", "10"})
+    public int n;
+
+    private Object board;
+    private int freeCell;
+    private Object freePosition;
+    private int[] buffer;
+
+    @Setup
+    public void setUp() {
+        board = Engine.newBoard(n);
+        buffer = new int[n * n];
+        // jedes dritte Feld abwechselnd belegen, ohne eine Reihe zu schließen
+        int player = 1;
+        for (int cell = 0; cell < n * n; cell += 3) {
+            Engine.doMove(board, cell, player);
+            if (Engine.isGameWon(board)) {
+                Engine.undoMove(board, cell);
+                continue;
+            }
+            player = -player;
+        }
+        Engine.fillMoves(board, buffer);
+        freeCell = buffer[0];
+        freePosition = Engine.newPosition(freeCell / n, freeCell % n);
+        // ein letzter Zug, damit isGameWon() tatsächlich Reihen prüft
+        Engine.doMove(board, buffer[1], player);
+    }
+
+    @Benchmark
+    public void doMoveUndoMove() {
+        Engine.doMove(board, freeCell, 1);
+        Engine.undoMove(board, freeCell);
+    }
+
+    @Benchmark
+    public void doMoveUndoMovePosition() {
+        Engine.doMove(board, freePosition, 1);
+        Engine.undoMove(board, freePosition);
+    }
+
+    @Benchmark
+    public boolean isGameWon() {
+        return Engine.isGameWon(board);
+    }
+
+    @Benchmark
+    public Iterable<?> validMoves() {
+        return Engine.validMoves(board);
+    }
+
+    @Benchmark
+    public int fillMoves() {
+        return Engine.fillMoves(board, buffer);
+    }
+}
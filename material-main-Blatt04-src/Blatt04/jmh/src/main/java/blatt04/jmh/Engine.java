@@ -0,0 +1,344 @@
+package blatt04.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Zugriff auf die Engine-Klassen aus dem Default-Package.
+ *
+ * JMH verlangt für Benchmarks ein benanntes Package, und Java erlaubt keinen Import
+ * aus dem Default-Package. Die Methoden werden deshalb einmalig per Reflection als
+ * {@link MethodHandle} geholt und auf Object-Typen gebracht. Als {@code static final}
+ * Konstanten werden sie vom JIT vollständig inlined, der Umweg kostet im Benchmark nichts.
+ */
+final class Engine {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static final Class<?> GAME_BOARD = type("GameBoard");
+    private static final Class<?> BOARD = type("Board");
+    private static final Class<?> BIT_BOARD = type("BitBoard");
+    private static final Class<?> POSITION = type("Position");
+    private static final Class<?> TIC_TAC_TOE = type("TicTacToe");
+    private static final Class<?> MCTS = type("MonteCarloTreeSearch");
+    private static final Class<?> MCTS_MODE = type("MonteCarloTreeSearch$Mode");
+    private static final Class<?> SEARCH_BUDGET = type("SearchBudget");
+    private static final Class<?> GAME_RECORD_WRITER = type("GameRecordWriter");
+    private static final Class<?> GAME_RECORD_READER = type("GameRecordReader");
+    private static final Class<?> GAME_ANALYZER = type("GameAnalyzer");
+
+    private static final MethodHandle NEW_BOARD =
+            constructor(BOARD, MethodType.methodType(void.class, int.class), Object.class, int.class);
+    private static final MethodHandle NEW_BOARD_K =
+            constructor(BOARD, MethodType.methodType(void.class, int.class, int.class),
+                    Object.class, int.class, int.class);
+    private static final MethodHandle NEW_BIT_BOARD_K =
+            constructor(BIT_BOARD, MethodType.methodType(void.class, int.class, int.class),
+                    Object.class, int.class, int.class);
+    private static final MethodHandle NEW_POSITION =
+            constructor(POSITION, MethodType.methodType(void.class, int.class, int.class),
+                    Object.class, int.class, int.class);
+    private static final MethodHandle DO_MOVE =
+            virtual(GAME_BOARD, "doMove", MethodType.methodType(void.class, int.class, int.class),
+                    void.class, Object.class, int.class, int.class);
+    private static final MethodHandle UNDO_MOVE =
+            virtual(GAME_BOARD, "undoMove", MethodType.methodType(void.class, int.class),
+                    void.class, Object.class, int.class);
+    private static final MethodHandle DO_MOVE_POSITION =
+            virtual(GAME_BOARD, "doMove", MethodType.methodType(void.class, POSITION, int.class),
+                    void.class, Object.class, Object.class, int.class);
+    private static final MethodHandle UNDO_MOVE_POSITION =
+            virtual(GAME_BOARD, "undoMove", MethodType.methodType(void.class, POSITION),
+                    void.class, Object.class, Object.class);
+    private static final MethodHandle IS_GAME_WON =
+            virtual(GAME_BOARD, "isGameWon", MethodType.methodType(boolean.class),
+                    boolean.class, Object.class);
+    private static final MethodHandle IS_WINNING_MOVE =
+            virtual(GAME_BOARD, "isWinningMove", MethodType.methodType(boolean.class, int.class, int.class),
+                    boolean.class, Object.class, int.class, int.class);
+    private static final MethodHandle VALID_MOVES =
+            virtual(GAME_BOARD, "validMoves", MethodType.methodType(Iterable.class),
+                    Iterable.class, Object.class);
+    private static final MethodHandle FILL_MOVES =
+            virtual(GAME_BOARD, "fillMoves", MethodType.methodType(int.class, int[].class),
+                    int.class, Object.class, int[].class);
+    private static final MethodHandle ALPHA_BETA =
+            staticMethod(TIC_TAC_TOE, "alphaBeta", MethodType.methodType(int.class, GAME_BOARD, int.class),
+                    int.class, Object.class, int.class);
+    private static final MethodHandle NEW_MCTS =
+            constructor(MCTS, MethodType.methodType(void.class, MCTS_MODE, int.class),
+                    Object.class, Object.class, int.class);
+    private static final MethodHandle MCTS_SET_TREE_REUSE =
+            virtual(MCTS, "setTreeReuse", MethodType.methodType(void.class, boolean.class),
+                    void.class, Object.class, boolean.class);
+    private static final MethodHandle MCTS_SEARCH =
+            virtual(MCTS, "search", MethodType.methodType(type("SearchResult"), GAME_BOARD, int.class, SEARCH_BUDGET),
+                    Object.class, Object.class, Object.class, int.class, Object.class);
+    private static final MethodHandle BUDGET_OF_NODES =
+            staticMethod(SEARCH_BUDGET, "ofNodes", MethodType.methodType(SEARCH_BUDGET, long.class),
+                    Object.class, long.class);
+    private static final MethodHandle NEW_GAME_RECORD_WRITER =
+            constructor(GAME_RECORD_WRITER, MethodType.methodType(void.class, WritableByteChannel.class),
+                    Object.class, WritableByteChannel.class);
+    private static final MethodHandle NEW_GAME_RECORD_READER =
+            constructor(GAME_RECORD_READER, MethodType.methodType(void.class, ReadableByteChannel.class),
+                    Object.class, ReadableByteChannel.class);
+    private static final MethodHandle WRITE_RANDOM_GAMES =
+            staticMethod(GAME_ANALYZER, "writeRandomGames",
+                    MethodType.methodType(void.class, GAME_RECORD_WRITER, int.class, int.class, int.class, long.class),
+                    void.class, Object.class, int.class, int.class, int.class, long.class);
+    private static final MethodHandle REPLAY_GAMES =
+            staticMethod(GAME_ANALYZER, "replay",
+                    MethodType.methodType(type("GameAnalyzer$Summary"), GAME_RECORD_READER),
+                    Object.class, Object.class);
+    private static final MethodHandle NEW_GAME_ANALYZER =
+            constructor(GAME_ANALYZER, MethodType.methodType(void.class, int.class, int.class),
+                    Object.class, int.class, int.class);
+    private static final MethodHandle ANALYZE_GAMES =
+            virtual(GAME_ANALYZER, "analyze",
+                    MethodType.methodType(type("GameAnalyzer$Summary"), GAME_RECORD_READER),
+                    Object.class, Object.class, Object.class);
+
+    private Engine() {
+    }
+
+    static Object newBoard(int n) {
+        try {
+            return (Object) NEW_BOARD.invokeExact(n);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object newBoard(int n, int k) {
+        try {
+            return (Object) NEW_BOARD_K.invokeExact(n, k);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object newBitBoard(int n, int k) {
+        try {
+            return (Object) NEW_BIT_BOARD_K.invokeExact(n, k);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object newPosition(int x, int y) {
+        try {
+            return (Object) NEW_POSITION.invokeExact(x, y);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void doMove(Object board, int cell, int player) {
+        try {
+            DO_MOVE.invokeExact(board, cell, player);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void undoMove(Object board, int cell) {
+        try {
+            UNDO_MOVE.invokeExact(board, cell);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void doMove(Object board, Object position, int player) {
+        try {
+            DO_MOVE_POSITION.invokeExact(board, position, player);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void undoMove(Object board, Object position) {
+        try {
+            UNDO_MOVE_POSITION.invokeExact(board, position);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean isGameWon(Object board) {
+        try {
+            return (boolean) IS_GAME_WON.invokeExact(board);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean isWinningMove(Object board, int cell, int player) {
+        try {
+            return (boolean) IS_WINNING_MOVE.invokeExact(board, cell, player);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Iterable<?> validMoves(Object board) {
+        try {
+            return (Iterable<?>) VALID_MOVES.invokeExact(board);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static int fillMoves(Object board, int[] buffer) {
+        try {
+            return (int) FILL_MOVES.invokeExact(board, buffer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static int alphaBeta(Object board, int player) {
+        try {
+            return (int) ALPHA_BETA.invokeExact(board, player);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /** Neue MonteCarloTreeSearch; mode ist der Name einer Konstante von MonteCarloTreeSearch.Mode. */
+    static AutoCloseable newMonteCarloTreeSearch(String mode, int threads) {
+        try {
+            return (AutoCloseable) (Object) NEW_MCTS.invokeExact(enumConstant(MCTS_MODE, mode), threads);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static void setTreeReuse(Object mcts, boolean treeReuse) {
+        try {
+            MCTS_SET_TREE_REUSE.invokeExact(mcts, treeReuse);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object search(Object mcts, Object board, int player, Object budget) {
+        try {
+            return (Object) MCTS_SEARCH.invokeExact(mcts, board, player, budget);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object budgetOfNodes(long nodes) {
+        try {
+            return (Object) BUDGET_OF_NODES.invokeExact(nodes);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /** Schreibt games Zufallspartien (n×n, k = n) im Format von GameRecordWriter in einen Puffer. */
+    static byte[] randomGames(int games, int n, long seed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            Object writer = (Object) NEW_GAME_RECORD_WRITER.invokeExact(Channels.newChannel(bytes));
+            WRITE_RANDOM_GAMES.invokeExact(writer, games, n, n, seed);
+            ((Closeable) writer).close();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** GameRecordReader über einem Puffer aus {@link #randomGames}. */
+    static Object gameRecordReader(byte[] bytes) {
+        try {
+            return (Object) NEW_GAME_RECORD_READER.invokeExact(
+                    (ReadableByteChannel) Channels.newChannel(new ByteArrayInputStream(bytes)));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object replayGames(Object reader) {
+        try {
+            return (Object) REPLAY_GAMES.invokeExact(reader);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static AutoCloseable newGameAnalyzer(int parallelism, int maxInFlight) {
+        try {
+            return (AutoCloseable) (Object) NEW_GAME_ANALYZER.invokeExact(parallelism, maxInFlight);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object analyzeGames(Object analyzer, Object reader) {
+        try {
+            return (Object) ANALYZE_GAMES.invokeExact(analyzer, reader);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle constructor(Class<?> owner, MethodType type, Class<?> ret, Class<?>... params) {
+        try {
+            return LOOKUP.findConstructor(owner, type).asType(MethodType.methodType(ret, params));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle virtual(Class<?> owner, String name, MethodType type,
+                                        Class<?> ret, Class<?>... params) {
+        try {
+            return LOOKUP.findVirtual(owner, name, type).asType(MethodType.methodType(ret, params));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle staticMethod(Class<?> owner, String name, MethodType type,
+                                             Class<?> ret, Class<?>... params) {
+        try {
+            return LOOKUP.findStatic(owner, name, type).asType(MethodType.methodType(ret, params));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,65 @@
+package blatt04.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Partien pro Sekunde beim Lesen archivierter Partien: nur Nachspielen (ein Thread,
+ * wiederverwendetes Brett) und Nachspielen mit Fehlzug-Analyse auf allen Kernen.
+ * Die Partien sind zufällig gespielt und liegen als Bytes im Speicher, gemessen wird
+ * also ohne Platten-I/O. Die Transpositionstabelle der Analyse bleibt über die
+ * Iterationen gefüllt, wie in einem langen Lauf über ein großes Archiv.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameReplayBenchmark {
+
+    private static final int GAMES = 2_000;
+
+    @Param({"3", "4"})
+    public int n;
+
+    private byte[] games;
+    private AutoCloseable analyzer;
+
+    @Setup
+    public void setUp() {
+        games = Engine.randomGames(GAMES, n, 1);
+        int threads = Runtime.getRuntime().availableProcessors();
+        analyzer = Engine.newGameAnalyzer(threads, 4 * threads);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        analyzer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public Object replay() {
+        return Engine.replayGames(Engine.gameRecordReader(games));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public Object analyze() {
+        return Engine.analyzeGames(analyzer, Engine.gameRecordReader(games));
+    }
+}
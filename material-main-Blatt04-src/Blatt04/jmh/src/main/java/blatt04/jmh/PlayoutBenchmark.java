@@ -0,0 +1,64 @@
+package blatt04.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Playouts pro Sekunde der MonteCarloTreeSearch auf leeren Brettern (n = 7 mit k = 4,
+ * n = 10 mit k = 5) in allen drei Modi. Jede Operation ist eine Suche mit fester Zahl
+ * Playouts und frischem Baum, also wie ein Zug in einer Partie; JMH rechnet das Ergebnis
+ * auf einzelne Playouts um. Die parallelen Modi laufen mit allen Kernen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayoutBenchmark {
+
+    private static final int PLAYOUTS = 10_000;
+
+    @Param({"7", "10"})
+    public int n;
+
+    @Param({"SERIAL", "ROOT_PARALLEL", "TREE_PARALLEL"})
+    public String mode;
+
+    private AutoCloseable mcts;
+    private Object board;
+    private Object budget;
+
+    @Setup
+    public void setUp() {
+        int threads = "SERIAL".equals(mode) ? 1 : Runtime.getRuntime().availableProcessors();
+        mcts = Engine.newMonteCarloTreeSearch(mode, threads);
+        Engine.setTreeReuse(mcts, false);
+        board = Engine.newBoard(n, n == 7 ? 4 : 5);
+        budget = Engine.budgetOfNodes(PLAYOUTS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        mcts.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public Object search() {
+        return Engine.search(mcts, board, 1, budget);
+    }
+}
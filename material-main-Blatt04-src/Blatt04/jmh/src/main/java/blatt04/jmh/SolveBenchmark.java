@@ -0,0 +1,74 @@
+package blatt04.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vollständige Lösungen mit TicTacToe.alphaBeta auf festen Stellungen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+
+    /**
+     * Stellungen: Brettgröße und bereits gespielte Züge als Feld-Indizes (x*n+y),
+     * abwechselnd x und o, beginnend mit x.
+     */
+    @Param({"3x3-empty", "4x4-midgame-a", "4x4-midgame-b", "4x4-empty"})
+    public String position;
+
+    private Object board;
+    private int player;
+
+    @Setup
+    public void setUp() {
+        int[] moves;
+        int n;
+        switch (position) {
+            case "3x3-empty":
+                n = 3;
+                moves = new int[0];
+                break;
+            case "4x4-midgame-a":
+                n = 4;
+                moves = new int[] {0, 5, 3, 10};
+                break;
+            case "4x4-midgame-b":
+                n = 4;
+                moves = new int[] {5, 6, 9, 10, 0, 15};
+                break;
+            case "4x4-empty":
+                n = 4;
+                moves = new int[0];
+                break;
+            default:
+                throw new IllegalArgumentException("Unbekannte Stellung: " + position);
+        }
+        board = Engine.newBoard(n);
+        player = 1;
+        for (int cell : moves) {
+            Engine.doMove(board, cell, player);
+            player = -player;
+        }
+    }
+
+    @Benchmark
+    public int alphaBeta() {
+        return Engine.alphaBeta(board, player);
+    }
+}
@@ -0,0 +1,82 @@
+package blatt04.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kosten des Gewinntests auf 10×10 mit k = 5 (Gomoku-artig) im Vergleich zu k = 10,
+ * wo Board über Reihenzähler prüft. Es werden reihum 64 zufällige Mittelspiele
+ * (40 Steine, noch nicht entschieden) mit verschiedenem letzten Zug abgefragt, damit
+ * die Sprungvorhersage nicht immer dieselbe Stellung sieht.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinCheckBenchmark {
+
+    private static final int N = 10;
+    private static final int BOARDS = 64;
+    private static final int STONES = 40;
+
+    @Param({"5", "10"})
+    public int k;
+
+    @Param({"Board", "BitBoard"})
+    public String implementation;
+
+    private final Object[] boards = new Object[BOARDS];
+    private final int[] freeCells = new int[BOARDS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        int[] buffer = new int[N * N];
+        for (int i = 0; i < BOARDS; i++) {
+            Object board = "Board".equals(implementation) ? Engine.newBoard(N, k) : Engine.newBitBoard(N, k);
+            int player = 1;
+            int placed = 0;
+            while (placed < STONES) {
+                int count = Engine.fillMoves(board, buffer);
+                int cell = buffer[rnd.nextInt(count)];
+                Engine.doMove(board, cell, player);
+                if (Engine.isGameWon(board)) {
+                    Engine.undoMove(board, cell);
+                    continue;
+                }
+                player = -player;
+                placed++;
+            }
+            int count = Engine.fillMoves(board, buffer);
+            freeCells[i] = buffer[rnd.nextInt(count)];
+            boards[i] = board;
+        }
+    }
+
+    @Benchmark
+    public boolean isGameWon() {
+        next = (next + 1) & (BOARDS - 1);
+        return Engine.isGameWon(boards[next]);
+    }
+
+    @Benchmark
+    public boolean isWinningMove() {
+        next = (next + 1) & (BOARDS - 1);
+        return Engine.isWinningMove(boards[next], freeCells[next], 1);
+    }
+}
@@ -0,0 +1,234 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Löst viele unabhängige Stellungen gleichzeitig auf einem begrenzten
+ * Work-Stealing-Pool ({@link ForkJoinPool}).
+ *
+ * Jeder Worker-Thread hat einen eigenen {@link SearchContext}; die Kontexte teilen sich
+ * eine sperrfreie {@link TranspositionTable}, sodass auch Teilbäume verschiedener Aufträge
+ * nur einmal durchsucht werden. Exakte Werte bereits gelöster Stellungen landen zusätzlich
+ * in einem gemeinsamen Cache (kanonischer Zobrist-Schlüssel samt Spieler am Zug), sodass
+ * gleiche oder symmetrische Stellungen in einem Batch gar nicht erst gesucht werden.
+ * Gewonnene Stellungen gehen am Cache vorbei: ob gewonnen ist, hängt am letzten Zug, den
+ * der Schlüssel nicht kennt, und ihr Wert kostet ohnehin keine Suche.
+ * Höchstens {@code maxInFlight} Aufträge sind gleichzeitig
+ * angenommen; {@link #submit} blockiert darüber hinaus, und {@link #stream} holt neue
+ * Stellungen erst, wenn Ergebnisse abgenommen werden. Der Speicher bleibt so auch bei
+ * großen Bursts begrenzt.
+ */
+public class BatchSolver implements AutoCloseable {
+
+    /** Standardgröße des gemeinsamen Caches (Anzahl Stellungen). */
+    public static final int DEFAULT_CACHE_ENTRIES = 1 << 20;
+
+    /** Eine zu lösende Stellung (als unveränderlicher Snapshot) mit dem Spieler am Zug. */
+    public static final class Job {
+        private final BoardSnapshot position;
+        private final int player;
+
+        private Job(BoardSnapshot position, int player) {
+            this.position = position;
+            this.player = player;
+        }
+
+        public static Job of(BoardSnapshot position, int player) {
+            if (position == null) {
+                throw new IllegalArgumentException("Stellung fehlt.");
+            }
+            if (player != 1 && player != -1) {
+                throw new IllegalArgumentException("Spieler muss ±1 sein.");
+            }
+            return new Job(position, player);
+        }
+
+        /** Nimmt einen Snapshot von board; das Brett darf danach weiterverwendet werden. */
+        public static Job of(GameBoard board, int player) {
+            if (board == null) {
+                throw new IllegalArgumentException("Brett fehlt.");
+            }
+            return of(board.snapshot(), player);
+        }
+
+        public BoardSnapshot getPosition() {
+            return position;
+        }
+
+        public int getPlayer() {
+            return player;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final int maxCacheEntries;
+    private final ConcurrentHashMap<Long, Integer> cache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder solved = new LongAdder();
+    private final TranspositionTable tt;
+    private final ThreadLocal<SearchContext> contexts;
+
+    public BatchSolver(int parallelism, int maxInFlight) {
+        this(parallelism, maxInFlight, DEFAULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * @param parallelism     Anzahl Worker-Threads
+     * @param maxInFlight     höchstens so viele angenommene, noch nicht fertige Aufträge
+     * @param maxCacheEntries Obergrenze des gemeinsamen Caches; ist er voll, wird nichts mehr eingetragen
+     */
+    public BatchSolver(int parallelism, int maxInFlight, int maxCacheEntries) {
+        this(parallelism, maxInFlight, maxCacheEntries, new TranspositionTable());
+    }
+
+    /**
+     * Wie {@link #BatchSolver(int, int, int)} mit einer vorgegebenen gemeinsamen
+     * Transpositionstabelle, z.B. derselben wie eine {@link ParallelSearch}.
+     */
+    public BatchSolver(int parallelism, int maxInFlight, int maxCacheEntries, TranspositionTable tt) {
+        if (tt == null) {
+            throw new IllegalArgumentException("Transpositionstabelle fehlt.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Mindestens ein Thread nötig: " + parallelism);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight muss positiv sein: " + maxInFlight);
+        }
+        if (maxCacheEntries < 0) {
+            throw new IllegalArgumentException("maxCacheEntries darf nicht negativ sein: " + maxCacheEntries);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.maxCacheEntries = maxCacheEntries;
+        this.tt = tt;
+        this.contexts = ThreadLocal.withInitial(() -> new SearchContext(tt));
+    }
+
+    /**
+     * Nimmt eine Stellung an und liefert ihren Wert wie {@link TicTacToe#alphaBeta(GameBoard, int)}.
+     * Vom Brett wird sofort ein Snapshot genommen; es darf danach weiterverwendet werden.
+     * Blockiert, solange bereits maxInFlight Aufträge laufen.
+     */
+    public CompletableFuture<Integer> submit(GameBoard board, int player) throws InterruptedException {
+        return submit(Job.of(board, player));
+    }
+
+    /** Wie {@link #submit(GameBoard, int)} für einen fertigen Auftrag. */
+    public CompletableFuture<Integer> submit(Job job) throws InterruptedException {
+        permits.acquire();
+        try {
+            CompletableFuture<Integer> result = CompletableFuture.supplyAsync(() -> solve(job), pool);
+            result.whenComplete((value, error) -> permits.release());
+            return result;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** {@link #submit} für jeden Auftrag; blockiert bei Bedarf zwischendurch. */
+    public List<CompletableFuture<Integer>> submitAll(List<Job> jobs) throws InterruptedException {
+        List<CompletableFuture<Integer>> results = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            results.add(submit(job));
+        }
+        return results;
+    }
+
+    /**
+     * Werte der Aufträge in Eingabereihenfolge. Die Quelle wird erst gelesen, wenn der
+     * Stream Ergebnisse abnimmt, und es sind nie mehr als maxInFlight Aufträge unterwegs.
+     */
+    public Stream<Integer> stream(Iterator<Job> jobs) {
+        Spliterator<Integer> spliterator = new Spliterators.AbstractSpliterator<Integer>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final ArrayDeque<CompletableFuture<Integer>> window = new ArrayDeque<>();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Integer> action) {
+                try {
+                    while (window.size() < maxInFlight && jobs.hasNext()) {
+                        Job job = jobs.next();
+                        window.add(submit(job));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Unterbrochen beim Warten auf freie Plätze.", e);
+                }
+                if (window.isEmpty()) {
+                    return false;
+                }
+                action.accept(window.poll().join());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    // Läuft im Pool: Brett aus dem Snapshot bauen, im gemeinsamen Cache nachsehen,
+    // sonst mit dem Kontext des Threads suchen
+    private int solve(Job job) {
+        Board board = job.position.toBoard();
+        if (board.isGameWon()) {
+            // gleiche Steine ohne gewinnenden letzten Zug hätten denselben Schlüssel
+            solved.increment();
+            return TicTacToe.alphaBeta(board, job.player, contexts.get());
+        }
+        long key = Zobrist.key(board.getCanonicalHash(), job.player);
+        Integer cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        int value = TicTacToe.alphaBeta(board, job.player, contexts.get());
+        if (cache.size() < maxCacheEntries) {
+            cache.putIfAbsent(key, value);
+        }
+        solved.increment();
+        return value;
+    }
+
+    /** Aufträge, die aus dem gemeinsamen Cache beantwortet wurden. */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /** Aufträge, für die tatsächlich gesucht wurde. */
+    public long getSolved() {
+        return solved.sum();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return tt;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Nimmt keine neuen Aufträge mehr an; laufende werden noch fertig. */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Der Batch-Solver muss für jede Stellung denselben Wert wie die serielle alphaBeta()
+ * liefern, Reihenfolge und Obergrenze der laufenden Aufträge einhalten und gleiche
+ * Stellungen aus dem gemeinsamen Cache beantworten.
+ */
+public class BatchSolverTest {
+
+	// zufällige, noch offene Stellungen mit stones Steinen
+	private static List<BatchSolver.Job> randomJobs(int n, int stones, int count, long seed) {
+		Random rnd = new Random(seed);
+		List<BatchSolver.Job> jobs = new ArrayList<>();
+		while (jobs.size() < count) {
+			Board b = PositionTestSupport.randomPosition(n, stones, rnd);
+			if (!b.isGameWon()) {
+				jobs.add(BatchSolver.Job.of(b, PositionTestSupport.playerToMove(b)));
+			}
+		}
+		return jobs;
+	}
+
+	@Test
+	public void testFuturesMatchSerialSearch() throws Exception {
+		List<BatchSolver.Job> jobs = randomJobs(4, 6, 60, 1);
+		try (BatchSolver solver = new BatchSolver(2, 8)) {
+			List<CompletableFuture<Integer>> results = solver.submitAll(jobs);
+			for (int i = 0; i < jobs.size(); i++) {
+				BatchSolver.Job job = jobs.get(i);
+				assertEquals(TicTacToe.alphaBeta(job.getPosition().toBoard(), job.getPlayer()), (int) results.get(i).get());
+			}
+		}
+	}
+
+	@Test
+	public void testStreamKeepsOrderAndBoundsInFlight() {
+		List<BatchSolver.Job> jobs = randomJobs(3, 3, 50, 2);
+		int[] taken = {0};
+		Iterator<BatchSolver.Job> source = new Iterator<BatchSolver.Job>() {
+			@Override
+			public boolean hasNext() {
+				return taken[0] < jobs.size();
+			}
+
+			@Override
+			public BatchSolver.Job next() {
+				return jobs.get(taken[0]++);
+			}
+		};
+		try (BatchSolver solver = new BatchSolver(2, 4)) {
+			Iterator<Integer> results = solver.stream(source).iterator();
+			results.next();
+			assertTrue("höchstens 4 Aufträge vorgezogen", taken[0] <= 4);
+			List<Integer> rest = new ArrayList<>();
+			results.forEachRemaining(rest::add);
+			assertEquals(jobs.size() - 1, rest.size());
+			for (int i = 1; i < jobs.size(); i++) {
+				BatchSolver.Job job = jobs.get(i);
+				assertEquals(TicTacToe.alphaBeta(job.getPosition().toBoard(), job.getPlayer()), (int) rest.get(i - 1));
+			}
+		}
+	}
+
+	@Test
+	public void testSymmetricDuplicatesHitCache() {
+		List<BatchSolver.Job> jobs = new ArrayList<>();
+		for (int corner : new int[] {0, 2, 6, 8, 0, 2, 6, 8}) {
+			Board b = new Board(3);
+			b.doMove(corner, 1);
+			jobs.add(BatchSolver.Job.of(b, -1));
+		}
+		try (BatchSolver solver = new BatchSolver(1, 1)) {
+			List<Integer> values = solver.stream(jobs.iterator()).collect(Collectors.toList());
+			for (int v : values) {
+				assertEquals(0, v);
+			}
+			assertEquals(1, solver.getSolved());
+			assertEquals(7, solver.getCacheHits());
+		}
+	}
+
+	@Test
+	public void testWonStateIsNotMixedUpInCache() {
+		// x x x     gleiche Steine: einmal mit gewinnendem letzten Zug,
+		// o o .     einmal nur gesetzt (kein letzter Zug, also nicht gewonnen)
+		// . . .
+		Board won = new Board(3);
+		Board placed = new Board(3);
+		int[][] stones = {{0, 0, 1}, {1, 0, -1}, {0, 1, 1}, {1, 1, -1}, {0, 2, 1}};
+		for (int[] s : stones) {
+			won.doMove(new Position(s[0], s[1]), s[2]);
+			placed.setField(new Position(s[0], s[1]), s[2]);
+		}
+		assertTrue(won.isGameWon());
+		assertFalse(placed.isGameWon());
+		List<BatchSolver.Job> jobs = Arrays.asList(BatchSolver.Job.of(placed, -1),
+				BatchSolver.Job.of(won, -1), BatchSolver.Job.of(placed, -1));
+		try (BatchSolver solver = new BatchSolver(1, 1)) {
+			List<Integer> values = solver.stream(jobs.iterator()).collect(Collectors.toList());
+			assertEquals(TicTacToe.alphaBeta(placed, -1), (int) values.get(0));
+			assertEquals(TicTacToe.alphaBeta(won, -1), (int) values.get(1));
+			assertEquals(TicTacToe.alphaBeta(placed, -1), (int) values.get(2));
+			assertNotEquals(values.get(0), values.get(1));
+			assertEquals(1, solver.getCacheHits());
+		}
+	}
+}
@@ -0,0 +1,465 @@
+import java.util.ArrayList;
+import java.util.InputMismatchException;
+import java.util.List;
+
+/**
+ * Brett-Implementierung auf Bitmasken: jeder Spieler belegt zwei {@code long}s
+ * (Felder 0..63 und 64..99, Feld-Index = x*n + y). Für jedes Feld sind die Masken
+ * der Gewinnlinien (k Felder am Stück), die durch das Feld gehen, vorberechnet; der
+ * Gewinntest ist damit ein AND-Vergleich pro Linie statt eines Scans über das Brett.
+ *
+ * Verhält sich nach außen genau wie {@link Board} (gleiche Exceptions, gleiche
+ * Zugreihenfolge in {@link #validMoves()}, gleicher Zobrist-Hash).
+ */
+public class BitBoard implements GameBoard {
+
+    // LINES_LO[n][k][cell] / LINES_HI[n][k][cell]: Masken aller Gewinnlinien durch cell
+    private static final long[][][][] LINES_LO = new long[11][11][][];
+    private static final long[][][][] LINES_HI = new long[11][11][][];
+    // ALL_LO[n][k] / ALL_HI[n][k]: alle Gewinnlinien des Bretts (für die Bewertung)
+    private static final long[][][] ALL_LO = new long[11][11][];
+    private static final long[][][] ALL_HI = new long[11][11][];
+
+    static {
+        for (int n = 1; n <= 10; n++) {
+            initLines(n, n);
+        }
+    }
+
+    private final int n;
+    private final int k;              // Gewinnlänge
+    private final long[][] linesLo;   // Linien-Masken für dieses (n, k)
+    private final long[][] linesHi;
+    private final long[] allLo;
+    private final long[] allHi;
+    private long xLo, xHi;            // Felder von x (+1)
+    private long oLo, oHi;            // Felder von o (−1)
+    private int freeCount;
+    private int lastCell;             // Index des letzten Zugs, −1 wenn keiner
+    private int lastPlayer;
+    private final int[][] symmetry;   // symmetry[t][cell]: Bild von cell unter Symmetrie t
+    private final long[] hashes;      // Zobrist-Hash des mit t transformierten Bretts
+
+    // Konstruktor, wirft Exception, falls n<1 oder n>10
+    public BitBoard(int n) {
+        this(n, n);
+    }
+
+    // Brett mit Gewinnlänge k, wirft Exception, falls n<1, n>10 oder k nicht in 1..n
+    public BitBoard(int n, int k) {
+        if (n < 1 || n > 10) {
+            throw new InputMismatchException("n muss zwischen 1 und 10 sein.");
+        }
+        if (k < 1 || k > n) {
+            throw new InputMismatchException("k muss zwischen 1 und n sein.");
+        }
+        this.n = n;
+        this.k = k;
+        ensureLines(n, k);
+        linesLo = LINES_LO[n][k];
+        linesHi = LINES_HI[n][k];
+        allLo = ALL_LO[n][k];
+        allHi = ALL_HI[n][k];
+        freeCount = n * n;
+        lastCell = -1;
+        lastPlayer = 0;
+        symmetry = Symmetry.of(n);
+        hashes = Symmetry.emptyHashes(n, k);
+    }
+
+    // Kopie-Konstruktor
+    public BitBoard(BitBoard other) {
+        n = other.n;
+        k = other.k;
+        linesLo = other.linesLo;
+        linesHi = other.linesHi;
+        allLo = other.allLo;
+        allHi = other.allHi;
+        xLo = other.xLo;
+        xHi = other.xHi;
+        oLo = other.oLo;
+        oHi = other.oHi;
+        freeCount = other.freeCount;
+        lastCell = other.lastCell;
+        lastPlayer = other.lastPlayer;
+        symmetry = other.symmetry;
+        hashes = other.hashes.clone();
+    }
+
+    @Override
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    // Gewinnlinien für (n, k) einmalig vorberechnen; danach nur noch gelesen
+    private static synchronized void ensureLines(int n, int k) {
+        if (LINES_LO[n][k] == null) {
+            initLines(n, k);
+        }
+    }
+
+    // Alle Gewinnlinien (k Felder am Stück in einer der 4 Richtungen) und für jedes Feld die
+    // Linien, die es enthalten. Bei k == n: Zeilen, Spalten und die beiden Diagonalen.
+    private static void initLines(int n, int k) {
+        int[] dx = {1, 0, 1, 1};
+        int[] dy = {0, 1, 1, -1};
+        // bei k == 1 < n wäre jedes Feld viermal dabei; 1x1 zählt wie Board alle 2n+2 = 4 Reihen
+        int directions = k == 1 && n > 1 ? 1 : 4;
+        List<long[]> all = new ArrayList<>();
+        List<List<long[]>> perCell = new ArrayList<>();
+        for (int cell = 0; cell < n * n; cell++) {
+            perCell.add(new ArrayList<>());
+        }
+        for (int d = 0; d < directions; d++) {
+            for (int x = 0; x < n; x++) {
+                for (int y = 0; y < n; y++) {
+                    int ex = x + (k - 1) * dx[d];
+                    int ey = y + (k - 1) * dy[d];
+                    if (ex < 0 || ex >= n || ey < 0 || ey >= n) {
+                        continue;
+                    }
+                    long[] window = new long[2];
+                    for (int i = 0; i < k; i++) {
+                        setBit(window, (x + i * dx[d]) * n + (y + i * dy[d]));
+                    }
+                    all.add(window);
+                    for (int i = 0; i < k; i++) {
+                        perCell.get((x + i * dx[d]) * n + (y + i * dy[d])).add(window);
+                    }
+                }
+            }
+        }
+        long[][] lo = new long[n * n][];
+        long[][] hi = new long[n * n][];
+        for (int cell = 0; cell < n * n; cell++) {
+            List<long[]> windows = perCell.get(cell);
+            lo[cell] = new long[windows.size()];
+            hi[cell] = new long[windows.size()];
+            for (int w = 0; w < windows.size(); w++) {
+                lo[cell][w] = windows.get(w)[0];
+                hi[cell][w] = windows.get(w)[1];
+            }
+        }
+        long[] allLo = new long[all.size()];
+        long[] allHi = new long[all.size()];
+        for (int w = 0; w < all.size(); w++) {
+            allLo[w] = all.get(w)[0];
+            allHi[w] = all.get(w)[1];
+        }
+        LINES_HI[n][k] = hi;
+        ALL_LO[n][k] = allLo;
+        ALL_HI[n][k] = allHi;
+        LINES_LO[n][k] = lo;   // zuletzt: markiert (n, k) als fertig
+    }
+
+    // Bit für cell in {lo, hi} setzen
+    private static void setBit(long[] mask, int cell) {
+        if (cell < 64) {
+            mask[0] |= 1L << cell;
+        } else {
+            mask[1] |= 1L << (cell - 64);
+        }
+    }
+
+    @Override
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(n, k, xLo, xHi, oLo, oHi, lastCell, lastPlayer, hashes[0]);
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public int getK() {
+        return k;
+    }
+
+    @Override
+    public int nFreeFields() {
+        return freeCount;
+    }
+
+    @Override
+    public long getHash() {
+        return hashes[0];
+    }
+
+    @Override
+    public long getCanonicalHash() {
+        return Symmetry.canonical(hashes);
+    }
+
+    @Override
+    public int canonicalSymmetry() {
+        return Symmetry.canonicalIndex(hashes);
+    }
+
+    @Override
+    public int symmetryMask() {
+        int mask = Symmetry.candidates(hashes);
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            if ((mask & (1 << t)) == 0) {
+                continue;
+            }
+            int[] map = symmetry[t];
+            for (int cell = 0; cell < n * n; cell++) {
+                if (fieldAt(cell) != fieldAt(map[cell])) {
+                    mask &= ~(1 << t);   // Hash-Kollision, doch nicht symmetrisch
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public int getField(Position pos) {
+        if (pos.x < 0 || pos.x >= n || pos.y < 0 || pos.y >= n) {
+            throw new InputMismatchException("Position ungültig: " + pos);
+        }
+        return fieldAt(pos.x * n + pos.y);
+    }
+
+    // Wert an Feld-Index cell
+    private int fieldAt(int cell) {
+        if (cell < 64) {
+            long bit = 1L << cell;
+            return (xLo & bit) != 0 ? 1 : (oLo & bit) != 0 ? -1 : 0;
+        }
+        long bit = 1L << (cell - 64);
+        return (xHi & bit) != 0 ? 1 : (oHi & bit) != 0 ? -1 : 0;
+    }
+
+    @Override
+    public void setField(Position pos, int token) {
+        if (pos.x < 0 || pos.x >= n || pos.y < 0 || pos.y >= n) {
+            throw new InputMismatchException("Position ungültig: " + pos);
+        }
+        if (token != -1 && token != 0 && token != 1) {
+            throw new InputMismatchException("Token muss -1,0 oder +1 sein: " + token);
+        }
+        put(pos.x * n + pos.y, token);
+    }
+
+    // Setzt token ohne Prüfung und führt freeCount und Hash nach
+    private void put(int cell, int token) {
+        int old = fieldAt(cell);
+        if (old == 0 && token != 0) {
+            freeCount--;
+        } else if (old != 0 && token == 0) {
+            freeCount++;
+        }
+        if (old != 0) {
+            Symmetry.toggle(hashes, symmetry, cell, old);
+        }
+        if (token != 0) {
+            Symmetry.toggle(hashes, symmetry, cell, token);
+        }
+        if (cell < 64) {
+            long bit = 1L << cell;
+            xLo = token == 1 ? xLo | bit : xLo & ~bit;
+            oLo = token == -1 ? oLo | bit : oLo & ~bit;
+        } else {
+            long bit = 1L << (cell - 64);
+            xHi = token == 1 ? xHi | bit : xHi & ~bit;
+            oHi = token == -1 ? oHi | bit : oHi & ~bit;
+        }
+    }
+
+    @Override
+    public void doMove(Position pos, int player) {
+        if (player != 1 && player != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (pos.x < 0 || pos.x >= n || pos.y < 0 || pos.y >= n) {
+            throw new IllegalArgumentException("Position außerhalb: " + pos);
+        }
+        if (fieldAt(pos.x * n + pos.y) != 0) {
+            throw new IllegalArgumentException("Feld belegt: " + pos);
+        }
+        put(pos.x * n + pos.y, player);
+        lastCell = pos.x * n + pos.y;
+        lastPlayer = player;
+    }
+
+    @Override
+    public void doMove(int cell, int player) {
+        if (player != 1 && player != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (cell < 0 || cell >= n * n) {
+            throw new IllegalArgumentException("Feld außerhalb: " + cell);
+        }
+        if (fieldAt(cell) != 0) {
+            throw new IllegalArgumentException("Feld belegt: " + cell);
+        }
+        put(cell, player);
+        lastCell = cell;
+        lastPlayer = player;
+    }
+
+    @Override
+    public void undoMove(int cell) {
+        if (cell < 0 || cell >= n * n) {
+            throw new IllegalArgumentException("Feld außerhalb: " + cell);
+        }
+        if (fieldAt(cell) == 0) {
+            return; // war eh frei
+        }
+        put(cell, 0);
+        lastCell = -1;
+        lastPlayer = 0;
+    }
+
+    @Override
+    public void undoMove(Position pos) {
+        if (pos.x < 0 || pos.x >= n || pos.y < 0 || pos.y >= n) {
+            throw new IllegalArgumentException("Position ungültig: " + pos);
+        }
+        if (fieldAt(pos.x * n + pos.y) == 0) {
+            return; // war eh frei
+        }
+        put(pos.x * n + pos.y, 0);
+        lastCell = -1;
+        lastPlayer = 0;
+    }
+
+    // Gewinntest: jede Gewinnlinie durch den letzten Zug als AND gegen die Masken des Spielers
+    @Override
+    public boolean isGameWon() {
+        if (lastCell < 0) {
+            return false;
+        }
+        long ownLo = lastPlayer == 1 ? xLo : oLo;
+        long ownHi = lastPlayer == 1 ? xHi : oHi;
+        long[] lo = linesLo[lastCell];
+        long[] hi = linesHi[lastCell];
+        for (int w = 0; w < lo.length; w++) {
+            if ((ownLo & lo[w]) == lo[w] && (ownHi & hi[w]) == hi[w]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Maske der freien Felder in den unteren 64 Feldern
+    private long freeLo() {
+        int cells = n * n;
+        long free = ~(xLo | oLo);
+        return cells < 64 ? free & ((1L << cells) - 1) : free;
+    }
+
+    // Maske der freien Felder 64..99
+    private long freeHi() {
+        int cells = n * n;
+        return cells <= 64 ? 0L : ~(xHi | oHi) & ((1L << (cells - 64)) - 1);
+    }
+
+    @Override
+    public int fillMoves(int[] buffer) {
+        int count = 0;
+        for (long free = freeLo(); free != 0; free &= free - 1) {
+            buffer[count++] = Long.numberOfTrailingZeros(free);
+        }
+        for (long free = freeHi(); free != 0; free &= free - 1) {
+            buffer[count++] = 64 + Long.numberOfTrailingZeros(free);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isWinningMove(int cell, int player) {
+        long ownLo = player == 1 ? xLo : oLo;
+        long ownHi = player == 1 ? xHi : oHi;
+        if (cell < 64) {
+            ownLo |= 1L << cell;
+        } else {
+            ownHi |= 1L << (cell - 64);
+        }
+        long[] lo = linesLo[cell];
+        long[] hi = linesHi[cell];
+        for (int w = 0; w < lo.length; w++) {
+            if ((ownLo & lo[w]) == lo[w] && (ownHi & hi[w]) == hi[w]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Feld, auf dem player sofort gewinnt: Linien ohne fremden Stein, in denen genau ein Bit fehlt
+    @Override
+    public int winningCell(int player) {
+        long ownLo = player == 1 ? xLo : oLo;
+        long ownHi = player == 1 ? xHi : oHi;
+        long oppLo = player == 1 ? oLo : xLo;
+        long oppHi = player == 1 ? oHi : xHi;
+        int found = -1;
+        for (int w = 0; w < allLo.length; w++) {
+            if ((oppLo & allLo[w]) != 0 || (oppHi & allHi[w]) != 0) {
+                continue;
+            }
+            long missingLo = allLo[w] & ~ownLo;
+            long missingHi = allHi[w] & ~ownHi;
+            if (Long.bitCount(missingLo) + Long.bitCount(missingHi) != 1) {
+                continue;
+            }
+            int cell = missingLo != 0 ? Long.numberOfTrailingZeros(missingLo) : 64 + Long.numberOfTrailingZeros(missingHi);
+            if (found >= 0 && found != cell) {
+                return SEVERAL_WINNING_CELLS;
+            }
+            found = cell;
+        }
+        return found;
+    }
+
+    // Anzahl Gewinnlinien ohne Stein des Gegners von player
+    public int openLines(int player) {
+        long oppLo = player == 1 ? oLo : xLo;
+        long oppHi = player == 1 ? oHi : xHi;
+        int open = 0;
+        for (int w = 0; w < allLo.length; w++) {
+            if ((oppLo & allLo[w]) == 0 && (oppHi & allHi[w]) == 0) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    @Override
+    public int evaluate(int player) {
+        return openLines(player) - openLines(-player);
+    }
+
+    @Override
+    public Iterable<Position> validMoves() {
+        List<Position> moves = new ArrayList<>(freeCount);
+        long freeLo = freeLo();
+        long freeHi = freeHi();
+        while (freeLo != 0) {
+            int cell = Long.numberOfTrailingZeros(freeLo);
+            moves.add(Position.of(cell / n, cell % n));
+            freeLo &= freeLo - 1;
+        }
+        while (freeHi != 0) {
+            int cell = 64 + Long.numberOfTrailingZeros(freeHi);
+            moves.add(Position.of(cell / n, cell % n));
+            freeHi &= freeHi - 1;
+        }
+        return moves;
+    }
+
+    @Override
+    public void print() {
+        System.out.println("----- BitBoard(" + n + "x" + n + (k < n ? ", k=" + k : "") + ") -----");
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int v = fieldAt(x * n + y);
+                System.out.print((v == 1 ? 'x' : v == -1 ? 'o' : '.') + " ");
+            }
+            System.out.println();
+        }
+        System.out.println("--------------------------");
+    }
+}
@@ -0,0 +1,176 @@
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Differenzieller Test: BitBoard muss sich in jeder Stellung genau wie Board verhalten.
+ */
+public class BitBoardTest {
+
+	// Vergleicht alle beobachtbaren Eigenschaften beider Bretter
+	private static void assertSameState(Board expected, BitBoard actual) {
+		int n = expected.getN();
+		assertEquals(n, actual.getN());
+		assertEquals(expected.getK(), actual.getK());
+		assertEquals(expected.nFreeFields(), actual.nFreeFields());
+		assertEquals(expected.isGameWon(), actual.isGameWon());
+		assertEquals(expected.getHash(), actual.getHash());
+		assertEquals(expected.evaluate(1), actual.evaluate(1));
+		assertEquals(expected.evaluate(-1), actual.evaluate(-1));
+		for (int x = 0; x < n; x++) {
+			for (int y = 0; y < n; y++) {
+				Position p = new Position(x, y);
+				assertEquals("Feld " + p, expected.getField(p), actual.getField(p));
+			}
+		}
+		assertEquals(toList(expected.validMoves()), toList(actual.validMoves()));
+	}
+
+	private static List<Position> toList(Iterable<Position> moves) {
+		List<Position> list = new ArrayList<>();
+		for (Position p : moves) {
+			list.add(p);
+		}
+		return list;
+	}
+
+	@Test
+	public void testRandomGamesAllSizes() {
+		Random rnd = new Random(4711);
+		for (int n = 1; n <= 10; n++) {
+			for (int game = 0; game < 50; game++) {
+				Board b = new Board(n);
+				BitBoard bb = new BitBoard(n);
+				List<Position> played = new ArrayList<>();
+				int player = 1;
+				while (b.nFreeFields() > 0 && !b.isGameWon()) {
+					List<Position> moves = toList(b.validMoves());
+					Position p = moves.get(rnd.nextInt(moves.size()));
+					b.doMove(p, player);
+					bb.doMove(p, player);
+					played.add(p);
+					assertSameState(b, bb);
+					player = -player;
+				}
+				// rückwärts wieder abbauen
+				for (int i = played.size() - 1; i >= 0; i--) {
+					b.undoMove(played.get(i));
+					bb.undoMove(played.get(i));
+					assertSameState(b, bb);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRandomGamesWinLengths() {
+		Random rnd = new Random(815);
+		for (int n = 2; n <= 10; n++) {
+			for (int k = 1; k < n; k++) {
+				for (int game = 0; game < 10; game++) {
+					Board b = new Board(n, k);
+					BitBoard bb = new BitBoard(n, k);
+					int player = 1;
+					while (b.nFreeFields() > 0 && !b.isGameWon()) {
+						int[] moves = new int[b.nFreeFields()];
+						int count = b.fillMoves(moves);
+						for (int i = 0; i < count; i++) {
+							assertEquals(b.isWinningMove(moves[i], player), bb.isWinningMove(moves[i], player));
+						}
+						int cell = moves[rnd.nextInt(count)];
+						b.doMove(cell, player);
+						bb.doMove(cell, player);
+						assertSameState(b, bb);
+						player = -player;
+					}
+				}
+			}
+		}
+	}
+
+	// Referenz für winningCell(): alle freien Felder mit isWinningMove durchgehen
+	private static int scanWinningCell(GameBoard b, int player) {
+		int[] moves = new int[b.nFreeFields()];
+		int count = b.fillMoves(moves);
+		int found = -1;
+		for (int i = 0; i < count; i++) {
+			if (b.isWinningMove(moves[i], player)) {
+				if (found >= 0) {
+					return GameBoard.SEVERAL_WINNING_CELLS;
+				}
+				found = moves[i];
+			}
+		}
+		return found;
+	}
+
+	@Test
+	public void testWinningCellMatchesScan() {
+		Random rnd = new Random(4711);
+		for (int n = 1; n <= 10; n++) {
+			for (int k = 1; k <= n; k++) {
+				for (int game = 0; game < 5; game++) {
+					Board b = new Board(n, k);
+					BitBoard bb = new BitBoard(n, k);
+					int player = 1;
+					while (b.nFreeFields() > 0 && !b.isGameWon()) {
+						for (int p = -1; p <= 1; p += 2) {
+							int expected = scanWinningCell(b, p);
+							assertEquals(n + "/" + k, expected, b.winningCell(p));
+							assertEquals(n + "/" + k, expected, bb.winningCell(p));
+						}
+						int[] moves = new int[b.nFreeFields()];
+						int cell = moves[rnd.nextInt(b.fillMoves(moves))];
+						b.doMove(cell, player);
+						bb.doMove(cell, player);
+						player = -player;
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSetFieldAndExceptions() {
+		BitBoard bb = new BitBoard(4);
+		bb.setField(new Position(3, 3), -1);
+		assertEquals(-1, bb.getField(new Position(3, 3)));
+		assertEquals(15, bb.nFreeFields());
+		bb.setField(new Position(3, 3), 1);
+		assertEquals(1, bb.getField(new Position(3, 3)));
+		assertEquals(15, bb.nFreeFields());
+		try {
+			bb.doMove(new Position(3, 3), 1);
+			fail("doMove auf besetztem Feld sollte IllegalArgumentException werfen");
+		} catch (IllegalArgumentException e) { }
+		try {
+			new BitBoard(11);
+			fail("Bei n=11 hätte eine InputMismatchException geworfen werden müssen");
+		} catch (java.util.InputMismatchException e) { }
+	}
+
+	@Test
+	public void testAlphaBetaAgreesOnRandomPositions() {
+		Random rnd = new Random(42);
+		for (int n = 2; n <= 4; n++) {
+			for (int round = 0; round < 20; round++) {
+				Board b = new Board(n);
+				BitBoard bb = new BitBoard(n);
+				int player = 1;
+				// bei 4×4 genügend Steine setzen, damit die Suche schnell bleibt
+				int plies = n == 4 ? 6 + rnd.nextInt(4) : rnd.nextInt(n * n);
+				for (int i = 0; i < plies && b.nFreeFields() > 0 && !b.isGameWon(); i++) {
+					List<Position> moves = toList(b.validMoves());
+					Position p = moves.get(rnd.nextInt(moves.size()));
+					b.doMove(p, player);
+					bb.doMove(p, player);
+					player = -player;
+				}
+				assertEquals(TicTacToe.alphaBeta(b, player), TicTacToe.alphaBeta(bb, player));
+			}
+		}
+	}
+}
@@ -1,39 +1,182 @@
 import java.util.InputMismatchException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 // Irgendwer: Klasse fürs Tic-Tac-Toe Brett n x n, leere Felder sind 0, x=+1, o=-1.
-public class Board {
+// Gewonnen hat, wer k Steine in einer Linie hat (Standard k = n, z.B. 10x10 mit k = 5 für Gomoku).
+public class Board implements GameBoard {
+    // Richtungen für k < n: waagrecht, senkrecht, Hauptdiagonale, Nebendiagonale
+    private static final int[] DX = {1, 0, 1, 1};
+    private static final int[] DY = {0, 1, 1, -1};
+
     private int n;
+    private int k;               // Gewinnlänge
     private int[][] grid;        // grid[x][y]
     private int freeCount;       // wie viele Felder noch frei sind
-    private Position lastMove;   // letzte gesetzte Position
+    private Position lastMove;   // letzte gesetzte Position (geteilte Instanz aus Position.of)
     private int lastPlayer;      // wer zuletzt dran war (+1 oder -1)
+    private int[][] symmetry;    // symmetry[t][cell]: Bild von cell unter Symmetrie t
+    private long[] hashes;       // Zobrist-Hash des mit t transformierten Bretts, hashes[0] = eigener Hash
+
+    // Belegungszähler pro Reihe, Index 0 für x, 1 für o; werden in setField nachgeführt.
+    // Nur bei k == n entscheiden sie über den Sieg, bei k < n wird über das Gitter gezählt.
+    private int[][] rowCount;    // rowCount[s][y]: Steine von s in Zeile y
+    private int[][] colCount;    // colCount[s][x]: Steine von s in Spalte x
+    private int[] diagCount;     // Hauptdiagonale (x == y)
+    private int[] antiCount;     // Nebendiagonale (x + y == n-1)
 
     // Konstruktor, wirft Exception, falls n<1 oder n>10
     public Board(int n) {
+        this(n, n);
+    }
+
+    // Brett mit Gewinnlänge k, wirft Exception, falls n<1, n>10 oder k nicht in 1..n
+    public Board(int n, int k) {
         if (n < 1 || n > 10) {
             throw new InputMismatchException("n muss zwischen 1 und 10 sein.");
         }
+        if (k < 1 || k > n) {
+            throw new InputMismatchException("k muss zwischen 1 und n sein.");
+        }
         this.n = n;
+        this.k = k;
         grid = new int[n][n];
         freeCount = n * n;
         lastMove = null;
         lastPlayer = 0;
+        symmetry = Symmetry.of(n);
+        hashes = Symmetry.emptyHashes(n, k);
+        rowCount = new int[2][n];
+        colCount = new int[2][n];
+        diagCount = new int[2];
+        antiCount = new int[2];
         // grid wird automatisch mit 0 initialisiert
     }
 
+    // Kopie-Konstruktor: übernimmt Belegung, Zähler, Hash und letzten Zug von other
+    public Board(Board other) {
+        this(other.n, other.k);
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
+                if (other.grid[x][y] != 0) {
+                    put(x, y, other.grid[x][y]);
+                }
+            }
+        }
+        if (other.lastMove != null) {
+            lastMove = other.lastMove;
+        }
+        lastPlayer = other.lastPlayer;
+    }
+
+    @Override
+    public Board copy() {
+        return new Board(this);
+    }
+
+    // Belegung als Bitmasken einsammeln (O(n²)), Hash wird übernommen
+    @Override
+    public BoardSnapshot snapshot() {
+        long[] x = new long[2];   // x[0]: Felder 0..63, x[1]: Felder 64..99
+        long[] o = new long[2];
+        for (int cell = 0; cell < n * n; cell++) {
+            int token = grid[cell / n][cell % n];
+            if (token == 1) {
+                x[cell >>> 6] |= 1L << (cell & 63);
+            } else if (token == -1) {
+                o[cell >>> 6] |= 1L << (cell & 63);
+            }
+        }
+        int last = lastMove == null ? -1 : lastMove.x * n + lastMove.y;
+        return new BoardSnapshot(n, k, x[0], x[1], o[0], o[1], last, lastPlayer, hashes[0]);
+    }
+
+    // Gleich, wenn Größe, Gewinnlänge und Belegung übereinstimmen (der letzte Zug zählt nicht)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Board)) {
+            return false;
+        }
+        Board other = (Board) o;
+        if (n != other.n || k != other.k || hashes[0] != other.hashes[0]) {
+            return false;
+        }
+        for (int x = 0; x < n; x++) {
+            if (!Arrays.equals(grid[x], other.grid[x])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Aus dem mitgeführten Zobrist-Hash, also O(1)
+    @Override
+    public int hashCode() {
+        return (int) (hashes[0] ^ (hashes[0] >>> 32));
+    }
+
     // Gib die Größe zurück
+    @Override
     public int getN() {
         return n;
     }
 
+    // Gewinnlänge
+    @Override
+    public int getK() {
+        return k;
+    }
+
     // Anzahl freier Felder
+    @Override
     public int nFreeFields() {
         return freeCount;
     }
 
+    // Zobrist-Hash der aktuellen Belegung (ohne Spieler am Zug)
+    @Override
+    public long getHash() {
+        return hashes[0];
+    }
+
+    // Hash, der für alle 8 gedrehten/gespiegelten Varianten der Stellung gleich ist
+    @Override
+    public long getCanonicalHash() {
+        return Symmetry.canonical(hashes);
+    }
+
+    // Symmetrie, die das Brett in die kanonische Lage bringt (für lageunabhängige Züge in der Tabelle)
+    @Override
+    public int canonicalSymmetry() {
+        return Symmetry.canonicalIndex(hashes);
+    }
+
+    // Bitmaske der Symmetrien (Bit t für t = 1..7), unter denen das Brett unverändert bleibt
+    @Override
+    public int symmetryMask() {
+        int mask = Symmetry.candidates(hashes);
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            if ((mask & (1 << t)) == 0) {
+                continue;
+            }
+            int[] map = symmetry[t];
+            for (int cell = 0; cell < n * n; cell++) {
+                int image = map[cell];
+                if (grid[cell / n][cell % n] != grid[image / n][image % n]) {
+                    mask &= ~(1 << t);   // Hash-Kollision, doch nicht symmetrisch
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
     // Wert an Position pos: 0=leer, +1=x, -1=o
+    @Override
     public int getField(Position pos) {
         int x = pos.x;
         int y = pos.y;
@@ -44,6 +187,7 @@ public class Board {
     }
 
     // Setzt token an pos, token muss -1,0 oder +1 sein. Passt freeCount an, falls 0↔±1
+    @Override
     public void setField(Position pos, int token) {
         int x = pos.x;
         int y = pos.y;
@@ -53,16 +197,42 @@ public class Board {
         if (token != -1 && token != 0 && token != 1) {
             throw new InputMismatchException("Token muss -1,0 oder +1 sein: " + token);
         }
+        put(x, y, token);
+    }
+
+    // Setzt token ohne Prüfung und führt freeCount, Hash und Zähler nach
+    private void put(int x, int y, int token) {
         int old = grid[x][y];
         if (old == 0 && token != 0) {
             freeCount--;
         } else if (old != 0 && token == 0) {
             freeCount++;
         }
+        if (old != 0) {
+            Symmetry.toggle(hashes, symmetry, x * n + y, old);
+            count(x, y, Zobrist.index(old), -1);
+        }
+        if (token != 0) {
+            Symmetry.toggle(hashes, symmetry, x * n + y, token);
+            count(x, y, Zobrist.index(token), +1);
+        }
         grid[x][y] = token;
     }
 
+    // Zähler aller Reihen durch (x,y) für Spieler-Index s um delta ändern
+    private void count(int x, int y, int s, int delta) {
+        rowCount[s][y] += delta;
+        colCount[s][x] += delta;
+        if (x == y) {
+            diagCount[s] += delta;
+        }
+        if (x + y == n - 1) {
+            antiCount[s] += delta;
+        }
+    }
+
     // Führt einen Zug von player (±1) an Position pos aus; wirft IllegalArgumentException, wenn nicht frei
+    @Override
     public void doMove(Position pos, int player) {
         if (player != 1 && player != -1) {
             throw new IllegalArgumentException("Spieler muss ±1 sein.");
@@ -75,12 +245,32 @@ public class Board {
         if (grid[x][y] != 0) {
             throw new IllegalArgumentException("Feld belegt: " + pos);
         }
-        setField(pos, player);
-        lastMove = new Position(x, y);
+        put(x, y, player);
+        lastMove = Position.of(x, y);
+        lastPlayer = player;
+    }
+
+    // Wie doMove(Position, int), aber über den Feld-Index cell = x*n + y (allokationsfrei für die Suche)
+    @Override
+    public void doMove(int cell, int player) {
+        if (player != 1 && player != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (cell < 0 || cell >= n * n) {
+            throw new IllegalArgumentException("Feld außerhalb: " + cell);
+        }
+        int x = cell / n;
+        int y = cell % n;
+        if (grid[x][y] != 0) {
+            throw new IllegalArgumentException("Feld belegt: " + Position.of(x, y));
+        }
+        put(x, y, player);
+        lastMove = Position.of(x, y);
         lastPlayer = player;
     }
 
     // Macht den Zug an pos rückgängig (setzt wieder 0). Falls eh schon 0, dann nichts tun.
+    @Override
     public void undoMove(Position pos) {
         int x = pos.x;
         int y = pos.y;
@@ -90,83 +280,220 @@ public class Board {
         if (grid[x][y] == 0) {
             return; // war eh frei
         }
-        setField(pos, 0);
+        put(x, y, 0);
         lastMove = null;
         lastPlayer = 0;
     }
 
-    // Checke, ob der letzte Zug gewonnen hat (nur Zeile/Spalte/Diagonalen um lastMove)
+    // Wie undoMove(Position), aber über den Feld-Index
+    @Override
+    public void undoMove(int cell) {
+        if (cell < 0 || cell >= n * n) {
+            throw new IllegalArgumentException("Feld außerhalb: " + cell);
+        }
+        int x = cell / n;
+        int y = cell % n;
+        if (grid[x][y] == 0) {
+            return; // war eh frei
+        }
+        put(x, y, 0);
+        lastMove = null;
+        lastPlayer = 0;
+    }
+
+    // Checke, ob der letzte Zug gewonnen hat: bei k == n nur die Zähler der Reihen durch lastMove
+    // gegen n vergleichen, sonst in jeder Richtung höchstens k-1 Felder weit zählen
+    @Override
     public boolean isGameWon() {
         if (lastMove == null) {
             return false;
         }
         int xm = lastMove.x;
         int ym = lastMove.y;
-        int p = lastPlayer; // +1 oder -1
-
-        // Zeile prüfen
-        boolean gewonnen = true;
-        for (int xi = 0; xi < n; xi++) {
-            if (grid[xi][ym] != p) {
-                gewonnen = false;
-                break;
+        if (k < n) {
+            return longestRun(xm, ym, lastPlayer) >= k;
+        }
+        int s = Zobrist.index(lastPlayer);
+
+        return rowCount[s][ym] == n
+                || colCount[s][xm] == n
+                || (xm == ym && diagCount[s] == n)
+                || (xm + ym == n - 1 && antiCount[s] == n);
+    }
+
+    // Würde player mit einem Stein auf das (freie) Feld cell eine Reihe schließen? Bei k == n nur Zählervergleiche.
+    @Override
+    public boolean isWinningMove(int cell, int player) {
+        int x = cell / n;
+        int y = cell % n;
+        if (k < n) {
+            return longestRun(x, y, player) >= k;
+        }
+        int s = Zobrist.index(player);
+        return rowCount[s][y] == n - 1
+                || colCount[s][x] == n - 1
+                || (x == y && diagCount[s] == n - 1)
+                || (x + y == n - 1 && antiCount[s] == n - 1);
+    }
+
+    // Feld, auf dem player sofort gewinnt (−1 keins, SEVERAL_WINNING_CELLS mehrere). Bei k == n reichen
+    // die Zähler: eine Reihe mit n−1 eigenen und keinem fremden Stein hat genau ein freies Feld.
+    @Override
+    public int winningCell(int player) {
+        int found = -1;
+        if (k < n) {
+            for (int cell = 0; cell < n * n; cell++) {
+                if (grid[cell / n][cell % n] == 0 && isWinningMove(cell, player)) {
+                    if (found >= 0) {
+                        return SEVERAL_WINNING_CELLS;
+                    }
+                    found = cell;
+                }
             }
+            return found;
         }
-        if (gewonnen) return true;
+        int s = Zobrist.index(player);
+        int o = 1 - s;
+        for (int i = 0; i < n && found != SEVERAL_WINNING_CELLS; i++) {
+            if (rowCount[s][i] == n - 1 && rowCount[o][i] == 0) {
+                found = mergeWinningCell(found, freeCellInLine(0, i, 1, 0));
+            }
+            if (colCount[s][i] == n - 1 && colCount[o][i] == 0) {
+                found = mergeWinningCell(found, freeCellInLine(i, 0, 0, 1));
+            }
+        }
+        if (diagCount[s] == n - 1 && diagCount[o] == 0) {
+            found = mergeWinningCell(found, freeCellInLine(0, 0, 1, 1));
+        }
+        if (antiCount[s] == n - 1 && antiCount[o] == 0) {
+            found = mergeWinningCell(found, freeCellInLine(0, n - 1, 1, -1));
+        }
+        return found;
+    }
 
-        // Spalte prüfen
-        gewonnen = true;
-        for (int yi = 0; yi < n; yi++) {
-            if (grid[xm][yi] != p) {
-                gewonnen = false;
-                break;
+    // Erstes freies Feld der Linie ab (x,y) in Richtung (dx,dy)
+    private int freeCellInLine(int x, int y, int dx, int dy) {
+        for (int i = 0; i < n; i++, x += dx, y += dy) {
+            if (grid[x][y] == 0) {
+                return x * n + y;
             }
         }
-        if (gewonnen) return true;
+        return -1;
+    }
 
-        // Hauptdiagonale nur, wenn xm==ym
-        if (xm == ym) {
-            gewonnen = true;
-            for (int i = 0; i < n; i++) {
-                if (grid[i][i] != p) {
-                    gewonnen = false;
+    private static int mergeWinningCell(int found, int cell) {
+        return found == -1 || found == cell ? cell : SEVERAL_WINNING_CELLS;
+    }
+
+    // Längste Linie von player durch (x,y), wobei (x,y) selbst als Stein von player zählt.
+    // Je Richtung werden höchstens k-1 Felder pro Seite angeschaut, also O(k).
+    private int longestRun(int x, int y, int player) {
+        int best = 0;
+        for (int d = 0; d < 4; d++) {
+            int run = 1;
+            for (int i = 1; i < k; i++) {
+                int cx = x + i * DX[d];
+                int cy = y + i * DY[d];
+                if (cx < 0 || cx >= n || cy < 0 || cy >= n || grid[cx][cy] != player) {
+                    break;
+                }
+                run++;
+            }
+            for (int i = 1; i < k; i++) {
+                int cx = x - i * DX[d];
+                int cy = y - i * DY[d];
+                if (cx < 0 || cx >= n || cy < 0 || cy >= n || grid[cx][cy] != player) {
                     break;
                 }
+                run++;
             }
-            if (gewonnen) return true;
+            best = Math.max(best, run);
         }
+        return best;
+    }
 
-        // Nebendiagonale nur, wenn xm+ym == n-1
-        if (xm + ym == n - 1) {
-            gewonnen = true;
-            for (int i = 0; i < n; i++) {
-                if (grid[i][n - 1 - i] != p) {
-                    gewonnen = false;
-                    break;
+    // Anzahl Gewinnlinien, in denen der Gegner von player noch keinen Stein hat.
+    // Bei k == n sind das Zeilen, Spalten und Diagonalen (aus den Zählern), sonst alle k-Fenster.
+    public int openLines(int player) {
+        if (k < n) {
+            return openWindows(-player);
+        }
+        int opp = Zobrist.index(-player);
+        int open = 0;
+        for (int i = 0; i < n; i++) {
+            if (rowCount[opp][i] == 0) open++;
+            if (colCount[opp][i] == 0) open++;
+        }
+        if (diagCount[opp] == 0) open++;
+        if (antiCount[opp] == 0) open++;
+        return open;
+    }
+
+    // Anzahl k-Fenster (in allen 4 Richtungen) ohne Stein von opponent; bei k == 1 nur eine Richtung,
+    // sonst würde jedes Feld viermal gezählt
+    private int openWindows(int opponent) {
+        int open = 0;
+        int directions = k == 1 ? 1 : 4;
+        for (int d = 0; d < directions; d++) {
+            for (int x = 0; x < n; x++) {
+                for (int y = 0; y < n; y++) {
+                    int ex = x + (k - 1) * DX[d];
+                    int ey = y + (k - 1) * DY[d];
+                    if (ex < 0 || ex >= n || ey < 0 || ey >= n) {
+                        continue;
+                    }
+                    boolean blocked = false;
+                    for (int i = 0; i < k && !blocked; i++) {
+                        blocked = grid[x + i * DX[d]][y + i * DY[d]] == opponent;
+                    }
+                    if (!blocked) {
+                        open++;
+                    }
                 }
             }
-            if (gewonnen) return true;
         }
+        return open;
+    }
 
-        return false;
+    // Statische Bewertung aus Sicht von player: offene Reihen von player minus offene Reihen des Gegners
+    @Override
+    public int evaluate(int player) {
+        return openLines(player) - openLines(-player);
     }
 
-    // Liefere Liste aller freien Felder als Positionen
+    // Liefere Liste aller freien Felder als (geteilte) Positionen
+    @Override
     public Iterable<Position> validMoves() {
         List<Position> moves = new ArrayList<>();
         for (int x = 0; x < n; x++) {
             for (int y = 0; y < n; y++) {
                 if (grid[x][y] == 0) {
-                    moves.add(new Position(x, y));
+                    moves.add(Position.of(x, y));
                 }
             }
         }
         return moves;
     }
 
+    // Schreibt die Indizes (x*n+y) aller freien Felder in buffer (Länge ≥ nFreeFields()), gibt die Anzahl zurück
+    @Override
+    public int fillMoves(int[] buffer) {
+        int count = 0;
+        for (int x = 0; x < n; x++) {
+            int[] column = grid[x];
+            for (int y = 0; y < n; y++) {
+                if (column[y] == 0) {
+                    buffer[count++] = x * n + y;
+                }
+            }
+        }
+        return count;
+    }
+
     // Für Debug: Brett ausdrucken, '.' für leer, 'x' für +1, 'o' für -1
+    @Override
     public void print() {
-        System.out.println("----- Board(" + n + "x" + n + ") -----");
+        System.out.println("----- Board(" + n + "x" + n + (k < n ? ", k=" + k : "") + ") -----");
         for (int y = 0; y < n; y++) {
             for (int x = 0; x < n; x++) {
                 char c;
@@ -0,0 +1,128 @@
+/**
+ * Unveränderliche, kompakte Kopie einer Stellung: je Spieler zwei {@code long}s als
+ * Bitmaske (Felder 0..63 und 64..99, Feld-Index = x*n + y), dazu n, k und der letzte Zug.
+ *
+ * {@link #equals} und {@link #hashCode} vergleichen nur Größe, Gewinnlänge und Belegung
+ * und kosten konstante Zeit; der Hash ist der beim Erzeugen mitgenommene Zobrist-Hash.
+ * Damit taugen Snapshots als Map-Schlüssel und als Arbeitseinheit für andere Threads.
+ * Der letzte Zug wird nur mitgeführt, damit {@link #toBoard()} ein Brett mit demselben
+ * {@link GameBoard#isGameWon()} liefert.
+ */
+public final class BoardSnapshot {
+
+    private final long xLo, xHi;
+    private final long oLo, oHi;
+    private final byte n;
+    private final byte k;
+    private final byte lastCell;     // −1 wenn keiner
+    private final byte lastPlayer;
+    private final long hash;         // Zobrist-Hash der Belegung
+
+    BoardSnapshot(int n, int k, long xLo, long xHi, long oLo, long oHi, int lastCell, int lastPlayer, long hash) {
+        this.n = (byte) n;
+        this.k = (byte) k;
+        this.xLo = xLo;
+        this.xHi = xHi;
+        this.oLo = oLo;
+        this.oHi = oHi;
+        this.lastCell = (byte) lastCell;
+        this.lastPlayer = (byte) lastPlayer;
+        this.hash = hash;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /** Wert an Feld-Index cell: 0=leer, +1=x, −1=o. */
+    public int getField(int cell) {
+        if (cell < 0 || cell >= n * n) {
+            throw new IllegalArgumentException("Feld außerhalb: " + cell);
+        }
+        long bit = 1L << (cell & 63);
+        long x = cell < 64 ? xLo : xHi;
+        long o = cell < 64 ? oLo : oHi;
+        return (x & bit) != 0 ? 1 : (o & bit) != 0 ? -1 : 0;
+    }
+
+    public int nFreeFields() {
+        return n * n - Long.bitCount(xLo) - Long.bitCount(xHi) - Long.bitCount(oLo) - Long.bitCount(oHi);
+    }
+
+    /** Zobrist-Hash wie {@link GameBoard#getHash()} des Bretts, aus dem der Snapshot stammt. */
+    public long getHash() {
+        return hash;
+    }
+
+    /** Neues veränderliches {@link Board} mit dieser Stellung. */
+    public Board toBoard() {
+        Board board = new Board(n, k);
+        fill(board);
+        return board;
+    }
+
+    /** Neues {@link BitBoard} mit dieser Stellung. */
+    public BitBoard toBitBoard() {
+        BitBoard board = new BitBoard(n, k);
+        fill(board);
+        return board;
+    }
+
+    // Steine ohne Zug setzen (setField merkt sich keinen letzten Zug), nur lastCell per doMove,
+    // damit genau er als lastMove gilt; ohne lastCell bleibt das Brett ohne letzten Zug
+    private void fill(GameBoard board) {
+        place(board, xLo, 0, 1);
+        place(board, xHi, 64, 1);
+        place(board, oLo, 0, -1);
+        place(board, oHi, 64, -1);
+        if (lastCell >= 0) {
+            board.doMove(lastCell, lastPlayer);
+        }
+    }
+
+    private void place(GameBoard board, long mask, int offset, int player) {
+        for (long m = mask; m != 0; m &= m - 1) {
+            int cell = offset + Long.numberOfTrailingZeros(m);
+            if (cell != lastCell) {
+                board.setField(Position.of(cell / n, cell % n), player);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardSnapshot)) {
+            return false;
+        }
+        BoardSnapshot other = (BoardSnapshot) o;
+        return hash == other.hash && n == other.n && k == other.k
+                && xLo == other.xLo && xHi == other.xHi && oLo == other.oLo && oHi == other.oHi;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BoardSnapshot(" + n + "x" + n + (k < n ? ", k=" + k : "") + ": ");
+        for (int y = 0; y < n; y++) {
+            if (y > 0) {
+                sb.append('/');
+            }
+            for (int x = 0; x < n; x++) {
+                int v = getField(x * n + y);
+                sb.append(v == 1 ? 'x' : v == -1 ? 'o' : '.');
+            }
+        }
+        return sb.append(')').toString();
+    }
+}
@@ -0,0 +1,102 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * JUnit-Tests für BoardSnapshot sowie equals/hashCode von Board.
+ */
+public class BoardSnapshotTest {
+
+	@Test
+	public void testRoundTripAllSizes() {
+		Random rnd = new Random(7);
+		for (int n = 1; n <= 10; n++) {
+			Board b = new Board(n);
+			BitBoard bb = new BitBoard(n);
+			int player = 1;
+			while (b.nFreeFields() > 0 && !b.isGameWon()) {
+				int[] moves = new int[b.nFreeFields()];
+				int count = b.fillMoves(moves);
+				int cell = moves[rnd.nextInt(count)];
+				b.doMove(cell, player);
+				bb.doMove(cell, player);
+				player = -player;
+
+				BoardSnapshot s = b.snapshot();
+				assertEquals(s, bb.snapshot());
+				assertEquals(s.hashCode(), bb.snapshot().hashCode());
+				assertEquals(b.nFreeFields(), s.nFreeFields());
+				Board back = s.toBoard();
+				assertEquals(b, back);
+				assertEquals(b.hashCode(), back.hashCode());
+				assertEquals(b.getHash(), back.getHash());
+				assertEquals(b.isGameWon(), back.isGameWon());
+				assertEquals(b.isGameWon(), s.toBitBoard().isGameWon());
+				assertEquals(b.getHash(), s.toBitBoard().getHash());
+			}
+		}
+	}
+
+	@Test
+	public void testRoundTripWithoutLastMove() {
+		// fertige Reihe von o, aber per setField gesetzt: kein letzter Zug, also nicht gewonnen;
+		// toBoard() darf den zuletzt eingefügten Stein (2,0) nicht zum letzten Zug machen
+		Board b = new Board(3);
+		b.setField(new Position(0, 0), -1);
+		b.setField(new Position(1, 0), -1);
+		b.setField(new Position(2, 0), -1);
+		b.setField(new Position(1, 1), 1);
+		b.setField(new Position(2, 2), 1);
+		assertFalse(b.isGameWon());
+		int expected = TicTacToe.alphaBeta(b, 1);
+
+		BoardSnapshot s = b.snapshot();
+		for (GameBoard copy : new GameBoard[] {s.toBoard(), s.toBitBoard()}) {
+			assertFalse(copy.isGameWon());
+			assertEquals(s, copy.snapshot());
+			assertEquals(expected, TicTacToe.alphaBeta(copy, 1));
+		}
+	}
+
+	@Test
+	public void testEqualityIgnoresLastMoveButNotRules() {
+		Board a = new Board(3);
+		a.doMove(new Position(0, 0), 1);
+		a.doMove(new Position(1, 1), -1);
+		Board b = new Board(3);
+		b.doMove(new Position(1, 1), -1);
+		b.doMove(new Position(0, 0), 1);
+		assertEquals(a, b);
+		assertEquals(a.snapshot(), b.snapshot());
+
+		// gespiegelt ist eine andere Belegung
+		Board mirrored = new Board(3);
+		mirrored.doMove(new Position(2, 2), 1);
+		mirrored.doMove(new Position(1, 1), -1);
+		assertNotEquals(a, mirrored);
+		assertNotEquals(a.snapshot(), mirrored.snapshot());
+
+		// gleiche Belegung mit anderem k
+		Board k2 = new Board(3, 2);
+		k2.doMove(new Position(0, 0), 1);
+		k2.doMove(new Position(1, 1), -1);
+		assertNotEquals(a, k2);
+		assertNotEquals(a.snapshot(), k2.snapshot());
+		assertEquals(2, k2.snapshot().toBoard().getK());
+	}
+
+	@Test
+	public void testSnapshotIsIndependentMapKey() {
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		Map<BoardSnapshot, Integer> values = new HashMap<>();
+		values.put(b.snapshot(), 42);
+		b.doMove(new Position(3, 3), -1);   // Brett ändern, Snapshot bleibt gleich
+		assertNull(values.get(b.snapshot()));
+		b.undoMove(new Position(3, 3));
+		assertEquals(42, (int) values.get(b.snapshot()));
+		assertEquals("BoardSnapshot(4x4: x.../..../..../....)", b.snapshot().toString());
+	}
+}
@@ -199,6 +199,111 @@ public class BoardTest {
 		assertEquals(0, b.nFreeFields());
 		assertFalse("Kein Dreier in einer Reihe → isGameWon() false", b.isGameWon());
 	}
-}
 
+	@Test
+	public void testIsGameWonAfterSetFieldChanges() {
+		// Zähler müssen auch bei direktem setField (Überschreiben/Löschen) stimmen
+		Board b = new Board(3);
+		b.setField(new Position(0, 0), 1);
+		b.setField(new Position(1, 1), -1);
+		b.setField(new Position(1, 1), 1);   // o durch x ersetzt
+		b.doMove(new Position(2, 2), 1);
+		assertTrue("x auf Hauptdiagonale nach Überschreiben → true", b.isGameWon());
+
+		b.undoMove(new Position(2, 2));
+		b.setField(new Position(1, 1), 0);
+		b.doMove(new Position(2, 2), 1);
+		assertFalse("Mitte wieder frei → keine Diagonale", b.isGameWon());
+	}
+
+	@Test
+	public void testOpenLinesAndEvaluate() {
+		Board b = new Board(3);
+		assertEquals(8, b.openLines(1));
+		assertEquals(0, b.evaluate(1));
+
+		// x in der Mitte sperrt 4 Reihen für o
+		b.doMove(new Position(1, 1), 1);
+		assertEquals(8, b.openLines(1));
+		assertEquals(4, b.openLines(-1));
+		assertEquals(4, b.evaluate(1));
+		assertEquals(-4, b.evaluate(-1));
+
+		b.undoMove(new Position(1, 1));
+		assertEquals(8, b.openLines(-1));
+	}
+
+	@Test
+	public void testWinningCell() {
+		Board b = new Board(3);
+		assertEquals(-1, b.winningCell(1));
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), 1);
+		// Diagonale (0,0), (1,1) → (2,2)
+		assertEquals(2 * 3 + 2, b.winningCell(1));
+		assertEquals(-1, b.winningCell(-1));
+		b.doMove(new Position(1, 0), 1);
+		// dazu Spalte y = 0 → (2,0) und Zeile x = 1 → (1,2)
+		assertEquals(GameBoard.SEVERAL_WINNING_CELLS, b.winningCell(1));
+		b.doMove(new Position(2, 2), -1);
+		b.doMove(new Position(2, 0), -1);
+		// nur noch (1,2) frei und ohne fremden Stein
+		assertEquals(1 * 3 + 2, b.winningCell(1));
+		b.undoMove(new Position(2, 0));
+		assertEquals(GameBoard.SEVERAL_WINNING_CELLS, b.winningCell(1));
+	}
 
+	@Test
+	public void testWinLengthFiveOnTenByTen() {
+		Board b = new Board(10, 5);
+		assertEquals(5, b.getK());
+		assertEquals(10, new Board(10).getK());
+		// Diagonale (2,7) … (6,3) in der Nebenrichtung, letzter Stein in der Mitte
+		int[][] stones = {{2, 7}, {3, 6}, {5, 4}, {6, 3}};
+		for (int[] s : stones) {
+			b.doMove(new Position(s[0], s[1]), 1);
+			assertFalse(b.isGameWon());
+		}
+		assertTrue(b.isWinningMove(4 * 10 + 5, 1));
+		assertFalse(b.isWinningMove(4 * 10 + 5, -1));
+		b.doMove(new Position(4, 5), 1);
+		assertTrue("Fünf diagonal durch den letzten Zug", b.isGameWon());
+
+		// vier in einer Zeile reichen nicht
+		Board row = new Board(10, 5);
+		for (int x = 0; x < 4; x++) {
+			row.doMove(new Position(x, 0), -1);
+		}
+		assertFalse(row.isGameWon());
+		row.doMove(new Position(5, 0), -1);
+		assertFalse("Lücke bei (4,0)", row.isGameWon());
+	}
+
+	@Test
+	public void testWinLengthConstructorAndHash() {
+		try {
+			new Board(4, 5);
+			fail("k > n sollte InputMismatchException werfen");
+		} catch (InputMismatchException e) { }
+		try {
+			new Board(4, 0);
+			fail("k < 1 sollte InputMismatchException werfen");
+		} catch (InputMismatchException e) { }
+		// gleiche Belegung, andere Regeln → anderer Schlüssel in der Transpositionstabelle
+		assertEquals(new Board(4).getHash(), new Board(4, 4).getHash());
+		assertNotEquals(new Board(4).getHash(), new Board(4, 3).getHash());
+		Board copy = new Board(new Board(4, 3));
+		assertEquals(3, copy.getK());
+	}
+
+	@Test
+	public void testOpenWindows() {
+		// 4x4 mit k = 3: je Zeile/Spalte 2 Fenster, je Diagonalrichtung 4
+		Board b = new Board(4, 3);
+		assertEquals(24, b.openLines(1));
+		b.doMove(new Position(0, 0), 1);
+		// (0,0) liegt in 1 Zeilen-, 1 Spalten- und 1 Diagonalfenster
+		assertEquals(21, b.openLines(-1));
+		assertEquals(3, b.evaluate(1));
+	}
+}
@@ -0,0 +1,394 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Spielt archivierte Partien ({@link GameRecordReader}) nach und sucht Fehlzüge.
+ *
+ * Ein Zug ist ein Fehlzug, wenn er das theoretische Ergebnis für den Ziehenden
+ * verschlechtert (Sieg → Remis/Niederlage oder Remis → Niederlage). Dazu wird jede
+ * Stellung der Partie mit {@link TicTacToe#alphaBeta(GameBoard, int, SearchContext)}
+ * exakt bewertet; das ist nur für kleine Bretter (n ≤ 4) bezahlbar.
+ *
+ * Gelesen wird in einem Thread. Die Partien gehen in Blöcken zu {@link #BLOCK_GAMES}
+ * an einen {@link ForkJoinPool}; jeder Worker spielt sie auf einem wiederverwendeten
+ * {@link Board} nach und sucht mit eigenem {@link SearchContext}, alle Kontexte teilen
+ * eine {@link TranspositionTable}. Höchstens maxInFlight Blöcke sind unterwegs, der
+ * Speicher bleibt auch für Archive mit Millionen Partien begrenzt.
+ */
+public class GameAnalyzer implements AutoCloseable {
+
+    /** Partien pro Auftrag an den Pool. */
+    public static final int BLOCK_GAMES = 256;
+
+    /** Ergebnis für eine Partie; {@link #isValid()} falsch bei unerlaubten Zügen oder falschem Ergebnis. */
+    public static final class GameAnalysis {
+        private final long index;
+        private final boolean valid;
+        private final int moves;
+        private final int blunders;
+        private final int firstBlunder;
+
+        GameAnalysis(long index, boolean valid, int moves, int blunders, int firstBlunder) {
+            this.index = index;
+            this.valid = valid;
+            this.moves = moves;
+            this.blunders = blunders;
+            this.firstBlunder = firstBlunder;
+        }
+
+        /** Position der Partie im Strom (ab 0). */
+        public long getIndex() {
+            return index;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public int getMoves() {
+            return moves;
+        }
+
+        public int getBlunders() {
+            return blunders;
+        }
+
+        /** Index des ersten Fehlzugs oder −1. */
+        public int getFirstBlunder() {
+            return firstBlunder;
+        }
+    }
+
+    /** Summen über alle Partien eines Laufs. */
+    public static final class Summary {
+        private final long games;
+        private final long invalid;
+        private final long moves;
+        private final long blunders;
+        private final long nanos;
+
+        Summary(long games, long invalid, long moves, long blunders, long nanos) {
+            this.games = games;
+            this.invalid = invalid;
+            this.moves = moves;
+            this.blunders = blunders;
+            this.nanos = nanos;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        /** Partien mit unerlaubtem Zug oder falsch gespeichertem Ergebnis. */
+        public long getInvalid() {
+            return invalid;
+        }
+
+        /** Züge in gültigen Partien. */
+        public long getMoves() {
+            return moves;
+        }
+
+        public long getBlunders() {
+            return blunders;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getGamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d Partien (%d ungültig), %d Züge, %d Fehlzüge, %.0f Partien/s",
+                    games, invalid, moves, blunders, getGamesPerSecond());
+        }
+    }
+
+    // Zähler eines Laufs, von allen Workern beschrieben
+    private static final class Totals {
+        final LongAdder games = new LongAdder();
+        final LongAdder invalid = new LongAdder();
+        final LongAdder moves = new LongAdder();
+        final LongAdder blunders = new LongAdder();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Summary summary(long start) {
+            return new Summary(games.sum(), invalid.sum(), moves.sum(), blunders.sum(), System.nanoTime() - start);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final TranspositionTable tt;
+    private final ThreadLocal<SearchContext> contexts;
+    private final ThreadLocal<Board[]> boards = ThreadLocal.withInitial(() -> new Board[11 * 11]);
+
+    /**
+     * @param parallelism Anzahl Worker-Threads
+     * @param maxInFlight höchstens so viele Blöcke gleichzeitig unterwegs
+     */
+    public GameAnalyzer(int parallelism, int maxInFlight) {
+        this(parallelism, maxInFlight, new TranspositionTable());
+    }
+
+    /** Wie {@link #GameAnalyzer(int, int)} mit einer vorgegebenen gemeinsamen Transpositionstabelle. */
+    public GameAnalyzer(int parallelism, int maxInFlight, TranspositionTable tt) {
+        if (tt == null) {
+            throw new IllegalArgumentException("Transpositionstabelle fehlt.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Mindestens ein Thread nötig: " + parallelism);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight muss positiv sein: " + maxInFlight);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.tt = tt;
+        this.contexts = ThreadLocal.withInitial(() -> new SearchContext(tt));
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return tt;
+    }
+
+    /** Wie {@link #analyze(GameRecordReader, Consumer)} ohne Ergebnis pro Partie. */
+    public Summary analyze(GameRecordReader reader) throws IOException, InterruptedException {
+        return analyze(reader, null);
+    }
+
+    /**
+     * Liest alle restlichen Partien und analysiert sie parallel.
+     *
+     * @param sink erhält das Ergebnis jeder Partie (oder {@code null}); wird aus den
+     *             Worker-Threads in beliebiger Reihenfolge aufgerufen, muss also threadsicher sein
+     */
+    public Summary analyze(GameRecordReader reader, Consumer<GameAnalysis> sink)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Totals totals = new Totals();
+        byte[] block = new byte[BLOCK_GAMES * (GameRecord.HEADER_BYTES + 100)];
+        int used = 0;
+        int games = 0;
+        long index = 0;
+        try {
+            while (totals.error.get() == null && reader.next()) {
+                used = reader.copyTo(block, used);
+                if (++games == BLOCK_GAMES) {
+                    submit(block, games, index, totals, sink);
+                    index += games;
+                    block = new byte[block.length];
+                    used = 0;
+                    games = 0;
+                }
+            }
+            if (games > 0) {
+                submit(block, games, index, totals, sink);
+            }
+        } finally {
+            // warten, bis alle Blöcke fertig sind
+            permits.acquire(maxInFlight);
+            permits.release(maxInFlight);
+        }
+        Throwable error = totals.error.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return totals.summary(start);
+    }
+
+    private void submit(byte[] block, int games, long index, Totals totals, Consumer<GameAnalysis> sink)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            pool.execute(() -> {
+                try {
+                    analyzeBlock(block, games, index, totals, sink);
+                } catch (Throwable t) {
+                    totals.error.compareAndSet(null, t);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Läuft im Pool: alle Partien eines Blocks nacheinander
+    private void analyzeBlock(byte[] block, int games, long index, Totals totals, Consumer<GameAnalysis> sink) {
+        SearchContext ctx = contexts.get();
+        Board[] cache = boards.get();
+        long invalid = 0;
+        long moves = 0;
+        long blunders = 0;
+        int offset = 0;
+        for (int g = 0; g < games; g++) {
+            int size = block[offset] & 0xFF;
+            int status = block[offset + 1] & 0xFF;
+            int count = block[offset + 2] & 0xFF;
+            int movesOffset = offset + GameRecord.HEADER_BYTES;
+            offset = movesOffset + count;
+
+            int n = GameRecord.n(size);
+            int k = GameRecord.k(size);
+            Board board = cache[n * 11 + k];
+            if (board == null) {
+                board = new Board(n, k);
+                cache[n * 11 + k] = board;
+            }
+            int first = GameRecord.firstPlayer(status);
+            if (GameRecord.replay(board, first, block, movesOffset, count) != GameRecord.result(status)) {
+                invalid++;
+                if (sink != null) {
+                    sink.accept(new GameAnalysis(index + g, false, count, 0, -1));
+                }
+                continue;
+            }
+            int gameBlunders = 0;
+            int firstBlunder = -1;
+            int player = first;
+            int before = TicTacToe.alphaBeta(board, player, ctx);
+            for (int i = 0; i < count; i++) {
+                board.doMove(block[movesOffset + i] & 0xFF, player);
+                int after = TicTacToe.alphaBeta(board, -player, ctx);
+                // Wert für den Ziehenden ist −after; schlechteres Vorzeichen = Ergebnis verspielt
+                if (Integer.signum(-after) < Integer.signum(before)) {
+                    gameBlunders++;
+                    if (firstBlunder < 0) {
+                        firstBlunder = i;
+                    }
+                }
+                before = after;
+                player = -player;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                board.undoMove(block[movesOffset + i] & 0xFF);
+            }
+            moves += count;
+            blunders += gameBlunders;
+            if (sink != null) {
+                sink.accept(new GameAnalysis(index + g, true, count, gameBlunders, firstBlunder));
+            }
+        }
+        totals.games.add(games);
+        totals.invalid.add(invalid);
+        totals.moves.add(moves);
+        totals.blunders.add(blunders);
+    }
+
+    /**
+     * Spielt alle restlichen Partien im aufrufenden Thread nur nach (ohne Suche) und prüft
+     * Züge und Ergebnis. Pro Brettgröße wird ein einziges {@link Board} benutzt.
+     */
+    public static Summary replay(GameRecordReader reader) throws IOException {
+        long start = System.nanoTime();
+        Board[] cache = new Board[11 * 11];
+        long games = 0;
+        long invalid = 0;
+        long moves = 0;
+        while (reader.next()) {
+            int n = reader.getN();
+            int k = reader.getK();
+            Board board = cache[n * 11 + k];
+            if (board == null) {
+                board = new Board(n, k);
+                cache[n * 11 + k] = board;
+            }
+            games++;
+            if (reader.replay(board)) {
+                moves += reader.getMoveCount();
+            } else {
+                invalid++;
+            }
+        }
+        return new Summary(games, invalid, moves, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Schreibt games zufällig gespielte Partien (jeder Zug gleichverteilt unter den freien
+     * Feldern, Beginner abwechselnd) auf n×n mit k in Reihe, z.B. als Testdaten.
+     */
+    public static void writeRandomGames(GameRecordWriter writer, int games, int n, int k, long seed)
+            throws IOException {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        Board board = new Board(n, k);
+        int[] free = new int[n * n];
+        byte[] moves = new byte[n * n];
+        for (int g = 0; g < games; g++) {
+            int first = g % 2 == 0 ? 1 : -1;
+            int player = first;
+            int count = 0;
+            int result = GameRecord.UNFINISHED;
+            while (result == GameRecord.UNFINISHED) {
+                int cells = board.fillMoves(free);
+                int cell = free[rnd.nextInt(cells)];
+                board.doMove(cell, player);
+                moves[count++] = (byte) cell;
+                if (board.isGameWon()) {
+                    result = player;
+                } else if (board.nFreeFields() == 0) {
+                    result = 0;
+                }
+                player = -player;
+            }
+            writer.write(n, k, first, result, moves, 0, count);
+            for (int i = count - 1; i >= 0; i--) {
+                board.undoMove(moves[i] & 0xFF);
+            }
+        }
+    }
+
+    /** Nimmt keine neuen Blöcke mehr an; laufende werden noch fertig. */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Aufruf: {@code java GameAnalyzer <datei> [threads]} analysiert eine Partiedatei,
+     * {@code java GameAnalyzer generate <datei> <partien> [n [k]]} erzeugt zufällige Partien.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 3 && args[0].equals("generate")) {
+            int games = Integer.parseInt(args[2]);
+            int n = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+            int k = args.length > 4 ? Integer.parseInt(args[4]) : n;
+            try (GameRecordWriter writer = GameRecordWriter.create(Paths.get(args[1]))) {
+                writeRandomGames(writer, games, n, k, 1);
+            }
+            return;
+        }
+        if (args.length < 1) {
+            System.err.println("Aufruf: java GameAnalyzer <datei> [threads] | generate <datei> <partien> [n [k]]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (GameRecordReader reader = GameRecordReader.open(file)) {
+            System.out.println("Nachspielen: " + replay(reader));
+        }
+        try (GameAnalyzer analyzer = new GameAnalyzer(threads, 4 * threads);
+             GameRecordReader reader = GameRecordReader.open(file)) {
+            System.out.println("Analyse:     " + analyzer.analyze(reader));
+        }
+    }
+}
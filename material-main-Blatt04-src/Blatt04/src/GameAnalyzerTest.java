@@ -0,0 +1,74 @@
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Test;
+
+/**
+ * Die Analyse muss Fehlzüge dort finden, wo alphaBeta() das Ergebnis kippen sieht, und
+ * parallel dasselbe zählen wie mit einem Thread.
+ */
+public class GameAnalyzerTest {
+
+	private static GameRecordReader reader(byte[] bytes) throws Exception {
+		return new GameRecordReader(Channels.newChannel(new ByteArrayInputStream(bytes)));
+	}
+
+	@Test
+	public void testFindsBlunder() throws Exception {
+		// x Mitte, o Kante (verliert), x gewinnt mit Doppeldrohung
+		GameRecord game = GameRecord.play(3, 3, 1, 4, 1, 0, 8, 6, 3, 2);
+		assertEquals(1, game.getResult());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(Channels.newChannel(bytes))) {
+			writer.write(game);
+			writer.write(3, 3, 1, 0, new byte[] {4, 4}, 0, 2);
+		}
+		Map<Long, GameAnalyzer.GameAnalysis> results = new ConcurrentHashMap<>();
+		try (GameAnalyzer analyzer = new GameAnalyzer(2, 2);
+			 GameRecordReader reader = reader(bytes.toByteArray())) {
+			GameAnalyzer.Summary summary = analyzer.analyze(reader, a -> results.put(a.getIndex(), a));
+			assertEquals(2, summary.getGames());
+			assertEquals(1, summary.getInvalid());
+			assertEquals(7, summary.getMoves());
+			assertEquals(1, summary.getBlunders());
+		}
+		assertTrue(results.get(0L).isValid());
+		assertEquals(1, results.get(0L).getBlunders());
+		assertEquals(1, results.get(0L).getFirstBlunder());
+		assertFalse(results.get(1L).isValid());
+	}
+
+	@Test
+	public void testParallelMatchesSerial() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(Channels.newChannel(bytes))) {
+			GameAnalyzer.writeRandomGames(writer, 1000, 3, 3, 11);
+			GameAnalyzer.writeRandomGames(writer, 50, 4, 3, 12);
+		}
+		byte[] data = bytes.toByteArray();
+
+		GameAnalyzer.Summary replayed;
+		try (GameRecordReader reader = reader(data)) {
+			replayed = GameAnalyzer.replay(reader);
+		}
+		assertEquals(1050, replayed.getGames());
+		assertEquals(0, replayed.getInvalid());
+
+		GameAnalyzer.Summary serial;
+		try (GameAnalyzer analyzer = new GameAnalyzer(1, 1); GameRecordReader reader = reader(data)) {
+			serial = analyzer.analyze(reader);
+		}
+		GameAnalyzer.Summary parallel;
+		try (GameAnalyzer analyzer = new GameAnalyzer(4, 8); GameRecordReader reader = reader(data)) {
+			parallel = analyzer.analyze(reader);
+		}
+		assertEquals(replayed.getMoves(), serial.getMoves());
+		assertEquals(serial.getGames(), parallel.getGames());
+		assertEquals(serial.getMoves(), parallel.getMoves());
+		assertEquals(serial.getBlunders(), parallel.getBlunders());
+		assertTrue("Zufallspartien enthalten Fehlzüge", serial.getBlunders() > 0);
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * Gemeinsame Schnittstelle der Brett-Implementierungen, damit die Suche in
+ * {@link TicTacToe} unabhängig davon läuft, wie die Felder gespeichert werden.
+ * Leere Felder sind 0, x=+1, o=−1; Felder werden als (x, y) mit 0 ≤ x, y &lt; n adressiert.
+ */
+public interface GameBoard {
+
+    /** Rückgabe von {@link #winningCell(int)}, wenn player auf mehreren Feldern sofort gewinnt. */
+    int SEVERAL_WINNING_CELLS = -2;
+
+    /** Seitenlänge n des Bretts. */
+    int getN();
+
+    /** Anzahl gleicher Steine in einer Linie, die zum Sieg nötig sind (1 ≤ k ≤ n). */
+    int getK();
+
+    /** Anzahl freier Felder. */
+    int nFreeFields();
+
+    /** Wert an Position pos: 0=leer, +1=x, −1=o. */
+    int getField(Position pos);
+
+    /** Setzt token (−1, 0, +1) an pos, ohne Zugprüfung. */
+    void setField(Position pos, int token);
+
+    /** Führt einen Zug von player (±1) aus; wirft IllegalArgumentException, wenn das Feld belegt ist. */
+    void doMove(Position pos, int player);
+
+    /** Nimmt den Zug an pos zurück. */
+    void undoMove(Position pos);
+
+    /** Wie {@link #doMove(Position, int)}, aber über den Feld-Index cell = x*n + y. */
+    void doMove(int cell, int player);
+
+    /** Wie {@link #undoMove(Position)}, aber über den Feld-Index cell = x*n + y. */
+    void undoMove(int cell);
+
+    /** Hat der letzte Zug k Steine in einer Linie (waagrecht, senkrecht oder diagonal) geschlossen? */
+    boolean isGameWon();
+
+    /** Alle freien Felder in x-major-Reihenfolge. */
+    Iterable<Position> validMoves();
+
+    /**
+     * Schreibt die Feld-Indizes (x*n + y) aller freien Felder in x-major-Reihenfolge in buffer
+     * und gibt ihre Anzahl zurück. Allokiert nichts; buffer muss mindestens nFreeFields() lang sein.
+     */
+    int fillMoves(int[] buffer);
+
+    /**
+     * Würde ein Stein von player auf dem freien Feld cell eine Reihe schließen?
+     * Das Brett wird dabei nicht verändert.
+     */
+    boolean isWinningMove(int cell, int player);
+
+    /**
+     * Das freie Feld, auf dem player mit einem Stein sofort eine Reihe schließt (eine Linie
+     * mit k−1 eigenen Steinen und einem leeren Feld): −1, wenn es keins gibt,
+     * {@link #SEVERAL_WINNING_CELLS}, wenn es mehrere verschiedene gibt.
+     */
+    int winningCell(int player);
+
+    /**
+     * Statische Bewertung für die Suche mit begrenzter Tiefe aus Sicht von player:
+     * Gewinnlinien (k Felder am Stück), die für player noch offen sind, minus die für den
+     * Gegner offenen. Betragsmäßig höchstens die Anzahl der Gewinnlinien (2n+2 für k = n,
+     * bei n ≤ 10 immer unter 400).
+     */
+    int evaluate(int player);
+
+    /** Zobrist-Hash der Belegung (ohne Spieler am Zug). */
+    long getHash();
+
+    /** Unabhängige Kopie inkl. letztem Zug, z.B. für parallele Suchaufgaben. */
+    GameBoard copy();
+
+    /** Unveränderliche, kompakte Kopie der Stellung (z.B. als Map-Schlüssel oder Arbeitseinheit). */
+    BoardSnapshot snapshot();
+
+    /** Zobrist-Hash, der für alle 8 gedrehten/gespiegelten Varianten der Stellung gleich ist. */
+    long getCanonicalHash();
+
+    /**
+     * Index t der Symmetrie aus {@link Symmetry}, die das Brett in die kanonische Lage
+     * bringt (deren Hash {@link #getCanonicalHash()} ist). Damit lassen sich Züge in der
+     * Transpositionstabelle lageunabhängig speichern.
+     */
+    int canonicalSymmetry();
+
+    /**
+     * Bitmaske der Symmetrien aus {@link Symmetry} (Bit t für t = 1..7), unter denen die
+     * Belegung unverändert bleibt. Meist 0, außer in frühen oder sehr regelmäßigen Stellungen.
+     */
+    int symmetryMask();
+
+    /** Für Debug: Brett ausgeben. */
+    void print();
+}
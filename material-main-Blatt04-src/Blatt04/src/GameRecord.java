@@ -0,0 +1,196 @@
+import java.util.Arrays;
+
+/**
+ * Eine gespielte Partie in kompakter Binärform, wie sie {@link GameRecordWriter} schreibt
+ * und {@link GameRecordReader} liest.
+ *
+ * Ein Datensatz besteht aus {@value #HEADER_BYTES} Byte Kopf und einem Byte pro Zug:
+ * <pre>
+ * Byte 0   n &lt;&lt; 4 | k            (n, k ≤ 10)
+ * Byte 1   Ergebnis | Beginner   Bits 0–1: 0 = offen, 1 = x gewinnt, 2 = o gewinnt, 3 = Remis;
+ *                                 Bit 7 gesetzt, wenn o begonnen hat
+ * Byte 2   Anzahl Züge
+ * Byte 3…  Feld-Index jedes Zugs (x*n + y), abwechselnd vom Beginner an
+ * </pre>
+ * Eine 3×3-Partie braucht so höchstens 12 Byte.
+ */
+public final class GameRecord {
+
+    /** Ergebnis einer nicht zu Ende gespielten Partie (sonst Gewinner ±1 oder 0 = Remis). */
+    public static final int UNFINISHED = 2;
+
+    /** Größe des Kopfs vor den Zügen. */
+    public static final int HEADER_BYTES = 3;
+
+    // Rückgabe von replay() für eine ungültige Zugfolge
+    static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int FIRST_O = 0x80;
+
+    private final int n;
+    private final int k;
+    private final int firstPlayer;
+    private final int result;
+    private final byte[] moves;
+
+    private GameRecord(int n, int k, int firstPlayer, int result, byte[] moves) {
+        this.n = n;
+        this.k = k;
+        this.firstPlayer = firstPlayer;
+        this.result = result;
+        this.moves = moves;
+    }
+
+    /**
+     * Spielt die Züge (Feld-Indizes) auf einem leeren Brett nach und hält das Ergebnis fest.
+     * Wirft IllegalArgumentException, wenn ein Zug nicht erlaubt ist oder nach dem Ende kommt.
+     */
+    public static GameRecord play(int n, int k, int firstPlayer, int... cells) {
+        if (firstPlayer != 1 && firstPlayer != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        Board board = new Board(n, k);
+        byte[] moves = new byte[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] >= n * n) {
+                throw new IllegalArgumentException("Feld außerhalb: " + cells[i]);
+            }
+            moves[i] = (byte) cells[i];
+        }
+        int result = replay(board, firstPlayer, moves, 0, moves.length);
+        if (result == INVALID) {
+            throw new IllegalArgumentException("Ungültige Zugfolge: " + Arrays.toString(cells));
+        }
+        return new GameRecord(n, k, firstPlayer, result, moves);
+    }
+
+    /**
+     * Spielt count Züge ab moves[offset] auf dem leeren board nach und prüft nach jedem Zug
+     * {@link Board#isGameWon()}. Liefert das Ergebnis (±1, 0, {@link #UNFINISHED}) oder
+     * {@link #INVALID}, wenn ein Feld außerhalb liegt, belegt ist oder die Partie schon
+     * vorbei war. Das Brett ist danach wieder leer.
+     */
+    static int replay(Board board, int firstPlayer, byte[] moves, int offset, int count) {
+        int n = board.getN();
+        int player = firstPlayer;
+        int result = UNFINISHED;
+        int done = 0;
+        try {
+            for (; done < count; done++) {
+                int cell = moves[offset + done] & 0xFF;
+                if (result != UNFINISHED || cell >= n * n || board.getField(Position.of(cell / n, cell % n)) != 0) {
+                    return INVALID;
+                }
+                board.doMove(cell, player);
+                if (board.isGameWon()) {
+                    result = player;
+                } else if (board.nFreeFields() == 0) {
+                    result = 0;
+                }
+                player = -player;
+            }
+            return result;
+        } finally {
+            while (done > 0) {
+                board.undoMove(moves[offset + --done] & 0xFF);
+            }
+        }
+    }
+
+    // Kopf-Bytes 0 und 1
+    static int sizeByte(int n, int k) {
+        return n << 4 | k;
+    }
+
+    static int statusByte(int firstPlayer, int result) {
+        int code = result == 1 ? 1 : result == -1 ? 2 : result == 0 ? 3 : 0;
+        return code | (firstPlayer == -1 ? FIRST_O : 0);
+    }
+
+    static int n(int sizeByte) {
+        return sizeByte >>> 4;
+    }
+
+    static int k(int sizeByte) {
+        return sizeByte & 0xF;
+    }
+
+    static int firstPlayer(int statusByte) {
+        return (statusByte & FIRST_O) != 0 ? -1 : 1;
+    }
+
+    static int result(int statusByte) {
+        switch (statusByte & 3) {
+            case 1:
+                return 1;
+            case 2:
+                return -1;
+            case 3:
+                return 0;
+            default:
+                return UNFINISHED;
+        }
+    }
+
+    // Datensatz aus einem Reader übernehmen (moves gehört danach dem Datensatz)
+    static GameRecord of(int n, int k, int firstPlayer, int result, byte[] moves) {
+        return new GameRecord(n, k, firstPlayer, result, moves);
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /** Wer den ersten Zug hatte (±1). */
+    public int getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /** Gewinner (±1), 0 für Remis oder {@link #UNFINISHED}. */
+    public int getResult() {
+        return result;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /** Feld-Index (x*n + y) des i-ten Zugs. */
+    public int getMove(int i) {
+        return moves[i] & 0xFF;
+    }
+
+    byte[] moves() {
+        return moves;
+    }
+
+    /** Größe des Datensatzes in Byte. */
+    public int encodedSize() {
+        return HEADER_BYTES + moves.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof GameRecord)) {
+            return false;
+        }
+        GameRecord other = (GameRecord) o;
+        return n == other.n && k == other.k && firstPlayer == other.firstPlayer && result == other.result
+                && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((n * 31 + k) * 31 + firstPlayer * 7 + result) * 31 + Arrays.hashCode(moves);
+    }
+
+    @Override
+    public String toString() {
+        String outcome = result == UNFINISHED ? "offen" : result == 0 ? "Remis" : (result == 1 ? "x" : "o") + " gewinnt";
+        return "GameRecord(" + n + "x" + n + ", k=" + k + ", " + moves.length + " Züge, " + outcome + ")";
+    }
+}
@@ -0,0 +1,185 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Liest Partien, die {@link GameRecordWriter} geschrieben hat, als Strom aus einem
+ * NIO-Kanal. Der Reader ist ein Cursor: {@link #next()} rückt zum nächsten Datensatz
+ * vor, die Getter beziehen sich auf den aktuellen. Dabei wird pro Partie nichts
+ * allokiert; erst {@link #toRecord()} legt ein eigenständiges {@link GameRecord} an.
+ * Nicht threadsicher.
+ */
+public class GameRecordReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] moves = new byte[100];
+    private boolean eof;
+    private long records;
+
+    private int sizeByte;
+    private int statusByte;
+    private int count = -1;   // −1 = kein aktueller Datensatz
+
+    /** Liest sofort die Kennung; IOException, wenn sie nicht stimmt. */
+    public GameRecordReader(ReadableByteChannel channel) throws IOException {
+        this(channel, DEFAULT_BUFFER);
+    }
+
+    public GameRecordReader(ReadableByteChannel channel, int bufferBytes) throws IOException {
+        if (bufferBytes < GameRecord.HEADER_BYTES + moves.length) {
+            throw new IllegalArgumentException("Puffer zu klein: " + bufferBytes);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        buffer.flip();
+        if (!fill(4) || buffer.getInt() != GameRecordWriter.MAGIC) {
+            throw new IOException("Keine Partiedatei.");
+        }
+    }
+
+    public static GameRecordReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new GameRecordReader(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Rückt zum nächsten Datensatz vor; false am Ende des Stroms.
+     * EOFException, wenn der letzte Datensatz abgeschnitten ist.
+     */
+    public boolean next() throws IOException {
+        if (!fill(GameRecord.HEADER_BYTES)) {
+            if (buffer.hasRemaining()) {
+                throw new EOFException("Datensatz " + records + " abgeschnitten");
+            }
+            count = -1;
+            return false;
+        }
+        sizeByte = buffer.get() & 0xFF;
+        statusByte = buffer.get() & 0xFF;
+        int n = GameRecord.n(sizeByte);
+        int k = GameRecord.k(sizeByte);
+        int c = buffer.get() & 0xFF;
+        if (n < 1 || n > 10 || k < 1 || k > n || c > n * n) {
+            throw new IOException("Datensatz " + records + " beschädigt: n=" + n + ", k=" + k + ", " + c + " Züge");
+        }
+        if (!fill(c)) {
+            throw new EOFException("Datensatz " + records + " abgeschnitten");
+        }
+        buffer.get(moves, 0, c);
+        count = c;
+        records++;
+        return true;
+    }
+
+    // Sorgt dafür, dass mindestens bytes Byte im Puffer stehen; false, wenn der Kanal vorher endet
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes && !eof) {
+            if (channel.read(buffer) < 0) {
+                eof = true;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    private void checkCurrent() {
+        if (count < 0) {
+            throw new IllegalStateException("Kein aktueller Datensatz; erst next() aufrufen.");
+        }
+    }
+
+    public int getN() {
+        checkCurrent();
+        return GameRecord.n(sizeByte);
+    }
+
+    public int getK() {
+        checkCurrent();
+        return GameRecord.k(sizeByte);
+    }
+
+    public int getFirstPlayer() {
+        checkCurrent();
+        return GameRecord.firstPlayer(statusByte);
+    }
+
+    /** Gespeichertes Ergebnis: Gewinner (±1), 0 für Remis oder {@link GameRecord#UNFINISHED}. */
+    public int getResult() {
+        checkCurrent();
+        return GameRecord.result(statusByte);
+    }
+
+    public int getMoveCount() {
+        checkCurrent();
+        return count;
+    }
+
+    /** Feld-Index des i-ten Zugs. */
+    public int getMove(int i) {
+        if (i < 0 || i >= getMoveCount()) {
+            throw new IndexOutOfBoundsException("Zug " + i + " von " + count);
+        }
+        return moves[i] & 0xFF;
+    }
+
+    /**
+     * Spielt den aktuellen Datensatz auf dem leeren board (passendes n und k) nach und
+     * prüft nach jedem Zug, ob die Partie gewonnen ist. Danach ist das Brett wieder leer,
+     * es kann also für alle Partien wiederverwendet werden.
+     *
+     * @return true, wenn alle Züge erlaubt sind und das gespeicherte Ergebnis stimmt
+     */
+    public boolean replay(Board board) {
+        checkCurrent();
+        if (board.getN() != getN() || board.getK() != getK()) {
+            throw new IllegalArgumentException("Brett ist " + board.getN() + "x" + board.getN() + " mit k="
+                    + board.getK() + ", Partie " + getN() + "x" + getN() + " mit k=" + getK());
+        }
+        return GameRecord.replay(board, getFirstPlayer(), moves, 0, count) == getResult();
+    }
+
+    /** Kopie des aktuellen Datensatzes. */
+    public GameRecord toRecord() {
+        checkCurrent();
+        byte[] copy = new byte[count];
+        System.arraycopy(moves, 0, copy, 0, count);
+        return GameRecord.of(getN(), getK(), getFirstPlayer(), getResult(), copy);
+    }
+
+    // Aktuellen Datensatz roh (Kopf und Züge) nach dst kopieren; liefert die neue Schreibposition
+    int copyTo(byte[] dst, int offset) {
+        checkCurrent();
+        dst[offset] = (byte) sizeByte;
+        dst[offset + 1] = (byte) statusByte;
+        dst[offset + 2] = (byte) count;
+        System.arraycopy(moves, 0, dst, offset + GameRecord.HEADER_BYTES, count);
+        return offset + GameRecord.HEADER_BYTES + count;
+    }
+
+    /** Bisher gelesene Datensätze. */
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Partien müssen Byte für Byte so zurückkommen, wie sie geschrieben wurden, und beim
+ * Nachspielen auf demselben Brett müssen ungültige Züge und falsche Ergebnisse auffallen.
+ */
+public class GameRecordTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] write(GameRecord... records) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(Channels.newChannel(bytes))) {
+			for (GameRecord r : records) {
+				writer.write(r);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static GameRecordReader reader(byte[] bytes) throws IOException {
+		return new GameRecordReader(Channels.newChannel(new ByteArrayInputStream(bytes)));
+	}
+
+	@Test
+	public void testPlayDeterminesResult() {
+		assertEquals(1, GameRecord.play(3, 3, 1, 0, 3, 1, 4, 2).getResult());
+		assertEquals(-1, GameRecord.play(3, 3, -1, 0, 3, 1, 4, 2).getResult());
+		assertEquals(0, GameRecord.play(3, 3, 1, 0, 1, 2, 4, 3, 5, 7, 6, 8).getResult());
+		assertEquals(GameRecord.UNFINISHED, GameRecord.play(4, 3, 1, 5).getResult());
+		try {
+			GameRecord.play(3, 3, 1, 0, 3, 1, 4, 2, 5);
+			fail("Zug nach dem Ende");
+		} catch (IllegalArgumentException e) {
+			// erwartet
+		}
+		try {
+			GameRecord.play(3, 3, 1, 4, 4);
+			fail("Feld belegt");
+		} catch (IllegalArgumentException e) {
+			// erwartet
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		GameRecord[] records = {
+				GameRecord.play(3, 3, 1, 0, 3, 1, 4, 2),
+				GameRecord.play(10, 5, -1, 99, 0, 55),
+				GameRecord.play(4, 4, 1),
+				GameRecord.play(3, 3, 1, 0, 1, 2, 4, 3, 5, 7, 6, 8),
+		};
+		byte[] bytes = write(records);
+		int expected = 4;
+		for (GameRecord r : records) {
+			expected += r.encodedSize();
+		}
+		assertEquals(expected, bytes.length);
+		assertEquals(3 + 5, records[0].encodedSize());
+
+		// kleiner Puffer: Datensätze liegen über Puffergrenzen
+		try (GameRecordReader reader = new GameRecordReader(
+				Channels.newChannel(new ByteArrayInputStream(bytes)), 103)) {
+			for (GameRecord r : records) {
+				assertTrue(reader.next());
+				assertEquals(r, reader.toRecord());
+			}
+			assertFalse(reader.next());
+			assertEquals(records.length, reader.getRecords());
+		}
+	}
+
+	@Test
+	public void testReplayOnReusedBoard() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("games.bin");
+		try (GameRecordWriter writer = GameRecordWriter.create(file)) {
+			writer.write(GameRecord.play(3, 3, 1, 0, 3, 1, 4, 2));
+			// gespeichertes Ergebnis falsch: o statt x
+			writer.write(3, 3, 1, -1, new byte[] {0, 3, 1, 4, 2}, 0, 5);
+			// Feld doppelt belegt
+			writer.write(3, 3, 1, GameRecord.UNFINISHED, new byte[] {4, 4}, 0, 2);
+			// Feld außerhalb
+			writer.write(3, 3, 1, GameRecord.UNFINISHED, new byte[] {9}, 0, 1);
+		}
+		Board board = new Board(3);
+		boolean[] valid = new boolean[4];
+		try (GameRecordReader reader = GameRecordReader.open(file)) {
+			for (int i = 0; i < valid.length; i++) {
+				assertTrue(reader.next());
+				valid[i] = reader.replay(board);
+				assertEquals("Brett wieder leer", 9, board.nFreeFields());
+			}
+			assertFalse(reader.next());
+		}
+		assertArrayEquals(new boolean[] {true, false, false, false}, valid);
+	}
+
+	@Test
+	public void testTruncatedAndForeignStreams() throws Exception {
+		byte[] bytes = write(GameRecord.play(3, 3, 1, 0, 3, 1, 4, 2));
+		try (GameRecordReader reader = reader(Arrays.copyOf(bytes, bytes.length - 1))) {
+			reader.next();
+			fail("abgeschnittener Datensatz");
+		} catch (EOFException e) {
+			// erwartet
+		}
+		try {
+			reader(new byte[] {1, 2, 3, 4, 5});
+			fail("fremde Datei");
+		} catch (IOException e) {
+			// erwartet
+		}
+	}
+}
@@ -0,0 +1,104 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt Partien im Format von {@link GameRecord} gepuffert in einen NIO-Kanal.
+ * Der Strom beginnt mit {@link #MAGIC} (4 Byte, big endian), danach folgen die
+ * Datensätze ohne Trenner. Nicht threadsicher.
+ */
+public class GameRecordWriter implements Closeable {
+
+    /** Kennung am Anfang jeder Partiedatei ("TTTG"). */
+    public static final int MAGIC = 0x54545447;
+
+    private static final int DEFAULT_BUFFER = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long records;
+
+    public GameRecordWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER);
+    }
+
+    /** @param bufferBytes Puffergröße; mindestens ein voller Datensatz (103 Byte) */
+    public GameRecordWriter(WritableByteChannel channel, int bufferBytes) {
+        if (bufferBytes < GameRecord.HEADER_BYTES + 100) {
+            throw new IllegalArgumentException("Puffer zu klein: " + bufferBytes);
+        }
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        buffer.putInt(MAGIC);
+    }
+
+    /** Legt file neu an (oder überschreibt sie). */
+    public static GameRecordWriter create(Path file) throws IOException {
+        return new GameRecordWriter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public void write(GameRecord record) throws IOException {
+        write(record.getN(), record.getK(), record.getFirstPlayer(), record.getResult(), record.moves(), 0,
+                record.getMoveCount());
+    }
+
+    /**
+     * Schreibt eine Partie direkt aus einem Zugpuffer, ohne {@link GameRecord} anzulegen.
+     * Die Züge werden nicht nachgespielt; das Ergebnis muss der Aufrufer kennen.
+     */
+    public void write(int n, int k, int firstPlayer, int result, byte[] moves, int offset, int count)
+            throws IOException {
+        if (n < 1 || n > 10 || k < 1 || k > n) {
+            throw new IllegalArgumentException("Ungültige Brettgröße: n=" + n + ", k=" + k);
+        }
+        if (firstPlayer != 1 && firstPlayer != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (result != 1 && result != -1 && result != 0 && result != GameRecord.UNFINISHED) {
+            throw new IllegalArgumentException("Ungültiges Ergebnis: " + result);
+        }
+        if (count < 0 || count > n * n) {
+            throw new IllegalArgumentException("Ungültige Zuganzahl: " + count);
+        }
+        if (buffer.remaining() < GameRecord.HEADER_BYTES + count) {
+            drain();
+        }
+        buffer.put((byte) GameRecord.sizeByte(n, k))
+                .put((byte) GameRecord.statusByte(firstPlayer, result))
+                .put((byte) count)
+                .put(moves, offset, count);
+        records++;
+    }
+
+    /** Anzahl geschriebener Datensätze. */
+    public long getRecords() {
+        return records;
+    }
+
+    /** Schreibt den Puffer in den Kanal. */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,406 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Spielserver für viele gleichzeitige Partien Mensch gegen Engine über TCP.
+ *
+ * Jede Verbindung ist eine Sitzung mit eigenem Brett und läuft auf einem eigenen Thread;
+ * ab Java 21 ist das ein virtueller Thread, sonst ein Plattform-Thread mit kleinem Stack
+ * (die Auswahl geschieht zur Laufzeit, gebaut wird weiter für Java 17). Sitzungs-Threads
+ * warten nur auf den Socket. Die Suche selbst läuft auf einem festen Pool von
+ * {@code cpuThreads} Threads, damit viele Sitzungen die Kerne nicht überbuchen (und
+ * virtuelle Threads ihre Träger-Threads nicht mit Rechenarbeit blockieren). Alle
+ * Sitzungen teilen sich eine sperrfreie {@link TranspositionTable}.
+ *
+ * Trennt der Client die Verbindung, während die Engine rechnet, wird die Suche über
+ * {@link SearchContext#cancel()} abgebrochen.
+ *
+ * Protokoll (eine Zeile pro Befehl, ASCII). Der Mensch spielt x und beginnt:
+ * <pre>
+ * NEW n [k]                  → OK
+ * MOVE x y [millis [nodes]]  → MOVE x' y'          Antwort der Engine, Partie läuft weiter
+ *                              MOVE x' y' WIN|DRAW  Antwort der Engine beendet die Partie
+ *                              END WIN|DRAW         schon der Zug des Menschen hat sie beendet
+ * QUIT                       → BYE
+ * </pre>
+ * millis und nodes begrenzen die Suche für diesen Zug, höchstens bis zum Budget des
+ * Servers. Fehler werden mit {@code ERR <Grund>} beantwortet, die Sitzung bleibt offen.
+ * Scheitert die Suche der Engine selbst, ist die Partie danach beendet (weiter mit NEW).
+ */
+public class GameServer implements AutoCloseable {
+
+    /** Standardbudget pro Zug, zugleich Obergrenze für Client-Angaben. */
+    public static final SearchBudget DEFAULT_MAX_BUDGET = SearchBudget.ofMillis(1000);
+
+    private static final int MAX_LINE = 128;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final ExecutorService cpu;
+    private final SearchBudget maxBudget;
+    private final TranspositionTable tt = new TranspositionTable();
+    private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    /**
+     * @param port       TCP-Port auf localhost, 0 = beliebiger freier
+     * @param cpuThreads Anzahl Such-Threads
+     * @param maxBudget  Budget pro Zug (Obergrenze); muss Zeit oder Knoten begrenzen
+     */
+    public GameServer(int port, int cpuThreads, SearchBudget maxBudget) throws IOException {
+        if (cpuThreads < 1) {
+            throw new IllegalArgumentException("Mindestens ein Such-Thread nötig: " + cpuThreads);
+        }
+        if (maxBudget.isUnlimited()) {
+            throw new IllegalArgumentException("Der Server braucht ein begrenztes Budget pro Zug.");
+        }
+        this.maxBudget = maxBudget;
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.sessions = newSessionExecutor();
+        this.cpu = Executors.newFixedThreadPool(cpuThreads, r -> {
+            Thread t = new Thread(r, "search");
+            t.setDaemon(true);
+            return t;
+        });
+        sessions.execute(this::accept);
+    }
+
+    /**
+     * Ein Thread pro Aufgabe: virtuell, wenn die Laufzeitumgebung das kann (Java 21+),
+     * sonst Plattform-Threads mit 256 KB Stack.
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Java 17: keine virtuellen Threads
+        } catch (InvocationTargetException e) {
+            // Java 19/20 ohne --enable-preview
+            if (!(e.getCause() instanceof UnsupportedOperationException)) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(null, r, "session", 256 * 1024);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Laufen die Sitzungen auf virtuellen Threads? */
+    public static boolean usesVirtualThreads() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        ExecutorService probe = newSessionExecutor();
+        try {
+            return probe.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get();
+        } catch (Exception e) {
+            return false;
+        } finally {
+            probe.shutdown();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /** Offene Sitzungen. */
+    public int getActiveSessions() {
+        return active.get();
+    }
+
+    /** Gestartete Suchen seit dem Start. */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /** Suchen, die wegen einer getrennten Verbindung abgebrochen wurden. */
+    public long getCancelledSearches() {
+        return cancelled.sum();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        open.add(socket);
+        active.incrementAndGet();
+        Session session = null;
+        try {
+            session = new Session(socket);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            String line;
+            while ((line = readLine(in)) != null) {
+                // Anfrage und Antwort wechseln sich ab; ein zu früh gesendeter Befehl wartet auf die Engine
+                session.awaitSearch();
+                if (!session.handle(line.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Verbindung abgerissen: wie ein normales Ende behandeln
+        } finally {
+            if (session != null) {
+                session.abandon();
+            }
+            open.remove(socket);
+            active.decrementAndGet();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // schon zu
+            }
+        }
+    }
+
+    // Zeile ohne Zeilenende, null bei Verbindungsende
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                return sb.toString();
+            }
+            if (c != '\r') {
+                if (sb.length() >= MAX_LINE) {
+                    throw new IOException("Zeile zu lang");
+                }
+                sb.append((char) c);
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+
+    /** Zustand einer Verbindung. Brett und Kontext gehören immer nur dem Thread, der gerade dran ist. */
+    private final class Session {
+        private final OutputStream out;
+        private Board board;
+        private SearchContext ctx;
+        private CompletableFuture<Void> search = CompletableFuture.completedFuture(null);
+
+        Session(Socket socket) throws IOException {
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        // Fehler der Suche beantwortet reply() schon selbst; was dort nicht ankommt, hier
+        void awaitSearch() throws IOException {
+            try {
+                search.join();
+            } catch (CompletionException e) {
+                search = CompletableFuture.completedFuture(null);
+                failed(reason(e.getCause()));
+            }
+        }
+
+        // false beendet die Sitzung
+        boolean handle(String line) throws IOException {
+            String[] parts = line.split("\\s+");
+            try {
+                switch (parts[0].toUpperCase()) {
+                    case "NEW":
+                        start(parts);
+                        return true;
+                    case "MOVE":
+                        move(parts);
+                        return true;
+                    case "QUIT":
+                        send("BYE");
+                        return false;
+                    default:
+                        send("ERR unbekannter Befehl: " + parts[0]);
+                        return true;
+                }
+            } catch (IllegalArgumentException | InputMismatchException e) {
+                send("ERR " + e.getMessage());
+                return true;
+            } catch (RejectedExecutionException e) {
+                send("ERR Server wird beendet");
+                return false;
+            }
+        }
+
+        private void start(String[] parts) throws IOException {
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("NEW n [k]");
+            }
+            int n = Integer.parseInt(parts[1]);
+            int k = parts.length == 3 ? Integer.parseInt(parts[2]) : n;
+            board = new Board(n, k);
+            ctx = new SearchContext(tt);
+            send("OK");
+        }
+
+        private void move(String[] parts) throws IOException {
+            if (board == null) {
+                throw new IllegalArgumentException("erst NEW");
+            }
+            if (parts.length < 3 || parts.length > 5) {
+                throw new IllegalArgumentException("MOVE x y [millis [nodes]]");
+            }
+            if (board.isGameWon() || board.nFreeFields() == 0) {
+                throw new IllegalArgumentException("Partie ist vorbei");
+            }
+            Position pos = Position.of(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            SearchBudget budget = budget(parts);
+            board.doMove(pos, 1);   // prüft Feld und Belegung
+            if (board.isGameWon()) {
+                send("END WIN");
+                return;
+            }
+            if (board.nFreeFields() == 0) {
+                send("END DRAW");
+                return;
+            }
+            searches.increment();
+            search = CompletableFuture.runAsync(() -> reply(budget), cpu);
+        }
+
+        // Client-Budget, gekappt am Budget des Servers
+        private SearchBudget budget(String[] parts) {
+            long millis = maxBudget.getTimeMillis();
+            long nodes = maxBudget.getMaxNodes();
+            if (parts.length >= 4) {
+                millis = cap(Long.parseLong(parts[3]), millis);
+            }
+            if (parts.length == 5) {
+                nodes = cap(Long.parseLong(parts[4]), nodes);
+            }
+            return SearchBudget.of(millis, nodes);
+        }
+
+        private long cap(long requested, long limit) {
+            if (requested < 1) {
+                throw new IllegalArgumentException("Budget muss positiv sein: " + requested);
+            }
+            return limit == 0 ? requested : Math.min(requested, limit);
+        }
+
+        // Läuft im Such-Pool: Engine (o) zieht und antwortet
+        private void reply(SearchBudget budget) {
+            if (ctx.isCancelled()) {
+                return;
+            }
+            try {
+                SearchResult result = search(board, budget, ctx);
+                if (ctx.isCancelled()) {
+                    return;   // Client weg, niemand wartet auf die Antwort
+                }
+                if (result.getBestMove() == null) {
+                    failed("kein Zug gefunden");
+                    return;
+                }
+                Position move = result.getBestMove();
+                board.doMove(move, -1);
+                String end = board.isGameWon() ? " WIN" : board.nFreeFields() == 0 ? " DRAW" : "";
+                send("MOVE " + move.x + " " + move.y + end);
+            } catch (RuntimeException e) {
+                try {
+                    failed(reason(e));
+                } catch (IOException ignored) {
+                    // Client weg
+                }
+            } catch (IOException e) {
+                // Client weg; die Sitzung merkt es beim nächsten Lesen
+            }
+        }
+
+        // Suche gescheitert: Brett ist nicht mehr verlässlich, Partie verwerfen
+        private void failed(String reason) throws IOException {
+            board = null;
+            send("ERR Suche fehlgeschlagen: " + reason);
+        }
+
+        // Kurzer Grund für den Client: erste Zeile der Meldung, ohne sie der Klassenname
+        private String reason(Throwable cause) {
+            String message = cause.getMessage();
+            if (message == null || message.isBlank()) {
+                return cause.getClass().getSimpleName();
+            }
+            int newline = message.indexOf('\n');
+            return newline < 0 ? message : message.substring(0, newline);
+        }
+
+        // Verbindung weg: laufende Suche abbrechen
+        void abandon() {
+            if (!search.isDone() && ctx != null) {
+                ctx.cancel();
+                cancelled.increment();
+            }
+        }
+
+        private void send(String line) throws IOException {
+            out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+    }
+
+    /** Zug der Engine (o); läuft im Such-Pool. */
+    SearchResult search(Board board, SearchBudget budget, SearchContext ctx) {
+        return TicTacToe.iterativeDeepening(board, -1, budget, ctx);
+    }
+
+    /** Nimmt keine Verbindungen mehr an und schließt alle offenen Sitzungen. */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : open) {
+            try {
+                socket.close();
+            } catch (SocketException e) {
+                // schon zu
+            }
+        }
+        sessions.shutdownNow();
+        cpu.shutdownNow();
+    }
+
+    /**
+     * Startet den Server.
+     * Aufruf: {@code java GameServer [port] [such-threads] [millis-pro-zug]}
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_MAX_BUDGET.getTimeMillis();
+        GameServer server = new GameServer(port, threads, SearchBudget.ofMillis(millis));
+        System.out.println("GameServer auf Port " + server.getPort() + ", " + threads + " Such-Threads, "
+                + (usesVirtualThreads() ? "virtuelle" : "Plattform-") + " Threads für Sitzungen");
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,161 @@
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Der Server muss Partien korrekt führen, Protokollfehler melden, ohne die Sitzung zu
+ * beenden, eine Suche abbrechen, wenn der Client geht, und viele Sitzungen gleichzeitig tragen.
+ */
+public class GameServerTest {
+
+	private GameServer server;
+
+	@Before
+	public void start() throws Exception {
+		server = new GameServer(0, 2, SearchBudget.ofMillis(10_000));
+	}
+
+	@After
+	public void stop() throws Exception {
+		server.close();
+	}
+
+	private Socket connect() throws Exception {
+		Socket s = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+		s.setSoTimeout(30_000);
+		return s;
+	}
+
+	private static String call(Socket s, BufferedReader in, String line) throws Exception {
+		OutputStream out = s.getOutputStream();
+		out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+		return in.readLine();
+	}
+
+	private void awaitNoSessions() throws InterruptedException {
+		long start = System.nanoTime();
+		while (server.getActiveSessions() > 0 && System.nanoTime() - start < 5_000_000_000L) {
+			Thread.sleep(5);
+		}
+		assertEquals(0, server.getActiveSessions());
+	}
+
+	private static BufferedReader reader(Socket s) throws Exception {
+		return new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testEngineNeverLosesOn3x3() throws Exception {
+		try (Socket s = connect()) {
+			BufferedReader in = reader(s);
+			assertEquals("OK", call(s, in, "NEW 3"));
+			Board b = new Board(3);
+			int[] moves = new int[9];
+			String reply;
+			do {
+				// der Mensch spielt immer das erste freie Feld
+				b.fillMoves(moves);
+				int cell = moves[0];
+				b.doMove(cell, 1);
+				reply = call(s, in, "MOVE " + cell / 3 + " " + cell % 3 + " 1000");
+				assertNotEquals("Mensch gewinnt nicht", "END WIN", reply);
+				String[] parts = reply.split(" ");
+				if (parts[0].equals("MOVE")) {
+					b.doMove(Position.of(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])), -1);
+				}
+			} while (reply.split(" ").length == 3);
+			assertEquals("BYE", call(s, in, "QUIT"));
+		}
+	}
+
+	@Test
+	public void testFailedSearchAnswersErr() throws Exception {
+		server.close();
+		server = new GameServer(0, 1, SearchBudget.ofMillis(100)) {
+			@Override
+			SearchResult search(Board board, SearchBudget budget, SearchContext ctx) {
+				throw new IllegalStateException("kaputt");
+			}
+		};
+		try (Socket s = connect()) {
+			BufferedReader in = reader(s);
+			assertEquals("OK", call(s, in, "NEW 3"));
+			// nur der Grund, nicht Klasse oder Stacktrace der Ausnahme
+			assertEquals("ERR Suche fehlgeschlagen: kaputt", call(s, in, "MOVE 1 1"));
+			// Sitzung bleibt offen, die Partie ist verworfen
+			assertTrue(call(s, in, "MOVE 0 0").startsWith("ERR"));
+			assertEquals("OK", call(s, in, "NEW 3"));
+			assertEquals("BYE", call(s, in, "QUIT"));
+		}
+	}
+
+	@Test
+	public void testSearchWithoutMoveAnswersErr() throws Exception {
+		server.close();
+		server = new GameServer(0, 1, SearchBudget.ofMillis(100)) {
+			@Override
+			SearchResult search(Board board, SearchBudget budget, SearchContext ctx) {
+				return new SearchResult(null, 0, false, 0, 0);
+			}
+		};
+		try (Socket s = connect()) {
+			BufferedReader in = reader(s);
+			assertEquals("OK", call(s, in, "NEW 3"));
+			// ohne Antwort bliebe der Client hier hängen
+			assertEquals("ERR Suche fehlgeschlagen: kein Zug gefunden", call(s, in, "MOVE 1 1"));
+			assertTrue(call(s, in, "MOVE 0 0").startsWith("ERR"));
+			assertEquals("OK", call(s, in, "NEW 3"));
+			assertEquals("BYE", call(s, in, "QUIT"));
+		}
+	}
+
+	@Test
+	public void testProtocolErrors() throws Exception {
+		try (Socket s = connect()) {
+			BufferedReader in = reader(s);
+			assertTrue(call(s, in, "MOVE 0 0").startsWith("ERR"));
+			assertTrue(call(s, in, "HELLO").startsWith("ERR"));
+			assertTrue(call(s, in, "NEW 11").startsWith("ERR"));
+			assertEquals("OK", call(s, in, "NEW 3"));
+			assertTrue(call(s, in, "MOVE 3 0").startsWith("ERR"));
+			assertTrue(call(s, in, "MOVE 0 0 -5").startsWith("ERR"));
+			assertTrue(call(s, in, "MOVE 1 1 100").startsWith("MOVE"));
+			assertTrue("Feld belegt", call(s, in, "MOVE 1 1").startsWith("ERR"));
+			assertEquals("BYE", call(s, in, "QUIT"));
+		}
+	}
+
+	@Test
+	public void testDisconnectCancelsSearch() throws Exception {
+		try (Socket s = connect()) {
+			BufferedReader in = reader(s);
+			assertEquals("OK", call(s, in, "NEW 10 5"));
+			OutputStream out = s.getOutputStream();
+			out.write("MOVE 4 4 10000\n".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			while (server.getSearches() == 0) {
+				Thread.sleep(5);
+			}
+		}
+		awaitNoSessions();
+		assertEquals(1, server.getCancelledSearches());
+	}
+
+	@Test
+	public void testManyConcurrentSessions() throws Exception {
+		String host = InetAddress.getLoopbackAddress().getHostAddress();
+		LoadGenerator.Report report = LoadGenerator.run(host, server.getPort(), 200, 3, 20, 5);
+		assertEquals(0, report.getFailedSessions());
+		assertTrue(report.getMoves() >= 200);
+		assertTrue(report.percentile(0.5) <= report.percentile(0.99));
+		awaitNoSessions();
+	}
+}
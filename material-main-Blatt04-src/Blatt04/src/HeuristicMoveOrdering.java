@@ -0,0 +1,123 @@
+import java.util.Arrays;
+
+/**
+ * Zugsortierung in der üblichen Schachprogramm-Reihenfolge:
+ * <ol>
+ *   <li>Zug aus der Transpositionstabelle bzw. Hauptvariante,</li>
+ *   <li>sofortige Gewinnzüge, dann erzwungene Blocks (Gegner würde dort gewinnen),</li>
+ *   <li>zwei Killer-Züge pro Ply (haben in Geschwisterknoten geschnitten),</li>
+ *   <li>statisch: Felder auf mehr Reihen (Mitte, Diagonalen) zuerst,</li>
+ *   <li>bei gleichem statischen Wert die History-Heuristik: wie oft ein Feld für diesen
+ *       Spieler geschnitten hat.</li>
+ * </ol>
+ * History nur als Gleichstandsregel, weil ein Feld in Tic-Tac-Toe je nach Stellung
+ * sehr verschieden gut ist; vor dem statischen Wert kostete sie auf 4×4 ein Vielfaches an Knoten.
+ * Die Sortierung arbeitet auf vorab angelegten Puffern und allokiert während der Suche nichts.
+ */
+public class HeuristicMoveOrdering implements MoveOrdering {
+
+    private static final int HASH_MOVE = 1 << 30;
+    private static final int WIN = 1 << 29;
+    private static final int BLOCK = 1 << 28;
+    private static final int KILLER_1 = 1 << 27;
+    private static final int KILLER_2 = 1 << 26;
+    // History wird bei Überlauf halbiert, bleibt also unter dem statischen Anteil
+    private static final int HISTORY_LIMIT = 1 << 18;
+    private static final int STATIC_SHIFT = 18;   // statischer Anteil (< 64) darüber, bleibt unter den Killer-Stufen
+
+    private static final int[][] STATIC_SCORE = new int[11][];
+
+    static {
+        for (int n = 1; n <= 10; n++) {
+            STATIC_SCORE[n] = staticScores(n);
+        }
+    }
+
+    private final int[][] killers = new int[Zobrist.MAX_CELLS + 1][2];
+    private final int[][] history = new int[2][Zobrist.MAX_CELLS];
+    private final int[] scores = new int[Zobrist.MAX_CELLS];
+
+    public HeuristicMoveOrdering() {
+        reset();
+    }
+
+    // Anzahl Reihen durch das Feld (2..4) zählt am meisten, Nähe zur Mitte bricht Gleichstände
+    private static int[] staticScores(int n) {
+        int[] score = new int[n * n];
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
+                int lines = 2 + (x == y ? 1 : 0) + (x + y == n - 1 ? 1 : 0);
+                // doppelter Abstand zur Mitte, damit auch gerade n ganzzahlig bleiben
+                int distance = Math.abs(2 * x - (n - 1)) + Math.abs(2 * y - (n - 1));
+                score[x * n + y] = lines * 10 + (20 - distance) / 2;
+            }
+        }
+        return score;
+    }
+
+    @Override
+    public void order(GameBoard board, int player, int[] moves, int count, int hashMove, int ply) {
+        int[] statics = STATIC_SCORE[board.getN()];
+        int[] own = history[Zobrist.index(player)];
+        int[] killer = killers[ply];
+        for (int i = 0; i < count; i++) {
+            int m = moves[i];
+            int score;
+            if (m == hashMove) {
+                score = HASH_MOVE;
+            } else if (board.isWinningMove(m, player)) {
+                score = WIN;
+            } else if (board.isWinningMove(m, -player)) {
+                score = BLOCK;
+            } else if (m == killer[0]) {
+                score = KILLER_1;
+            } else if (m == killer[1]) {
+                score = KILLER_2;
+            } else {
+                score = (statics[m] << STATIC_SHIFT) + own[m];
+            }
+            scores[i] = score;
+        }
+        // Insertion-Sort, absteigend; bei höchstens 100 Zügen schneller als alles andere
+        for (int i = 1; i < count; i++) {
+            int m = moves[i];
+            int s = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < s) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = m;
+            scores[j + 1] = s;
+        }
+    }
+
+    @Override
+    public void cutoff(int move, int player, int depth, int ply) {
+        int[] killer = killers[ply];
+        if (killer[0] != move) {
+            killer[1] = killer[0];
+            killer[0] = move;
+        }
+        int[] own = history[Zobrist.index(player)];
+        own[move] += depth * depth;
+        if (own[move] >= HISTORY_LIMIT) {
+            for (int[] h : history) {
+                for (int i = 0; i < h.length; i++) {
+                    h[i] >>= 1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (int[] k : killers) {
+            Arrays.fill(k, -1);
+        }
+        for (int[] h : history) {
+            Arrays.fill(h, 0);
+        }
+    }
+}
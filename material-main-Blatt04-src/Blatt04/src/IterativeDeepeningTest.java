@@ -0,0 +1,83 @@
+
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * JUnit-Tests für die iterative Vertiefung mit Zeit- bzw. Knotenbudget.
+ */
+public class IterativeDeepeningTest {
+
+	@Test
+	public void testUnlimitedBudgetSolvesLikeAlphaBeta() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		SearchResult r = TicTacToe.iterativeDeepening(b, 1, SearchBudget.UNLIMITED);
+		assertTrue(r.isSolved());
+		assertEquals("Sofortiger Sieg bleibt als 6 kodiert", 6, r.getScore());
+		assertEquals(new Position(2, 0), r.getBestMove());
+
+		SearchResult draw = TicTacToe.iterativeDeepening(new Board(3), 1, SearchBudget.UNLIMITED);
+		assertTrue(draw.isSolved());
+		assertEquals(0, draw.getScore());
+	}
+
+	@Test
+	public void testBlockIsFoundUnderBudget() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), -1);
+		b.doMove(new Position(1, 0), -1);
+		b.doMove(new Position(1, 1), 1);
+		SearchResult r = TicTacToe.iterativeDeepening(b, 1, SearchBudget.ofMillis(1000));
+		assertEquals("x muss auf (2,0) blocken", new Position(2, 0), r.getBestMove());
+		assertEquals(TicTacToe.alphaBeta(b, 1), r.getScore());
+		assertTrue(r.isSolved());
+	}
+
+	@Test
+	public void testLargeBoardReturnsWithinTimeBudget() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean.isCurrentThreadCpuTimeSupported());
+		Board b = new Board(6);
+		long start = System.nanoTime();
+		long cpuStart = bean.getCurrentThreadCpuTime();
+		SearchResult r = TicTacToe.iterativeDeepening(b, 1, SearchBudget.ofMillis(200));
+		long cpuMillis = (bean.getCurrentThreadCpuTime() - cpuStart) / 1_000_000;
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		assertNotNull(r.getBestMove());
+		assertFalse("6×6 ist in 200 ms nicht lösbar", r.isSolved());
+		assertTrue("Tiefe " + r.getDepth(), r.getDepth() >= 2);
+		assertTrue(elapsed + " ms", elapsed >= 200);
+		// Nach Ablauf läuft die Suche höchstens noch ein Prüfintervall (1024 Knoten) weiter.
+		// Gemessen wird die CPU-Zeit des suchenden Threads: ein ausgelasteter Rechner
+		// verlängert nur die Wanddauer, eine Suche über die Frist hinaus aber beide.
+		assertTrue("CPU-Zeit " + cpuMillis + " ms bei 200 ms Budget", cpuMillis < 200 + 100);
+	}
+
+	@Test
+	public void testTinyNodeBudgetStillGivesMove() {
+		Board b = new Board(5);
+		SearchResult r = TicTacToe.iterativeDeepening(b, 1, SearchBudget.ofNodes(1));
+		assertNotNull("Erste Iteration läuft immer durch", r.getBestMove());
+		assertTrue(r.getDepth() >= 1);
+		// das Budget wird nur alle 1024 Knoten geprüft, danach muss Schluss sein
+		assertTrue("Knoten: " + r.getNodes(), r.getNodes() <= 4096);
+		assertFalse(r.isSolved());
+	}
+
+	@Test
+	public void testFinishedGameHasNoMove() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), 1);
+		b.doMove(new Position(2, 2), 1);
+		SearchResult r = TicTacToe.iterativeDeepening(b, -1, SearchBudget.ofMillis(100));
+		assertNull(r.getBestMove());
+		assertTrue(r.isSolved());
+		assertEquals(TicTacToe.alphaBeta(b, -1), r.getScore());
+	}
+}
@@ -0,0 +1,199 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lastgenerator für den {@link GameServer}: öffnet viele Sitzungen gleichzeitig, wartet,
+ * bis alle verbunden sind, und lässt dann jede eine Partie mit zufälligen Zügen spielen.
+ * Gemessen wird die Zeit vom Senden eines Zugs bis zur Antwort der Engine; am Ende
+ * werden Median, 99. Perzentil und Maximum ausgegeben.
+ */
+public class LoadGenerator {
+
+    /** Ergebnis eines Laufs; Latenzen in Nanosekunden, aufsteigend sortiert. */
+    public static final class Report {
+        private final long[] latencies;
+        private final int failedSessions;
+        private final long wallNanos;
+
+        Report(long[] latencies, int failedSessions, long wallNanos) {
+            this.latencies = latencies;
+            this.failedSessions = failedSessions;
+            this.wallNanos = wallNanos;
+        }
+
+        public int getMoves() {
+            return latencies.length;
+        }
+
+        public int getFailedSessions() {
+            return failedSessions;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        /** p-Quantil (0..1) der Latenzen in Nanosekunden, 0 ohne Messwerte. */
+        public long percentile(double p) {
+            return LoadGenerator.percentile(latencies, p);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d Züge, %d Sitzungen fehlgeschlagen, p50 %.2f ms, p99 %.2f ms, max %.2f ms, %.1f s",
+                    getMoves(), failedSessions, percentile(0.5) / 1e6, percentile(0.99) / 1e6,
+                    percentile(1.0) / 1e6, wallNanos / 1e9);
+        }
+    }
+
+    /** Nächster-Rang-Quantil eines sortierten Arrays. */
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Spielt mit sessions gleichzeitigen Verbindungen je eine Partie auf einem n×n-Brett.
+     *
+     * @param millis Budget pro Engine-Zug, das jeder Zug mitschickt
+     */
+    public static Report run(String host, int port, int sessions, int n, long millis, long seed)
+            throws InterruptedException {
+        ExecutorService executor = GameServer.newSessionExecutor();
+        CountDownLatch connected = new CountDownLatch(sessions);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>(sessions);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                long sessionSeed = seed + i;
+                results.add(executor.submit(() -> play(host, port, n, millis, sessionSeed, connected, go)));
+            }
+            // erst spielen, wenn alle Verbindungen stehen (oder gescheitert sind)
+            connected.await();
+            go.countDown();
+
+            long[] all = new long[0];
+            int count = 0;
+            int failed = 0;
+            for (Future<long[]> result : results) {
+                long[] latencies;
+                try {
+                    latencies = result.get();
+                } catch (Exception e) {
+                    failed++;
+                    continue;
+                }
+                if (count + latencies.length > all.length) {
+                    all = Arrays.copyOf(all, Math.max(2 * all.length, count + latencies.length));
+                }
+                System.arraycopy(latencies, 0, all, count, latencies.length);
+                count += latencies.length;
+            }
+            long[] sorted = Arrays.copyOf(all, count);
+            Arrays.sort(sorted);
+            return new Report(sorted, failed, System.nanoTime() - start);
+        } finally {
+            go.countDown();
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // Eine Sitzung: verbinden, auf den Start warten, Partie spielen; liefert die Latenzen
+    private static long[] play(String host, int port, int n, long millis, long seed,
+                               CountDownLatch connected, CountDownLatch go) throws Exception {
+        Socket socket;
+        try {
+            socket = new Socket(host, port);
+        } finally {
+            connected.countDown();
+        }
+        try (Socket s = socket) {
+            s.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = s.getOutputStream();
+            go.await();
+
+            send(out, "NEW " + n);
+            expect(in.readLine(), "OK");
+            Board board = new Board(n);
+            SplittableRandom rnd = new SplittableRandom(seed);
+            int[] moves = new int[n * n];
+            long[] latencies = new long[(n * n + 1) / 2];
+            int count = 0;
+            while (true) {
+                int free = board.fillMoves(moves);
+                int cell = moves[rnd.nextInt(free)];
+                board.doMove(cell, 1);
+                long sent = System.nanoTime();
+                send(out, "MOVE " + cell / n + " " + cell % n + " " + millis);
+                String reply = in.readLine();
+                if (reply == null) {
+                    throw new IOException("Server hat die Verbindung geschlossen");
+                }
+                if (reply.startsWith("END")) {
+                    break;
+                }
+                latencies[count++] = System.nanoTime() - sent;
+                String[] parts = reply.split(" ");
+                expect(parts[0], "MOVE");
+                board.doMove(Position.of(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])), -1);
+                if (parts.length == 4) {
+                    break;
+                }
+            }
+            send(out, "QUIT");
+            expect(in.readLine(), "BYE");
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+
+    private static void send(OutputStream out, String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void expect(String actual, String expected) throws IOException {
+        if (!expected.equals(actual)) {
+            throw new IOException("Erwartet " + expected + ", bekommen " + actual);
+        }
+    }
+
+    /**
+     * Aufruf: {@code java LoadGenerator [sitzungen] [n] [millis] [host port]}.
+     * Ohne host und port wird ein Server im selben Prozess gestartet.
+     */
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        System.out.println((GameServer.usesVirtualThreads() ? "Virtuelle Threads, " : "Plattform-Threads, ")
+                + sessions + " Sitzungen, " + n + "x" + n + ", " + millis + " ms pro Zug");
+        if (args.length > 4) {
+            System.out.println(run(args[3], Integer.parseInt(args[4]), sessions, n, millis, 1));
+            return;
+        }
+        try (GameServer server = new GameServer(0, Runtime.getRuntime().availableProcessors(),
+                GameServer.DEFAULT_MAX_BUDGET)) {
+            String host = InetAddress.getLoopbackAddress().getHostAddress();
+            System.out.println(run(host, server.getPort(), sessions, n, millis, 1));
+        }
+    }
+}
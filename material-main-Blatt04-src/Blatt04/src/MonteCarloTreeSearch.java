@@ -0,0 +1,548 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte-Carlo-Baumsuche (UCT) für Bretter, auf denen {@link TicTacToe#alphaBeta} nicht
+ * mehr fertig wird (etwa n = 7..10), mit festem Zeit- oder Playout-Budget.
+ *
+ * Jede Iteration steigt im Baum nach UCB1 ab, erweitert den ersten schon einmal besuchten
+ * Blattknoten um alle Züge, spielt von dort eine zufällige Partie zu Ende und schreibt das
+ * Ergebnis (Sieg 2, Remis 1, Niederlage 0 halbe Punkte aus Sicht des Spielers, der in den
+ * Knoten gezogen hat) den Pfad hinauf. Die Zufallspartien laufen mit doMove/undoMove auf
+ * einer Brettkopie pro Thread und festen Puffern; pro Playout wird nichts allokiert.
+ *
+ * Liegt die Stellung des nächsten Aufrufs höchstens zwei Halbzüge hinter der letzten
+ * Wurzel (eigener Zug und Antwort des Gegners), wird der passende Teilbaum als neue Wurzel
+ * übernommen ({@link #setTreeReuse}). Die Zahl der Baumknoten ist begrenzt; ist die Grenze
+ * erreicht, wird nicht mehr erweitert, die Playouts laufen weiter von den Blättern aus.
+ *
+ * Die Wahl des Zugs ist der am häufigsten besuchte Wurzelzug; die Bewertung im
+ * {@link SearchResult} ist die Gewinnerwartung in Promille (−1000..1000) und nie exakt.
+ */
+public class MonteCarloTreeSearch implements AutoCloseable {
+
+    /** Art der Parallelisierung. */
+    public enum Mode {
+        /** Ein Baum, gesucht im aufrufenden Thread. */
+        SERIAL,
+        /** Jeder Thread baut einen eigenen Baum; am Ende werden die Wurzelzüge addiert. */
+        ROOT_PARALLEL,
+        /**
+         * Alle Threads teilen einen Baum. Ein Thread zählt jeden Knoten seines Pfads schon
+         * beim Abstieg als verloren (virtueller Verlust), damit die anderen andere Pfade wählen.
+         */
+        TREE_PARALLEL
+    }
+
+    /** Standardkonstante für den Erkundungsterm von UCB1. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    /** Standardobergrenze der Baumknoten (etwa 32 MB). */
+    public static final int DEFAULT_MAX_TREE_NODES = 1 << 20;
+
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int VIRTUAL_LOSS = 3;
+    // so viele Playouts holt sich ein Thread auf einmal; danach wird die Uhr geprüft
+    private static final int CHUNK = 64;
+
+    private static final VarHandle VISITS;
+    private static final VarHandle REWARD;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+            REWARD = lookup.findVarHandle(Node.class, "reward", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Baumknoten; Besuche und Punkte werden atomar addiert, die Kinder einmalig gesetzt. */
+    static final class Node {
+        final int move;        // Feld-Index des Zugs in diesen Knoten, −1 an einer neuen Wurzel
+        final int player;      // wer diesen Zug gemacht hat
+        volatile int visits;
+        volatile long reward;  // halbe Punkte aus Sicht von player
+        volatile Node[] children;
+
+        Node(int move, int player) {
+            this.move = move;
+            this.player = player;
+        }
+    }
+
+    private final Mode mode;
+    private final ForkJoinPool pool;     // null bei SERIAL
+    private final int threads;
+    private double exploration = DEFAULT_EXPLORATION;
+    private int maxTreeNodes = DEFAULT_MAX_TREE_NODES;
+    private boolean treeReuse = true;
+    private long seed = System.nanoTime();
+
+    // Bäume der letzten Suche (einer, bei ROOT_PARALLEL einer pro Thread) und ihre Stellung
+    private Node[] roots;
+    private BoardSnapshot rootPosition;
+    private int rootPlayer;
+    private final AtomicLong treeNodes = new AtomicLong();
+    private Worker[] workers = new Worker[0];
+
+    private long lastPlayouts;
+    private long reusedVisits;
+
+    public MonteCarloTreeSearch() {
+        this(Mode.SERIAL, 1);
+    }
+
+    /**
+     * @param mode    Art der Parallelisierung
+     * @param threads Anzahl Threads (bei {@link Mode#SERIAL} genau 1)
+     */
+    public MonteCarloTreeSearch(Mode mode, int threads) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Modus fehlt.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Mindestens ein Thread nötig: " + threads);
+        }
+        if (mode == Mode.SERIAL && threads != 1) {
+            throw new IllegalArgumentException("SERIAL läuft mit genau einem Thread: " + threads);
+        }
+        this.mode = mode;
+        this.threads = threads;
+        this.pool = mode == Mode.SERIAL ? null : new ForkJoinPool(threads);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /** Gewichtung des Erkundungsterms in UCB1 (größer = breiter). */
+    public void setExploration(double exploration) {
+        if (!(exploration >= 0)) {
+            throw new IllegalArgumentException("Erkundung darf nicht negativ sein: " + exploration);
+        }
+        this.exploration = exploration;
+    }
+
+    /** Höchstzahl an Baumknoten (über alle Bäume); darüber wird nicht mehr erweitert. */
+    public void setMaxTreeNodes(int maxTreeNodes) {
+        if (maxTreeNodes < 1) {
+            throw new IllegalArgumentException("Mindestens ein Knoten nötig: " + maxTreeNodes);
+        }
+        this.maxTreeNodes = maxTreeNodes;
+    }
+
+    /** Ob der Baum der letzten Suche weiterverwendet werden darf (Standard: ja). */
+    public void setTreeReuse(boolean treeReuse) {
+        this.treeReuse = treeReuse;
+        if (!treeReuse) {
+            reset();
+        }
+    }
+
+    /** Startwert der Zufallszahlen, für reproduzierbare serielle Suchen. */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /** Verwirft den gespeicherten Baum. */
+    public void reset() {
+        roots = null;
+        rootPosition = null;
+        treeNodes.set(0);
+    }
+
+    /** Playouts der letzten Suche. */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /** Besuche der Wurzel, die zu Beginn der letzten Suche aus dem alten Baum übernommen wurden. */
+    public long getReusedVisits() {
+        return reusedVisits;
+    }
+
+    /** Knoten im aktuellen Baum (bzw. in allen Bäumen). */
+    public long getTreeNodes() {
+        return treeNodes.get();
+    }
+
+    /**
+     * Sucht einen Zug für player. board wird nicht verändert.
+     *
+     * @param budget Zeit und/oder Anzahl Playouts ({@link SearchBudget#getMaxNodes()});
+     *               mindestens eines muss begrenzt sein
+     * @return       meistbesuchter Zug; Tiefe ist die größte im Baum erreichte, Knoten sind die Playouts.
+     *               Ist die Stellung schon entschieden, kein Zug und der exakte Wert wie bei alphaBeta.
+     */
+    public SearchResult search(GameBoard board, int player, SearchBudget budget) {
+        if (player != 1 && player != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (budget.isUnlimited()) {
+            throw new IllegalArgumentException("Die Baumsuche braucht ein Zeit- oder Playout-Budget.");
+        }
+        long start = System.nanoTime();
+        if (board.isGameWon()) {
+            return new SearchResult(null, -(board.nFreeFields() + 1), true, 0, 0);
+        }
+        if (board.nFreeFields() == 0) {
+            return new SearchResult(null, 0, true, 0, 0);
+        }
+        prepareRoots(board, player);
+        prepareWorkers(board);
+
+        long deadline = budget.getTimeMillis() > 0 ? start + budget.getTimeMillis() * 1_000_000L : 0;
+        AtomicLong issued = new AtomicLong();
+        if (pool == null) {
+            workers[0].run(roots[0], player, false, deadline, budget.getMaxNodes(), issued);
+        } else {
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                Worker worker = workers[i];
+                Node root = roots[mode == Mode.ROOT_PARALLEL ? i : 0];
+                boolean shared = mode == Mode.TREE_PARALLEL;
+                tasks[i] = pool.submit(() -> worker.run(root, player, shared, deadline, budget.getMaxNodes(), issued));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        lastPlayouts = 0;
+        int depth = 0;
+        for (Worker worker : workers) {
+            lastPlayouts += worker.playouts;
+            depth = Math.max(depth, worker.maxDepth);
+        }
+        return decide(board.getN(), depth);
+    }
+
+    // Meistbesuchten Wurzelzug über alle Bäume bestimmen
+    private SearchResult decide(int n, int depth) {
+        long[] visits = new long[n * n];
+        long[] rewards = new long[n * n];
+        for (Node root : roots) {
+            Node[] children = root.children;
+            if (children == null) {
+                continue;
+            }
+            for (Node child : children) {
+                visits[child.move] += child.visits;
+                rewards[child.move] += child.reward;
+            }
+        }
+        int best = -1;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (visits[cell] > 0 && (best < 0 || visits[cell] > visits[best])) {
+                best = cell;
+            }
+        }
+        if (best < 0) {
+            return new SearchResult(null, 0, false, depth, lastPlayouts);
+        }
+        int score = (int) Math.round(1000.0 * rewards[best] / visits[best] - 1000.0);
+        return new SearchResult(Position.of(best / n, best % n), score, false, depth, lastPlayouts);
+    }
+
+    // Alten Baum übernehmen, wenn die Stellung aus ihm hervorgeht, sonst neu anfangen
+    private void prepareRoots(GameBoard board, int player) {
+        int trees = mode == Mode.ROOT_PARALLEL ? threads : 1;
+        BoardSnapshot position = board.snapshot();
+        int[] path = treeReuse && roots != null && roots.length == trees ? pathFrom(position, player) : null;
+        Node[] next = new Node[trees];
+        reusedVisits = 0;
+        if (path != null) {
+            for (int i = 0; i < trees && next != null; i++) {
+                Node node = roots[i];
+                for (int j = 0; j < path.length && node != null; j++) {
+                    node = child(node, path[j]);
+                }
+                if (node == null) {
+                    next = null;
+                } else {
+                    next[i] = node;
+                    reusedVisits += node.visits;
+                }
+            }
+        }
+        if (path == null || next == null) {
+            next = new Node[trees];
+            for (int i = 0; i < trees; i++) {
+                next[i] = new Node(-1, -player);
+            }
+            reusedVisits = 0;
+            treeNodes.set(trees);
+        } else {
+            treeNodes.set(count(next));
+        }
+        roots = next;
+        rootPosition = position;
+        rootPlayer = player;
+    }
+
+    // Feld-Indizes der höchstens zwei Züge von der alten Wurzel zu position, oder null
+    private int[] pathFrom(BoardSnapshot position, int player) {
+        BoardSnapshot old = rootPosition;
+        if (old == null || old.getN() != position.getN() || old.getK() != position.getK()) {
+            return null;
+        }
+        int own = -1;
+        int reply = -1;
+        for (int cell = 0; cell < position.getN() * position.getN(); cell++) {
+            int before = old.getField(cell);
+            int after = position.getField(cell);
+            if (before == after) {
+                continue;
+            }
+            if (before != 0) {
+                return null;
+            }
+            if (after == rootPlayer && own < 0) {
+                own = cell;
+            } else if (after == -rootPlayer && reply < 0) {
+                reply = cell;
+            } else {
+                return null;
+            }
+        }
+        if (own < 0 && reply < 0) {
+            return player == rootPlayer ? new int[0] : null;
+        }
+        if (own >= 0 && reply >= 0) {
+            return player == rootPlayer ? new int[] {own, reply} : null;
+        }
+        return own >= 0 && player == -rootPlayer ? new int[] {own} : null;
+    }
+
+    private static Node child(Node node, int move) {
+        Node[] children = node.children;
+        if (children != null) {
+            for (Node child : children) {
+                if (child.move == move) {
+                    return child;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Knoten der übernommenen Bäume zählen, damit die Obergrenze wieder stimmt
+    private static long count(Node[] roots) {
+        long count = 0;
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        for (Node root : roots) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            count++;
+            Node[] children = node.children;
+            if (children != null) {
+                for (Node child : children) {
+                    stack.push(child);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void prepareWorkers(GameBoard board) {
+        if (workers.length != threads) {
+            workers = new Worker[threads];
+        }
+        for (int i = 0; i < threads; i++) {
+            if (workers[i] == null) {
+                workers[i] = new Worker(board, seed + i * 0x9E3779B97F4A7C15L);
+            } else {
+                workers[i].reset(board);
+            }
+        }
+        seed = seed * 0x5DEECE66DL + 11;
+    }
+
+    /**
+     * Suchzustand eines Threads: eigene Brettkopie, Puffer für Züge und Pfad, eigener
+     * Zufallsgenerator (xorshift64*).
+     */
+    final class Worker {
+        private GameBoard board;
+        private int[] moves;
+        private int[] played;
+        private Node[] path;
+        private long random;
+        long playouts;
+        int maxDepth;
+
+        Worker(GameBoard board, long seed) {
+            this.random = seed == 0 ? 1 : seed;
+            reset(board);
+        }
+
+        void reset(GameBoard board) {
+            this.board = board.copy();
+            int cells = board.getN() * board.getN();
+            if (moves == null || moves.length < cells) {
+                moves = new int[cells];
+                played = new int[cells];
+                path = new Node[cells + 1];
+            }
+            playouts = 0;
+            maxDepth = 0;
+        }
+
+        // Playouts in Blöcken holen, bis Playout- oder Zeitbudget erschöpft ist
+        void run(Node root, int player, boolean shared, long deadline, long maxPlayouts, AtomicLong issued) {
+            while (true) {
+                long first = issued.getAndAdd(CHUNK);
+                if (maxPlayouts > 0 && first >= maxPlayouts) {
+                    return;
+                }
+                long chunk = maxPlayouts > 0 ? Math.min(CHUNK, maxPlayouts - first) : CHUNK;
+                for (long i = 0; i < chunk; i++) {
+                    iterate(root, player, shared);
+                }
+                playouts += chunk;
+                if (deadline != 0 && System.nanoTime() >= deadline) {
+                    return;
+                }
+            }
+        }
+
+        // Eine Iteration: Abstieg, ggf. Erweiterung, Playout, Rückschreiben
+        void iterate(Node root, int player, boolean shared) {
+            Node node = root;
+            int depth = 0;
+            int toMove = player;
+            int winner;
+            while (true) {
+                Node[] children = node.children;
+                // erst beim zweiten Besuch erweitern; der eigene virtuelle Verlust zählt nicht
+                if (children == null && (node == root || node.visits > (shared ? VIRTUAL_LOSS : 0))) {
+                    children = expand(node, toMove, node == root);
+                }
+                if (children == null) {
+                    winner = playout(toMove);
+                    break;
+                }
+                Node next = select(children, node.visits);
+                if (shared) {
+                    VISITS.getAndAdd(next, VIRTUAL_LOSS);
+                }
+                board.doMove(next.move, toMove);
+                path[++depth] = next;
+                if (board.isGameWon()) {
+                    winner = toMove;
+                    break;
+                }
+                if (board.nFreeFields() == 0) {
+                    winner = 0;
+                    break;
+                }
+                node = next;
+                toMove = -toMove;
+            }
+            maxDepth = Math.max(maxDepth, depth);
+
+            VISITS.getAndAdd(root, 1);
+            for (int i = depth; i >= 1; i--) {
+                Node visited = path[i];
+                board.undoMove(visited.move);
+                VISITS.getAndAdd(visited, shared ? 1 - VIRTUAL_LOSS : 1);
+                REWARD.getAndAdd(visited, (long) (winner == visited.player ? WIN : winner == 0 ? DRAW : 0));
+            }
+        }
+
+        // Alle Züge als Kinder anlegen (nur einmal, auch wenn mehrere Threads gleichzeitig kommen);
+        // die Wurzel wird auch über der Knotengrenze erweitert, damit es einen Zug gibt
+        private Node[] expand(Node node, int toMove, boolean root) {
+            synchronized (node) {
+                Node[] children = node.children;
+                if (children != null) {
+                    return children;
+                }
+                if (!root && treeNodes.get() >= maxTreeNodes) {
+                    return null;
+                }
+                int count = board.fillMoves(moves);
+                children = new Node[count];
+                for (int i = 0; i < count; i++) {
+                    children[i] = new Node(moves[i], toMove);
+                }
+                treeNodes.addAndGet(count);
+                node.children = children;
+                return children;
+            }
+        }
+
+        // UCB1; unbesuchte Kinder zuerst
+        private Node select(Node[] children, int parentVisits) {
+            double logParent = Math.log(Math.max(1, parentVisits));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                int visits = child.visits;
+                if (visits <= 0) {
+                    return child;
+                }
+                double value = child.reward / (2.0 * visits) + exploration * Math.sqrt(logParent / visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Zufällige Partie ab der aktuellen Stellung bis zum Ende; das Brett ist danach
+         * wieder wie vorher. Liefert den Sieger (±1) oder 0 bei Remis.
+         */
+        int playout(int toMove) {
+            int count = board.fillMoves(moves);
+            int depth = 0;
+            int winner = 0;
+            while (count > 0) {
+                int i = nextInt(count);
+                int cell = moves[i];
+                moves[i] = moves[--count];
+                board.doMove(cell, toMove);
+                played[depth++] = cell;
+                if (board.isGameWon()) {
+                    winner = toMove;
+                    break;
+                }
+                toMove = -toMove;
+            }
+            while (depth > 0) {
+                board.undoMove(played[--depth]);
+            }
+            return winner;
+        }
+
+        private int nextInt(int bound) {
+            random ^= random >>> 12;
+            random ^= random << 25;
+            random ^= random >>> 27;
+            return (int) ((((random * 0x2545F4914F6CDD1DL) >>> 32) * bound) >>> 32);
+        }
+    }
+
+    /** Beendet die Threads der parallelen Modi. */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
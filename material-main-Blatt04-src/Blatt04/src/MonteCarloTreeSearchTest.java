@@ -0,0 +1,114 @@
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import com.sun.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Die Baumsuche muss in klaren Stellungen den richtigen Zug finden (in allen Modi),
+ * den Baum zwischen zwei Zügen weiterverwenden und beim Playout nichts allokieren.
+ */
+public class MonteCarloTreeSearchTest {
+
+	private static Board board(int n, int k, int[] cells, int[] players) {
+		Board b = new Board(n, k);
+		for (int i = 0; i < cells.length; i++) {
+			b.doMove(cells[i], players[i]);
+		}
+		return b;
+	}
+
+	@Test
+	public void testFindsWinAndBlockInAllModes() {
+		for (MonteCarloTreeSearch.Mode mode : MonteCarloTreeSearch.Mode.values()) {
+			try (MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(mode, mode == MonteCarloTreeSearch.Mode.SERIAL ? 1 : 2)) {
+				mcts.setSeed(1);
+				// x: (0,0), (1,0); o: (0,1), (1,1) → x gewinnt mit (2,0)
+				Board win = board(3, 3, new int[] {0, 1, 3, 4}, new int[] {1, -1, 1, -1});
+				SearchResult result = mcts.search(win, 1, SearchBudget.ofNodes(5000));
+				assertEquals(mode + " gewinnt", new Position(2, 0), result.getBestMove());
+				assertFalse(result.isSolved());
+
+				// o droht mit (0,0), (0,1) auf (0,2); x muss dort blocken
+				Board block = board(3, 3, new int[] {0, 4, 1}, new int[] {-1, 1, -1});
+				mcts.reset();
+				result = mcts.search(block, 1, SearchBudget.ofNodes(20000));
+				assertEquals(mode + " blockt", new Position(0, 2), result.getBestMove());
+			}
+		}
+	}
+
+	@Test
+	public void testLargeBoardBudgets() {
+		for (MonteCarloTreeSearch.Mode mode : MonteCarloTreeSearch.Mode.values()) {
+			try (MonteCarloTreeSearch mcts = new MonteCarloTreeSearch(mode, mode == MonteCarloTreeSearch.Mode.SERIAL ? 1 : 2)) {
+				Board b = new Board(10, 5);
+				b.doMove(new Position(4, 4), 1);
+				b.doMove(new Position(5, 5), -1);
+				long hash = b.getHash();
+
+				// Playout-Budget wird auch parallel genau eingehalten
+				SearchResult result = mcts.search(b, 1, SearchBudget.ofNodes(3000));
+				assertEquals(mode.toString(), 3000, mcts.getLastPlayouts());
+				assertEquals(3000, result.getNodes());
+
+				// Zeitbudget: nicht vor Ablauf zurück, danach höchstens ein Block von 64 Playouts
+				// pro Worker (auf 10×10 wenige ms); 250 ms Überzug lassen einem ausgelasteten
+				// Rechner Reserve für viele Blöcke, ein ignoriertes Budget fiele trotzdem auf
+				long start = System.nanoTime();
+				result = mcts.search(b, 1, SearchBudget.ofMillis(50));
+				long millis = (System.nanoTime() - start) / 1_000_000;
+				assertTrue(mode + ": " + millis + " ms", millis >= 50);
+				assertTrue(mode + ": " + (millis - 50) + " ms über dem Budget", millis - 50 < 250);
+				assertNotNull(result.getBestMove());
+				assertEquals(0, b.getField(result.getBestMove()));
+				assertTrue(result.getNodes() > 0);
+				assertEquals(mcts.getLastPlayouts(), result.getNodes());
+				assertEquals("Brett unverändert", hash, b.getHash());
+			}
+		}
+	}
+
+	@Test
+	public void testTreeReuseAndDecidedPositions() {
+		MonteCarloTreeSearch mcts = new MonteCarloTreeSearch();
+		mcts.setSeed(7);
+		Board b = new Board(5, 4);
+		SearchResult first = mcts.search(b, 1, SearchBudget.ofNodes(20000));
+		assertEquals(0, mcts.getReusedVisits());
+
+		// eigener Zug und Antwort: der Teilbaum darunter wird übernommen
+		b.doMove(first.getBestMove(), 1);
+		b.doMove(first.getBestMove().x == 0 ? new Position(4, 4) : new Position(0, 0), -1);
+		mcts.search(b, 1, SearchBudget.ofNodes(1000));
+		assertTrue(mcts.getReusedVisits() > 0);
+
+		// fremde Stellung: neuer Baum
+		mcts.search(new Board(5, 4), -1, SearchBudget.ofNodes(1000));
+		assertEquals(0, mcts.getReusedVisits());
+
+		Board won = board(3, 3, new int[] {0, 1, 2}, new int[] {1, 1, 1});
+		SearchResult decided = mcts.search(won, -1, SearchBudget.ofNodes(1000));
+		assertNull(decided.getBestMove());
+		assertTrue(decided.isSolved());
+		assertEquals(TicTacToe.alphaBeta(won, -1), decided.getScore());
+	}
+
+	@Test
+	public void testPlayoutsDoNotAllocate() {
+		ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+		bean.setThreadAllocatedMemoryEnabled(true);
+
+		// Baum klein halten: danach wird nur noch gespielt, nicht mehr erweitert
+		MonteCarloTreeSearch mcts = new MonteCarloTreeSearch();
+		mcts.setMaxTreeNodes(64);
+		Board b = new Board(7);
+		mcts.search(b, 1, SearchBudget.ofNodes(20000));
+
+		long before = bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		mcts.search(b, 1, SearchBudget.ofNodes(20000));
+		long allocated = bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+		assertTrue("20000 Playouts haben " + allocated + " Bytes allokiert", allocated < 16 * 1024);
+	}
+}
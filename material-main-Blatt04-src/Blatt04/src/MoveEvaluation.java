@@ -0,0 +1,83 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ergebnis von {@link TicTacToe#evaluatePossibleMoves(GameBoard, int)}: bester Zug,
+ * Bewertung jedes Wurzelzugs und die Hauptvariante (erwartete Zugfolge bei beiderseits
+ * optimalem Spiel). Alle Werte in der Kodierung von {@link TicTacToe#alphaBeta(GameBoard, int)}.
+ */
+public final class MoveEvaluation {
+
+    /**
+     * Bewertung eines einzelnen Zugs. Alpha-Beta beweist für schlechtere Züge nur, dass
+     * sie nicht besser als der beste sind; ihr Wert ist dann eine obere Schranke.
+     */
+    public static final class MoveScore {
+        private final Position move;
+        private final int score;
+        private final boolean exact;
+
+        MoveScore(Position move, int score, boolean exact) {
+            this.move = move;
+            this.score = score;
+            this.exact = exact;
+        }
+
+        public Position getMove() {
+            return move;
+        }
+
+        /** Wert des Zugs aus Sicht des ziehenden Spielers (exakt oder obere Schranke). */
+        public int getScore() {
+            return score;
+        }
+
+        /** false: der tatsächliche Wert ist ≤ {@link #getScore()}. */
+        public boolean isExact() {
+            return exact;
+        }
+
+        @Override
+        public String toString() {
+            return move + "=" + (exact ? "" : "≤") + score;
+        }
+    }
+
+    private final Position bestMove;
+    private final int score;
+    private final List<MoveScore> moveScores;
+    private final List<Position> principalVariation;
+
+    MoveEvaluation(Position bestMove, int score, List<MoveScore> moveScores, List<Position> principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.moveScores = Collections.unmodifiableList(moveScores);
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+    }
+
+    /** Bester Zug, {@code null} wenn die Partie schon entschieden ist. */
+    public Position getBestMove() {
+        return bestMove;
+    }
+
+    /** Wert der Stellung, identisch mit alphaBeta(board, player). */
+    public int getScore() {
+        return score;
+    }
+
+    /** Ein Eintrag pro freiem Feld, in x-major-Reihenfolge. */
+    public List<MoveScore> getMoveScores() {
+        return moveScores;
+    }
+
+    /** Hauptvariante ab dem besten Zug, abwechselnd für player und Gegner. */
+    public List<Position> getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        return "MoveEvaluation(best=" + bestMove + ", score=" + score + ", pv=" + principalVariation
+                + ", moves=" + moveScores + ")";
+    }
+}
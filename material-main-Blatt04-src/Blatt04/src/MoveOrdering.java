@@ -0,0 +1,38 @@
+/**
+ * Legt fest, in welcher Reihenfolge die Suche die Züge eines Knotens probiert.
+ * Alpha-Beta schneidet umso mehr ab, je früher der beste Zug kommt; die
+ * Bewertung ändert sich durch die Reihenfolge nicht.
+ *
+ * Implementierungen dürfen Zustand über die Suche hinweg halten (Killer-Züge,
+ * History) und sind dann wie {@link SearchContext} nicht threadsicher.
+ */
+public interface MoveOrdering {
+
+    /** Keine Umsortierung: x-major wie {@link GameBoard#fillMoves(int[])}. */
+    MoveOrdering NONE = new MoveOrdering() {
+        @Override
+        public void order(GameBoard board, int player, int[] moves, int count, int hashMove, int ply) {
+        }
+
+        @Override
+        public void cutoff(int move, int player, int depth, int ply) {
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    /**
+     * Sortiert moves[0..count) in Suchreihenfolge. Darf nichts allokieren.
+     * @param hashMove Zug aus der Transpositionstabelle bzw. Hauptvariante oder −1
+     * @param ply      Abstand zur Wurzel
+     */
+    void order(GameBoard board, int player, int[] moves, int count, int hashMove, int ply);
+
+    /** Meldet, dass move bei Resttiefe depth einen Beta-Schnitt ausgelöst hat. */
+    void cutoff(int move, int player, int depth, int ply);
+
+    /** Vergisst gelernten Zustand, z.B. vor einer Suche in einer ganz anderen Partie. */
+    void reset();
+}
@@ -0,0 +1,43 @@
+/**
+ * Vergleicht die Anzahl besuchter Knoten mit und ohne Zugsortierung auf den
+ * Stellungen aus TicTacToeTest (plus zwei 4×4-Mittelspielen).
+ *
+ * Aufruf: {@code java MoveOrderingReport}
+ */
+public class MoveOrderingReport {
+
+    public static void main(String[] args) {
+        System.out.printf("%-24s %12s %12s %8s%n", "Stellung", "ohne", "mit", "Faktor");
+        report("1x1 leer", new Board(1), 1);
+        report("2x2 leer", new Board(2), 1);
+        report("3x3 leer", new Board(3), 1);
+        report("3x3 x gewinnt sofort", board(3, new int[] {0, 3, 4}, new int[] {1, 1, -1}), 1);
+        report("3x3 o gewinnt sofort", board(3, new int[] {0, 3, 4}, new int[] {-1, -1, 1}), -1);
+        report("3x3 x muss blocken", board(3, new int[] {0, 3, 4}, new int[] {-1, -1, 1}), 1);
+        report("4x4 leer", new Board(4), 1);
+        report("4x4 Mittelspiel a", board(4, new int[] {0, 5, 3, 10}, new int[] {1, -1, 1, -1}), 1);
+        report("4x4 Mittelspiel b", board(4, new int[] {5, 6, 9, 10, 0, 15}, new int[] {1, -1, 1, -1, 1, -1}), 1);
+    }
+
+    private static Board board(int n, int[] cells, int[] players) {
+        Board b = new Board(n);
+        for (int i = 0; i < cells.length; i++) {
+            b.doMove(cells[i], players[i]);
+        }
+        return b;
+    }
+
+    private static void report(String name, Board board, int player) {
+        SearchContext plain = new SearchContext();
+        plain.setMoveOrdering(MoveOrdering.NONE);
+        int v1 = TicTacToe.alphaBeta(board, player, plain);
+
+        SearchContext ordered = new SearchContext();
+        int v2 = TicTacToe.alphaBeta(board, player, ordered);
+        if (v1 != v2) {
+            throw new IllegalStateException(name + ": " + v1 + " != " + v2);
+        }
+        System.out.printf("%-24s %12d %12d %8.1f%n", name, plain.getNodes(), ordered.getNodes(),
+                (double) plain.getNodes() / Math.max(1, ordered.getNodes()));
+    }
+}
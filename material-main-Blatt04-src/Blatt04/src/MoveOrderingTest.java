@@ -0,0 +1,82 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * JUnit-Tests für die Zugsortierung: sie darf nur die Reihenfolge ändern, nicht die
+ * Bewertung, und muss die dokumentierte Priorität einhalten.
+ */
+public class MoveOrderingTest {
+
+	private static Board board(int n, int[][] stones) {
+		Board b = new Board(n);
+		for (int[] s : stones) {
+			b.doMove(new Position(s[0], s[1]), s[2]);
+		}
+		return b;
+	}
+
+	private static SearchContext context(MoveOrdering ordering) {
+		SearchContext ctx = new SearchContext();
+		ctx.setMoveOrdering(ordering);
+		return ctx;
+	}
+
+	@Test
+	public void testSameValuesAsUnordered() {
+		// Stellungen aus TicTacToeTest: Name, Steine {x, y, Spieler}, Spieler am Zug
+		Object[][] cases = {
+				{"1x1 leer", board(1, new int[0][]), 1},
+				{"2x2 leer", board(2, new int[0][]), 1},
+				{"3x3 leer", board(3, new int[0][]), 1},
+				{"3x3 x gewinnt sofort", board(3, new int[][] {{0, 0, 1}, {1, 0, 1}, {1, 1, -1}}), 1},
+				{"3x3 o gewinnt sofort", board(3, new int[][] {{0, 0, -1}, {1, 0, -1}, {1, 1, 1}}), -1},
+				{"3x3 x muss blocken", board(3, new int[][] {{0, 0, -1}, {1, 0, -1}, {1, 1, 1}}), 1},
+				{"4x4 x(0,0) o(1,1)", board(4, new int[][] {{0, 0, 1}, {1, 1, -1}}), 1},
+				{"3x3 k=2", new Board(3, 2), 1},
+				{"4x4 k=3", new Board(4, 3), 1},
+				{"4x4 k=3, o beginnt", new Board(4, 3), -1},
+		};
+		for (Object[] c : cases) {
+			Board b = (Board) c[1];
+			int player = (Integer) c[2];
+			int unordered = TicTacToe.alphaBeta(b, player, context(MoveOrdering.NONE));
+			int ordered = TicTacToe.alphaBeta(b, player, context(new HeuristicMoveOrdering()));
+			assertEquals((String) c[0], unordered, ordered);
+		}
+	}
+
+	@Test
+	public void testPriority() {
+		// x x x .      x gewinnt auf 3, o droht auf 15
+		// . . . .
+		// . . . .
+		// o o o .
+		Board b = board(4, new int[][] {{0, 0, 1}, {0, 1, 1}, {0, 2, 1}, {3, 0, -1}, {3, 1, -1}, {3, 2, -1}});
+		HeuristicMoveOrdering ordering = new HeuristicMoveOrdering();
+		// Killer auf Ply 0: 6 zuletzt, davor 4; History für 10 und 11 auf einem anderen Ply
+		ordering.cutoff(4, 1, 1, 0);
+		ordering.cutoff(6, 1, 1, 0);
+		ordering.cutoff(10, 1, 10, 3);
+		ordering.cutoff(11, 1, 5, 3);
+		int[] moves = new int[10];
+		int count = b.fillMoves(moves);
+		assertEquals(10, count);
+		ordering.order(b, 1, moves, count, 9, 0);
+		assertEquals("Hash-Zug", 9, moves[0]);
+		assertEquals("Gewinn", 3, moves[1]);
+		assertEquals("Block", 15, moves[2]);
+		assertEquals("Killer 1", 6, moves[3]);
+		assertEquals("Killer 2", 4, moves[4]);
+		// statisch: Diagonalfelder 10 und 5 vor den Randfeldern 11, 7, 8, History bricht Gleichstände
+		assertArrayEquals(new int[] {9, 3, 15, 6, 4, 10, 5, 11, 7, 8}, moves);
+	}
+
+	@Test
+	public void testFewerNodesThanUnordered() {
+		Board b = board(4, new int[][] {{0, 0, 1}, {1, 1, -1}});
+		SearchContext unordered = context(MoveOrdering.NONE);
+		SearchContext ordered = context(new HeuristicMoveOrdering());
+		assertEquals(TicTacToe.alphaBeta(b, 1, unordered), TicTacToe.alphaBeta(b, 1, ordered));
+		assertTrue(ordered.getNodes() + " >= " + unordered.getNodes(), ordered.getNodes() < unordered.getNodes());
+	}
+}
@@ -0,0 +1,171 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Eröffnungsbuch: exakte Werte aller Stellungen bis zu einer festen Anzahl Steine,
+ * offline erzeugt mit {@link #generate} und zur Laufzeit per {@link #open} in den
+ * Speicher gemappt. Die Suche fragt das Buch über {@link SearchContext#setOpeningBook}
+ * vor der Transpositionstabelle.
+ *
+ * Dateiformat (big endian): Kopf aus MAGIC, n, plies und Anzahl Einträge (je int),
+ * danach die Einträge nach Schlüssel aufsteigend sortiert, je 8 Byte Schlüssel
+ * ({@link Zobrist#key} des kanonischen Hashs) und 4 Byte Wert (wie von
+ * {@link TicTacToe#alphaBeta(GameBoard, int)}). Beim Öffnen wird nichts eingelesen;
+ * jede Abfrage ist eine binäre Suche direkt im gemappten Puffer.
+ */
+public final class OpeningBook {
+
+    /** Rückgabe von {@link #lookup}, wenn die Stellung nicht im Buch steht. */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int MAGIC = 0x54545442;   // "TTTB"
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 12;
+
+    private final MappedByteBuffer buffer;
+    private final int n;
+    private final int plies;
+    private final int size;
+
+    private OpeningBook(MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Keine Eröffnungsbuch-Datei.");
+        }
+        this.buffer = buffer;
+        this.n = buffer.getInt(4);
+        this.plies = buffer.getInt(8);
+        this.size = buffer.getInt(12);
+        if ((long) HEADER_BYTES + (long) size * ENTRY_BYTES != buffer.capacity()) {
+            throw new IllegalArgumentException("Eröffnungsbuch unvollständig: " + size + " Einträge erwartet.");
+        }
+    }
+
+    /**
+     * Mappt eine mit {@link #generate} erzeugte Datei (nur lesend). Der Puffer bleibt
+     * gültig, auch nachdem der Kanal geschlossen ist.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Brettgröße, für die das Buch erzeugt wurde. */
+    public int getN() {
+        return n;
+    }
+
+    /** Stellungen mit höchstens so vielen Steinen stehen im Buch. */
+    public int getPlies() {
+        return plies;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Wert der Stellung aus Sicht des Spielers am Zug oder {@link #MISSING}.
+     * @param key {@link Zobrist#key} aus kanonischem Hash und Spieler am Zug
+     */
+    public int lookup(long key) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int offset = HEADER_BYTES + mid * ENTRY_BYTES;
+            long k = buffer.getLong(offset);
+            if (k < key) {
+                lo = mid + 1;
+            } else if (k > key) {
+                hi = mid - 1;
+            } else {
+                return buffer.getInt(offset + 8);
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Löst alle bis auf Symmetrie verschiedenen, noch offenen Stellungen mit höchstens
+     * plies Steinen (x oder o beginnt) und schreibt sie nach file.
+     *
+     * @return Anzahl der geschriebenen Einträge
+     */
+    public static int generate(int n, int plies, Path file) throws IOException {
+        if (plies < 0 || plies > n * n) {
+            throw new IllegalArgumentException("plies muss zwischen 0 und " + n * n + " liegen: " + plies);
+        }
+        Map<Long, Integer> values = new HashMap<>();
+        SearchContext ctx = new SearchContext();
+        Board board = new Board(n);
+        collect(board, 1, plies, ctx, values);
+        collect(board, -1, plies, ctx, values);
+
+        long[] keys = new long[values.size()];
+        int i = 0;
+        for (long key : values.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + keys.length * ENTRY_BYTES);
+        out.putInt(MAGIC).putInt(n).putInt(plies).putInt(keys.length);
+        for (long key : keys) {
+            out.putLong(key).putInt(values.get(key));
+        }
+        out.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        return keys.length;
+    }
+
+    // Tiefensuche über alle Züge; jede neue kanonische Stellung wird exakt gelöst
+    private static void collect(Board board, int player, int plies, SearchContext ctx, Map<Long, Integer> values) {
+        if (board.isGameWon() || board.nFreeFields() == 0) {
+            return;
+        }
+        long key = Zobrist.key(board.getCanonicalHash(), player);
+        if (values.containsKey(key)) {
+            return;
+        }
+        values.put(key, TicTacToe.alphaBeta(board, player, ctx));
+        if (plies == 0) {
+            return;
+        }
+        int[] moves = new int[board.nFreeFields()];
+        int count = board.fillMoves(moves);
+        for (int i = 0; i < count; i++) {
+            board.doMove(moves[i], player);
+            collect(board, -player, plies - 1, ctx, values);
+            board.undoMove(moves[i]);
+        }
+    }
+
+    /**
+     * Erzeugt ein Buch.
+     * Aufruf: {@code java OpeningBook <n> <plies> <datei>}, z.B. {@code java OpeningBook 4 4 book4.bin}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Aufruf: java OpeningBook <n> <plies> <datei>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        int count = generate(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Paths.get(args[2]));
+        System.out.printf("%d Stellungen in %.1f s, %d Byte%n", count, (System.nanoTime() - start) / 1e9,
+                Files.size(Paths.get(args[2])));
+    }
+}
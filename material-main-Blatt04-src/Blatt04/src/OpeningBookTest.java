@@ -0,0 +1,62 @@
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+/**
+ * JUnit-Tests für das gemappte Eröffnungsbuch.
+ */
+public class OpeningBookTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testBookValuesMatchSearch() throws Exception {
+		Path file = folder.newFile("book3.bin").toPath();
+		int count = OpeningBook.generate(3, 2, file);
+		OpeningBook book = OpeningBook.open(file);
+		assertEquals(count, book.size());
+		assertEquals(3, book.getN());
+		assertEquals(2, book.getPlies());
+
+		Board b = new Board(3);
+		assertEquals(0, book.lookup(Zobrist.key(b.getCanonicalHash(), 1)));
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(0, 1), -1);
+		assertEquals(TicTacToe.alphaBeta(b, 1), book.lookup(Zobrist.key(b.getCanonicalHash(), 1)));
+		// gleiche Stellung gespiegelt
+		Board mirrored = new Board(3);
+		mirrored.doMove(new Position(0, 0), 1);
+		mirrored.doMove(new Position(1, 0), -1);
+		assertEquals(TicTacToe.alphaBeta(b, 1), book.lookup(Zobrist.key(mirrored.getCanonicalHash(), 1)));
+		// drei Steine liegen außerhalb des Buchs
+		b.doMove(new Position(1, 1), 1);
+		assertEquals(OpeningBook.MISSING, book.lookup(Zobrist.key(b.getCanonicalHash(), -1)));
+	}
+
+	@Test
+	public void testSearchUsesBook() throws Exception {
+		Path file = folder.newFile("book4.bin").toPath();
+		OpeningBook.generate(4, 1, file);
+		SearchContext ctx = new SearchContext();
+		ctx.setOpeningBook(OpeningBook.open(file));
+		ctx.enableStatistics(null);
+		assertEquals(0, TicTacToe.alphaBeta(new Board(4), 1, ctx));
+		assertEquals("Wurzel direkt aus dem Buch", 1, ctx.getNodes());
+		assertEquals(1, ctx.getStatistics().getLastReport().getOpeningBookHits());
+
+		// andere Brettgröße: Buch wird ignoriert
+		assertEquals(0, TicTacToe.alphaBeta(new Board(3), -1, ctx));
+		assertTrue(ctx.getNodes() > 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRejectsForeignFile() throws Exception {
+		Path file = folder.newFile("foreign.bin").toPath();
+		java.nio.file.Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+		OpeningBook.open(file);
+	}
+}
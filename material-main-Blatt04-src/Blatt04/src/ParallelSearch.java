@@ -0,0 +1,248 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallele Alpha-Beta-Suche nach dem "Young Brothers Wait"-Schema auf einem
+ * {@link ForkJoinPool}.
+ *
+ * In den obersten {@code splitPlies} Ebenen wird an jedem Knoten zuerst der älteste
+ * Bruder (erster Zug) seriell durchsucht; sein Wert setzt alpha. Danach werden die
+ * übrigen Züge als eigene Aufgaben mit je einer eigenen Brettkopie parallel gestartet.
+ * Alpha eines Knotens liegt in einem {@link AtomicInteger}, den alle Kinder vor jedem
+ * Zug lesen; sobald ein Kind einen Beta-Schnitt auslöst, brechen die Geschwister ab:
+ * noch nicht gestartete prüfen den Schnitt vor dem Start, laufende serielle Suchen
+ * darunter werden über {@link SearchContext#cancel()} gestoppt und ihre Werte verworfen.
+ * Unterhalb der Split-Ebenen läuft die normale serielle Suche aus {@link TicTacToe}
+ * mit einem eigenen, abbrechbaren Suchkontext pro Blatt-Aufgabe (die Zugsortierung
+ * mit Killer- und History-Tabellen bleibt pro Worker-Thread erhalten); alle Kontexte
+ * teilen sich eine sperrfreie {@link TranspositionTable}, sodass jeder Thread die
+ * Ergebnisse der anderen wiederverwendet.
+ *
+ * Das Ergebnis ist der exakte Negamax-Wert, also identisch mit
+ * {@link TicTacToe#alphaBeta(GameBoard, int)}.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+    /** So viele Ebenen unter der Wurzel werden parallel aufgeteilt. */
+    public static final int DEFAULT_SPLIT_PLIES = 3;
+
+    /** Knoten mit weniger freien Feldern lohnen keine eigene Aufgabe. */
+    private static final int MIN_FREE_FOR_SPLIT = 6;
+
+    private final ForkJoinPool pool;
+    private final int splitPlies;
+    private final TranspositionTable tt;
+    private final ThreadLocal<MoveOrdering> orderings = ThreadLocal.withInitial(HeuristicMoveOrdering::new);
+
+    public ParallelSearch(int parallelism) {
+        this(parallelism, DEFAULT_SPLIT_PLIES);
+    }
+
+    /**
+     * @param parallelism Anzahl Worker-Threads
+     * @param splitPlies  Anzahl Ebenen, auf denen Geschwister parallel durchsucht werden
+     */
+    public ParallelSearch(int parallelism, int splitPlies) {
+        this(parallelism, splitPlies, new TranspositionTable());
+    }
+
+    /**
+     * @param parallelism Anzahl Worker-Threads
+     * @param splitPlies  Anzahl Ebenen, auf denen Geschwister parallel durchsucht werden
+     * @param tt          gemeinsame Transpositionstabelle aller Worker (auch mit anderen Suchen teilbar)
+     */
+    public ParallelSearch(int parallelism, int splitPlies, TranspositionTable tt) {
+        if (tt == null) {
+            throw new IllegalArgumentException("Transpositionstabelle fehlt.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Mindestens ein Thread nötig: " + parallelism);
+        }
+        if (splitPlies < 0) {
+            throw new IllegalArgumentException("splitPlies darf nicht negativ sein: " + splitPlies);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.splitPlies = splitPlies;
+        this.tt = tt;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return tt;
+    }
+
+    /**
+     * Bewertung wie {@link TicTacToe#alphaBeta(GameBoard, int)}; board wird nicht verändert.
+     */
+    public int alphaBeta(GameBoard board, int player) {
+        SearchTask root = new SearchTask(null, board.copy(), player, -TicTacToe.INF, TicTacToe.INF, 0);
+        return pool.invoke(root) / TicTacToe.SCORE_SCALE;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Ein Knoten der parallelen Suche mit eigener Brettkopie.
+     */
+    private final class SearchTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final SearchTask parent;
+        private final GameBoard board;
+        private final int player;
+        private final int ply;
+        private final AtomicInteger alpha;      // wird von den Kindern gelesen
+        private volatile int beta;
+        private volatile boolean cutoff;        // Beta-Schnitt: laufende Kinder sollen aufhören
+        private boolean aborted;                // Ergebnis unbrauchbar, weil ein Vorfahr geschnitten hat
+        private volatile SearchTask[] children; // gerade laufende Kinder, für den Abbruch
+        private volatile SearchContext leaf;    // Kontext der laufenden seriellen Suche (Blatt-Aufgabe)
+
+        SearchTask(SearchTask parent, GameBoard board, int player, int alpha, int beta, int ply) {
+            this.parent = parent;
+            this.board = board;
+            this.player = player;
+            this.alpha = new AtomicInteger(alpha);
+            this.beta = beta;
+            this.ply = ply;
+        }
+
+        // Hat irgendein Vorfahr inzwischen einen Schnitt gefunden?
+        private boolean ancestorCut() {
+            for (SearchTask t = parent; t != null; t = t.parent) {
+                if (t.cutoff) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Fenster mit dem aktuellen alpha des Elternknotens verengen (beta = −alpha_parent)
+        private void refreshWindow() {
+            if (parent != null) {
+                beta = Math.min(beta, -parent.alpha.get());
+            }
+        }
+
+        @Override
+        protected Integer compute() {
+            int value = search();
+            if (!aborted && parent != null) {
+                parent.report(-value);
+            }
+            return value;
+        }
+
+        // Ergebnis eines Kindes (aus Sicht dieses Knotens): alpha teilen, ggf. Geschwister stoppen
+        private void report(int score) {
+            if (alpha.accumulateAndGet(score, Math::max) >= beta) {
+                cutoff = true;
+                cancelBelow();
+            }
+        }
+
+        // Laufende serielle Suchen im Teilbaum abbrechen. Ein Blatt, das erst danach startet,
+        // sieht den Schnitt in ancestorCut(): beide Seiten schreiben erst und lesen dann volatile.
+        private void cancelBelow() {
+            SearchTask[] running = children;
+            if (running == null) {
+                return;
+            }
+            for (SearchTask child : running) {
+                SearchContext ctx = child.leaf;
+                if (ctx != null) {
+                    ctx.cancel();
+                }
+                child.cancelBelow();
+            }
+        }
+
+        private int search() {
+            if (board.isGameWon()) {
+                return -(board.nFreeFields() + 1) * TicTacToe.SCORE_SCALE;
+            }
+            if (board.nFreeFields() == 0) {
+                return 0;
+            }
+            if (ancestorCut()) {
+                aborted = true;
+                return 0;
+            }
+            refreshWindow();
+            if (ply >= splitPlies || board.nFreeFields() < MIN_FREE_FOR_SPLIT) {
+                return searchLeaf();
+            }
+
+            int[] moves = new int[board.nFreeFields()];
+            int count = board.fillMoves(moves);
+
+            // ältester Bruder seriell, auf dem eigenen Brett
+            board.doMove(moves[0], player);
+            SearchTask eldest = new SearchTask(this, board, -player, -beta, -alpha.get(), ply + 1);
+            children = new SearchTask[] {eldest};
+            int best = -eldest.compute();
+            board.undoMove(moves[0]);
+            if (eldest.aborted || ancestorCut()) {
+                aborted = true;
+                return best;
+            }
+            if (best >= beta) {
+                return best;
+            }
+
+            // jüngere Brüder parallel, jeder mit eigener Kopie
+            SearchTask[] younger = new SearchTask[count - 1];
+            for (int i = 1; i < count; i++) {
+                GameBoard child = board.copy();
+                child.doMove(moves[i], player);
+                younger[i - 1] = new SearchTask(this, child, -player, -beta, -alpha.get(), ply + 1);
+            }
+            children = younger;
+            invokeAll(younger);
+            for (SearchTask task : younger) {
+                int score = -task.join();
+                if (!task.aborted && score > best) {
+                    best = score;
+                }
+            }
+            if (ancestorCut()) {
+                aborted = true;
+            }
+            return best;
+        }
+
+        // Serielle Suche mit eigenem Kontext, den ein Schnitt weiter oben abbrechen kann
+        private int searchLeaf() {
+            SearchContext ctx = new SearchContext(tt);
+            ctx.setMoveOrdering(orderings.get());
+            ctx.ensureCapacity(board.getN() * board.getN());
+            ctx.begin(SearchBudget.UNLIMITED);
+            leaf = ctx;
+            try {
+                if (ancestorCut()) {
+                    aborted = true;
+                    return 0;
+                }
+                int value = TicTacToe.alphaBetaHelper(board, player, alpha.get(), beta, board.nFreeFields(), ctx, 0);
+                if (ctx.isStopped()) {
+                    aborted = true;   // abgebrochen, Wert bedeutungslos
+                }
+                return value;
+            } finally {
+                leaf = null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "SearchTask(ply=" + ply + ", player=" + player + ")";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+
+import static org.junit.Assert.*;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import java.util.Random;
+
+/**
+ * Die parallele Suche muss auf allen Szenarien aus TicTacToeTest denselben Wert
+ * wie die serielle alphaBeta() liefern – bei jeder Thread-Anzahl.
+ */
+public class ParallelSearchTest {
+
+	private static final int[] THREADS = {1, 2, 4};
+	private static ParallelSearch[] searches;
+
+	@BeforeClass
+	public static void startPools() {
+		searches = new ParallelSearch[THREADS.length];
+		for (int i = 0; i < THREADS.length; i++) {
+			searches[i] = new ParallelSearch(THREADS[i]);
+		}
+	}
+
+	@AfterClass
+	public static void stopPools() {
+		for (ParallelSearch s : searches) {
+			s.close();
+		}
+	}
+
+	private static void assertSameAsSerial(Board b, int player) {
+		int expected = TicTacToe.alphaBeta(b.copy(), player);
+		for (ParallelSearch s : searches) {
+			assertEquals("Threads: " + s.getParallelism(), expected, s.alphaBeta(b, player));
+		}
+	}
+
+	@Test
+	public void testEmptyBoards() {
+		for (int n = 1; n <= 4; n++) {
+			assertSameAsSerial(new Board(n), 1);
+		}
+	}
+
+	@Test
+	public void testImmediateWinAndBlock() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		assertSameAsSerial(b, 1);
+
+		Board o = new Board(3);
+		o.doMove(new Position(0, 0), -1);
+		o.doMove(new Position(1, 0), -1);
+		o.doMove(new Position(1, 1), 1);
+		assertSameAsSerial(o, -1);
+		assertSameAsSerial(o, 1);
+	}
+
+	@Test
+	public void testFullDrawBoard() {
+		Board b = new Board(3);
+		int[] tokens = {1, -1, 1, 1, -1, -1, -1, 1, 1};
+		for (int i = 0; i < 9; i++) {
+			b.setField(new Position(i % 3, i / 3), tokens[i]);
+		}
+		assertSameAsSerial(b, 1);
+	}
+
+	@Test
+	public void testRandom4x4Midgames() {
+		Random rnd = new Random(7);
+		for (int round = 0; round < 10; round++) {
+			Board b = PositionTestSupport.randomPosition(4, 3 + rnd.nextInt(4), rnd);
+			assertSameAsSerial(b, PositionTestSupport.playerToMove(b));
+		}
+	}
+}
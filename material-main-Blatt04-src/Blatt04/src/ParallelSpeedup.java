@@ -0,0 +1,49 @@
+/**
+ * Misst die Beschleunigung von {@link ParallelSearch} gegenüber der seriellen
+ * {@link TicTacToe#alphaBeta(GameBoard, int)} bei 1, 2, 4, 8 und N (= alle Kerne) Threads.
+ *
+ * Aufruf: {@code java ParallelSpeedup [wiederholungen]}
+ */
+public class ParallelSpeedup {
+
+    public static void main(String[] args) {
+        int repetitions = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int[] threads = {1, 2, 4, 8, cores};
+
+        Board empty = new Board(4);
+        Board midgame = new Board(4);
+        midgame.doMove(new Position(0, 0), 1);
+        midgame.doMove(new Position(1, 2), -1);
+
+        report("4x4 leer", empty, threads, repetitions);
+        report("4x4 nach 2 Zügen", midgame, threads, repetitions);
+    }
+
+    private static void report(String name, Board board, int[] threads, int repetitions) {
+        long serial = Long.MAX_VALUE;
+        int expected = 0;
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            expected = TicTacToe.alphaBeta(board.copy(), 1);
+            serial = Math.min(serial, System.nanoTime() - start);
+        }
+        System.out.printf("%s: seriell %.1f ms (Wert %d)%n", name, serial / 1e6, expected);
+
+        for (int t : threads) {
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < repetitions; r++) {
+                // frische Pools, damit die Transpositionstabellen leer starten wie seriell
+                try (ParallelSearch search = new ParallelSearch(t)) {
+                    long start = System.nanoTime();
+                    int value = search.alphaBeta(board, 1);
+                    best = Math.min(best, System.nanoTime() - start);
+                    if (value != expected) {
+                        throw new IllegalStateException("Parallel " + value + " != seriell " + expected);
+                    }
+                }
+            }
+            System.out.printf("  %2d Threads: %8.1f ms  Speedup %.2f%n", t, best / 1e6, (double) serial / best);
+        }
+    }
+}
@@ -1,15 +1,41 @@
 /**
  *  Class to describe a (Board-)position with x- and y-coordinate.
+ *  Immutable; use {@link #of(int, int)} to get the shared instance for a cell.
  */
 public class Position {
-    int x;
-    int y;
+    /** Largest board size whose cells are cached. */
+    private static final int MAX_N = 10;
+
+    // CACHE[x * MAX_N + y]: one shared instance per cell of a 10x10 board (smaller boards use a corner)
+    private static final Position[] CACHE = new Position[MAX_N * MAX_N];
+
+    static {
+        for (int x = 0; x < MAX_N; x++) {
+            for (int y = 0; y < MAX_N; y++) {
+                CACHE[x * MAX_N + y] = new Position(x, y);
+            }
+        }
+    }
+
+    final int x;
+    final int y;
 
     public Position(int x, int y) {
         this.x = x;
         this.y = y;
     }
 
+    /**
+     * Shared instance for (x, y) if 0 ≤ x, y &lt; 10, otherwise a new one
+     * (e.g. for positions outside the board that are passed in to be rejected).
+     */
+    public static Position of(int x, int y) {
+        if (x >= 0 && x < MAX_N && y >= 0 && y < MAX_N) {
+            return CACHE[x * MAX_N + y];
+        }
+        return new Position(x, y);
+    }
+
     public String toString()
     {
         return "(" + x + ", " + y + ")";
@@ -23,5 +49,9 @@ public class Position {
         return x == position.x &&
                 y == position.y;
     }
-}
 
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+}
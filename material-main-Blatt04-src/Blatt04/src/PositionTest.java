@@ -0,0 +1,41 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JUnit-Tests für Position: equals/hashCode und geteilte Instanzen.
+ */
+public class PositionTest {
+
+	@Test
+	public void testHashCodeMatchesEquals() {
+		Set<Position> set = new HashSet<>();
+		set.add(new Position(2, 3));
+		assertTrue(set.contains(new Position(2, 3)));
+		assertTrue(set.contains(Position.of(2, 3)));
+		assertFalse(set.contains(new Position(3, 2)));
+		assertEquals(new Position(7, 1).hashCode(), Position.of(7, 1).hashCode());
+	}
+
+	@Test
+	public void testFlyweightCache() {
+		assertSame(Position.of(0, 0), Position.of(0, 0));
+		assertSame(Position.of(9, 9), Position.of(9, 9));
+		// außerhalb eines 10×10-Bretts: neue Instanz, die das Brett dann ablehnt
+		assertEquals(new Position(10, 0), Position.of(10, 0));
+		assertEquals(new Position(-1, 2), Position.of(-1, 2));
+	}
+
+	@Test
+	public void testBoardReusesCachedPositions() {
+		Board b = new Board(4);
+		b.doMove(5, 1);
+		for (Position p : b.validMoves()) {
+			assertSame(Position.of(p.x, p.y), p);
+		}
+		for (Position p : new BitBoard(4).validMoves()) {
+			assertSame(Position.of(p.x, p.y), p);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+import java.util.Random;
+
+/**
+ * Gemeinsame Hilfsmethoden der Tests: zufällig angespielte Stellungen.
+ */
+final class PositionTestSupport {
+
+	private PositionTestSupport() {
+	}
+
+	/** Wie {@link #randomPosition(int, int, int, Random)} mit k = n. */
+	static Board randomPosition(int n, int stones, Random rnd) {
+		return randomPosition(n, n, stones, rnd);
+	}
+
+	/** Wie {@link #randomPosition(int, int, int, int, Random)} mit x als Anziehendem. */
+	static Board randomPosition(int n, int k, int stones, Random rnd) {
+		return randomPosition(n, k, stones, 1, rnd);
+	}
+
+	/**
+	 * Setzt abwechselnd, beginnend mit firstPlayer, bis zu stones Steine auf zufällige freie
+	 * Felder eines leeren n×n-Bretts mit k in einer Reihe. Hört früher auf, wenn die Partie
+	 * gewonnen oder das Brett voll ist; wer dann am Zug ist, liefert
+	 * {@link #playerToMove(Board, int)}.
+	 */
+	static Board randomPosition(int n, int k, int stones, int firstPlayer, Random rnd) {
+		Board b = new Board(n, k);
+		int player = firstPlayer;
+		for (int i = 0; i < stones && !b.isGameWon() && b.nFreeFields() > 0; i++) {
+			int[] moves = new int[b.nFreeFields()];
+			int count = b.fillMoves(moves);
+			b.doMove(moves[rnd.nextInt(count)], player);
+			player = -player;
+		}
+		return b;
+	}
+
+	/** Spieler am Zug, wenn x begonnen hat. */
+	static int playerToMove(Board b) {
+		return playerToMove(b, 1);
+	}
+
+	/** Spieler am Zug, wenn firstPlayer begonnen hat. */
+	static int playerToMove(Board b, int firstPlayer) {
+		int stones = b.getN() * b.getN() - b.nFreeFields();
+		return stones % 2 == 0 ? firstPlayer : -firstPlayer;
+	}
+}
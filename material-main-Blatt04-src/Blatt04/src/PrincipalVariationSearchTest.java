@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * PVS und Aspirationsfenster dürfen nur die Knotenzahl ändern, nie den Wert.
+ */
+public class PrincipalVariationSearchTest {
+
+	private static SearchContext context(SearchAlgorithm algorithm, MoveOrdering ordering) {
+		SearchContext ctx = new SearchContext();
+		ctx.setAlgorithm(algorithm);
+		ctx.setMoveOrdering(ordering);
+		return ctx;
+	}
+
+	@Test
+	public void testSameScoresOnRandomPositions() {
+		Random rnd = new Random(11);
+		for (int game = 0; game < 60; game++) {
+			int n = 3 + game % 2;
+			int k = game % 3 == 0 ? n - 1 : n;
+			Board b = PositionTestSupport.randomPosition(n, k, (n == 3 ? 0 : 3) + rnd.nextInt(5), rnd);
+			int player = PositionTestSupport.playerToMove(b);
+			int expected = TicTacToe.alphaBeta(b, player);
+			assertEquals("Partie " + game, expected,
+					TicTacToe.alphaBeta(b, player, context(SearchAlgorithm.PVS, new HeuristicMoveOrdering())));
+			// ohne Sortierung wird am häufigsten nachgesucht
+			assertEquals("Partie " + game + " unsortiert", expected,
+					TicTacToe.alphaBeta(b, player, context(SearchAlgorithm.PVS, MoveOrdering.NONE)));
+		}
+	}
+
+	@Test
+	public void testPvsVisitsFewerNodesOn4x4() {
+		Board b = new Board(4);
+		b.doMove(0, 1);
+		b.doMove(6, -1);
+		SearchContext plain = context(SearchAlgorithm.NEGAMAX, MoveOrdering.NONE);
+		SearchContext pvs = context(SearchAlgorithm.PVS, MoveOrdering.NONE);
+		assertEquals(TicTacToe.alphaBeta(b, 1, plain), TicTacToe.alphaBeta(b, 1, pvs));
+		assertTrue(pvs.getNodes() + " vs. " + plain.getNodes(), pvs.getNodes() < plain.getNodes());
+	}
+
+	@Test
+	public void testEvaluatePossibleMovesUnchanged() {
+		Board b = new Board(4);
+		b.doMove(5, 1);
+		b.doMove(6, -1);
+		b.doMove(9, 1);
+		MoveEvaluation plain = TicTacToe.evaluatePossibleMoves(b, -1);
+		MoveEvaluation pvs = TicTacToe.evaluatePossibleMoves(b, -1,
+				context(SearchAlgorithm.PVS, new HeuristicMoveOrdering()));
+		assertEquals(plain.getScore(), pvs.getScore());
+		assertEquals(plain.getMoveScores().size(), pvs.getMoveScores().size());
+		for (int i = 0; i < plain.getMoveScores().size(); i++) {
+			MoveEvaluation.MoveScore a = plain.getMoveScores().get(i);
+			MoveEvaluation.MoveScore c = pvs.getMoveScores().get(i);
+			// exakte Werte müssen gleich sein; Schranken dürfen sich je nach Fenster unterscheiden
+			if (a.isExact() && c.isExact()) {
+				assertEquals(a.getMove() + "", a.getScore(), c.getScore());
+			}
+			if (!c.isExact()) {
+				assertTrue(c.getScore() <= pvs.getScore());
+			}
+		}
+	}
+
+	@Test
+	public void testAspirationWindowKeepsIterativeDeepeningExact() {
+		int[][] positions = {{0, 5, 3, 10}, {5, 6, 9, 10, 0, 15}, {0, 6}};
+		for (int[] cells : positions) {
+			Board b = new Board(4);
+			int player = 1;
+			for (int cell : cells) {
+				b.doMove(cell, player);
+				player = -player;
+			}
+			int expected = TicTacToe.alphaBeta(b, player);
+			for (int window : new int[] {1, 2, 1024}) {
+				SearchContext ctx = context(SearchAlgorithm.PVS, new HeuristicMoveOrdering());
+				ctx.setAspirationWindow(window);
+				SearchResult result = TicTacToe.iterativeDeepening(b, player, SearchBudget.UNLIMITED, ctx);
+				assertTrue(result.isSolved());
+				assertEquals("Fenster " + window, expected, result.getScore());
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeWindowRejected() {
+		new SearchContext().setAspirationWindow(-1);
+	}
+}
@@ -0,0 +1,379 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Löst Stellungen mit Depth-First Proof-Number Search (df-pn, Nagai 2002) statt Alpha-Beta.
+ *
+ * Proof-Number-Suche beweist eine Ja/Nein-Frage ("gewinnt der Angreifer?") und wählt
+ * dabei immer den Teilbaum, der mit den wenigsten noch offenen Blättern zu beweisen
+ * oder zu widerlegen ist. Ein Ergebnis Sieg/Remis/Niederlage braucht zwei Durchläufe:
+ * zuerst mit dem Spieler am Zug als Angreifer (Remis zählt dabei als Widerlegung),
+ * dann, falls er nicht gewinnt, mit dem Gegner als Angreifer.
+ *
+ * df-pn braucht keinen expliziten Baum: Beweis- und Widerlegungszahlen jedes besuchten
+ * Knotens liegen in einer Tabelle fester Größe. Ist ein Bucket voll, wird der Eintrag
+ * mit dem kleinsten Teilbaum (gemessen in besuchten Knoten) verdrängt; der Speicher ist
+ * damit fest begrenzt, verdrängte Knoten werden bei Bedarf neu berechnet. Die Tabelle
+ * sollte etwa so viele Einträge haben, wie der Beweis Knoten besucht; ist sie deutlich
+ * kleiner, wird so viel neu berechnet, dass die Suche praktisch nicht mehr fertig wird. Mit
+ * {@link #setCheckpoint} wird die Tabelle regelmäßig in eine Datei geschrieben,
+ * {@link #resume} setzt eine unterbrochene Lösung dort fort.
+ *
+ * Werte werden in der φ/δ-Form gespeichert: φ ist die Beweiszahl aus Sicht des Spielers
+ * am Zug (wie viel fehlt, damit er sein Ziel erreicht), δ die Widerlegungszahl.
+ */
+public class ProofNumberSearch {
+
+    /** Ergebnis aus Sicht des Spielers am Zug. */
+    public enum Outcome {
+        WIN, DRAW, LOSS,
+        /** Knotenlimit erreicht, bevor das Ergebnis feststand. */
+        UNKNOWN
+    }
+
+    /** Standardgröße der Tabelle: 2^20 Einträge (24 MB). */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    // "Unendlich" für Beweiszahlen; Summen werden daran gekappt und laufen nie über
+    private static final int INF = 1 << 30;
+    private static final int BUCKET = 4;
+    private static final int MAGIC = 0x44465031;   // "DFP1"
+    // unterscheidet die Einträge der beiden Durchläufe (Angreifer x bzw. o)
+    private static final long ATTACKER_O = 0x6A09E667F3BCC909L;
+
+    private final long[] keys;
+    private final int[] phis;
+    private final int[] deltas;
+    private final long[] works;
+    private final int mask;
+
+    private long nodes;
+    private long nodeLimit;          // 0 = unbegrenzt, sonst Knoten pro Aufruf von solve
+    private long stopAt;
+    private boolean stopped;
+    private Path checkpointFile;
+    private long checkpointInterval;
+    private long nextCheckpoint;
+
+    // Stand der Lösung, wird im Checkpoint mitgeschrieben
+    private long rootKey;
+    private int phase;               // 1: Spieler am Zug greift an, 2: Gegner greift an
+    private boolean unfinished;      // letzte Suche abgebrochen oder aus Checkpoint geladen
+
+    // Puffer pro Ply, damit die Rekursion nichts allokiert
+    private int[][] moveBuffers = new int[0][];
+    private int[][] phiBuffers = new int[0][];
+    private int[][] deltaBuffers = new int[0][];
+
+    // Rückgabe von childValue (φ und δ des Kindes)
+    private int childPhi;
+    private int childDelta;
+
+    public ProofNumberSearch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Anzahl Tabelleneinträge (wird auf eine Zweierpotenz ≥ 4 aufgerundet);
+     *                 legt den Speicherbedarf fest (24 Byte pro Eintrag)
+     */
+    public ProofNumberSearch(int capacity) {
+        if (capacity < 1 || capacity > (1 << 28)) {
+            throw new IllegalArgumentException("Kapazität muss zwischen 1 und 2^28 liegen: " + capacity);
+        }
+        int size = Math.max(BUCKET, Integer.highestOneBit(capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        keys = new long[size];
+        phis = new int[size];
+        deltas = new int[size];
+        works = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Nach so vielen besuchten Knoten bricht {@link #solve} mit {@link Outcome#UNKNOWN} ab (0 = nie).
+     * Ein weiterer Aufruf mit derselben Stellung setzt die Suche fort.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        if (nodeLimit < 0) {
+            throw new IllegalArgumentException("Knotenlimit darf nicht negativ sein: " + nodeLimit);
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Schreibt alle interval Knoten sowie beim Abbruch den Stand nach file
+     * (erst in eine temporäre Datei, dann atomar umbenannt).
+     */
+    public void setCheckpoint(Path file, long interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Intervall muss positiv sein: " + interval);
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+
+    /** Besuchte Knoten seit dem Anlegen bzw. dem Checkpoint, aus dem fortgesetzt wurde. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Sieg, Remis oder Niederlage für player. Wurde die letzte Suche derselben Stellung
+     * abgebrochen oder das Objekt mit {@link #resume} aus einem Checkpoint geladen, geht es
+     * dort weiter. board wird nicht verändert.
+     */
+    public Outcome solve(GameBoard board, int player) {
+        if (player != 1 && player != -1) {
+            throw new IllegalArgumentException("Spieler muss ±1 sein.");
+        }
+        if (board.isGameWon()) {
+            return Outcome.LOSS;   // der Gegner hat mit dem letzten Zug gewonnen
+        }
+        if (board.nFreeFields() == 0) {
+            return Outcome.DRAW;
+        }
+        long key = Zobrist.key(board.getCanonicalHash(), player);
+        if (!unfinished || key != rootKey) {
+            clearTable();
+            phase = 1;
+        }
+        unfinished = false;
+        rootKey = key;
+        stopped = false;
+        stopAt = nodeLimit > 0 ? nodes + nodeLimit : Long.MAX_VALUE;
+        nextCheckpoint = nodes + checkpointInterval;
+        ensureCapacity(board.getN() * board.getN());
+
+        if (phase == 1) {
+            int phi = prove(board, player, player);
+            if (stopped) {
+                return interrupted();
+            }
+            if (phi == 0) {
+                return Outcome.WIN;
+            }
+            phase = 2;
+            clearTable();
+        }
+        int phi = prove(board, player, -player);
+        if (stopped) {
+            return interrupted();
+        }
+        // player ist jetzt Verteidiger: φ = 0 heißt, er verhindert den Sieg des Gegners
+        return phi == 0 ? Outcome.DRAW : Outcome.LOSS;
+    }
+
+    // Wurzel bis zum Beweis bzw. zur Widerlegung suchen; liefert φ der Wurzel
+    private int prove(GameBoard board, int player, int attacker) {
+        mid(board, player, attacker, INF, INF, 0);
+        long entry = find(key(board, player, attacker));
+        return entry < 0 ? 1 : phis[(int) entry];
+    }
+
+    private Outcome interrupted() {
+        unfinished = true;
+        if (checkpointFile != null) {
+            writeCheckpoint();
+        }
+        return Outcome.UNKNOWN;
+    }
+
+    // Multiple Iterative Deepening: Knoten so lange expandieren, bis φ ≥ thPhi oder δ ≥ thDelta
+    private void mid(GameBoard board, int mover, int attacker, int thPhi, int thDelta, int ply) {
+        long start = nodes++;
+        if (nodes >= stopAt) {
+            stopped = true;
+        }
+        if (checkpointFile != null && nodes >= nextCheckpoint) {
+            writeCheckpoint();
+            nextCheckpoint = nodes + checkpointInterval;
+        }
+        long key = key(board, mover, attacker);
+        int[] moves = moveBuffers[ply];
+        int[] childPhis = phiBuffers[ply];
+        int[] childDeltas = deltaBuffers[ply];
+        int count = board.fillMoves(moves);
+        int symmetries = board.symmetryMask();
+        if (symmetries != 0) {
+            count = TicTacToe.keepRepresentatives(moves, count, Symmetry.of(board.getN()), symmetries);
+        }
+
+        while (true) {
+            // φ(n) = min δ(Kind), δ(n) = Σ φ(Kind); dazu bestes und zweitbestes Kind
+            int phi = INF;
+            int delta = 0;
+            int best = -1;
+            int delta2 = INF;
+            for (int i = 0; i < count; i++) {
+                childValue(board, moves[i], mover, attacker);
+                childPhis[i] = childPhi;
+                childDeltas[i] = childDelta;
+                if (best < 0 || childDelta < childDeltas[best]) {
+                    delta2 = best < 0 ? INF : childDeltas[best];
+                    best = i;
+                } else if (childDelta < delta2) {
+                    delta2 = childDelta;
+                }
+                phi = Math.min(phi, childDelta);
+                delta = (int) Math.min(INF, (long) delta + childPhi);
+            }
+            if (phi >= thPhi || delta >= thDelta || stopped) {
+                store(key, phi, delta, nodes - start);
+                return;
+            }
+            int childThPhi = (int) Math.min(INF, (long) thDelta - delta + childPhis[best]);
+            // 1+ε-Trick: das Kind darf etwas über das zweitbeste hinaus arbeiten, das spart
+            // viele Wechsel zwischen zwei fast gleich guten Kindern
+            int childThDelta = Math.min(thPhi, delta2 == INF ? INF : delta2 + delta2 / 4 + 1);
+            board.doMove(moves[best], mover);
+            mid(board, -mover, attacker, childThPhi, childThDelta, ply + 1);
+            board.undoMove(moves[best]);
+        }
+    }
+
+    // (φ, δ) des Kindes nach Zug cell aus Sicht des dann ziehenden Spielers, nach childPhi/childDelta
+    private void childValue(GameBoard board, int cell, int mover, int attacker) {
+        board.doMove(cell, mover);
+        if (board.isGameWon()) {
+            // der Spieler am Zug im Kind hat verloren
+            childPhi = INF;
+            childDelta = 0;
+        } else if (board.nFreeFields() == 0) {
+            // Remis: Ziel des Angreifers verfehlt
+            boolean childIsAttacker = -mover == attacker;
+            childPhi = childIsAttacker ? INF : 0;
+            childDelta = childIsAttacker ? 0 : INF;
+        } else {
+            long entry = find(key(board, -mover, attacker));
+            childPhi = entry < 0 ? 1 : phis[(int) entry];
+            childDelta = entry < 0 ? 1 : deltas[(int) entry];
+        }
+        board.undoMove(cell);
+    }
+
+    private static long key(GameBoard board, int mover, int attacker) {
+        long key = Zobrist.key(board.getCanonicalHash(), mover);
+        return attacker == 1 ? key : key ^ ATTACKER_O;
+    }
+
+    // Slot mit key oder −1
+    private long find(long key) {
+        int base = (int) key & mask & ~(BUCKET - 1);
+        for (int i = base; i < base + BUCKET; i++) {
+            if (keys[i] == key && works[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Eintrag setzen; ist der Bucket voll, den mit dem kleinsten Teilbaum verdrängen
+    private void store(long key, int phi, int delta, long work) {
+        int base = (int) key & mask & ~(BUCKET - 1);
+        int victim = base;
+        for (int i = base; i < base + BUCKET; i++) {
+            if (works[i] != 0 && keys[i] == key) {
+                victim = i;
+                work += works[i];
+                break;
+            }
+            if (works[i] < works[victim]) {
+                victim = i;
+            }
+        }
+        keys[victim] = key;
+        phis[victim] = phi;
+        deltas[victim] = delta;
+        works[victim] = Math.max(1, work);
+    }
+
+    private void clearTable() {
+        Arrays.fill(works, 0L);
+    }
+
+    private void ensureCapacity(int cells) {
+        if (moveBuffers.length >= cells + 1 && moveBuffers[0].length >= cells) {
+            return;
+        }
+        moveBuffers = new int[cells + 1][cells];
+        phiBuffers = new int[cells + 1][cells];
+        deltaBuffers = new int[cells + 1][cells];
+    }
+
+    // Checkpoint: MAGIC, Kapazität, Wurzelschlüssel, Phase, Knoten, dann alle belegten Einträge
+    private void writeCheckpoint() {
+        Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(keys.length);
+            out.writeLong(rootKey);
+            out.writeInt(phase);
+            out.writeLong(nodes);
+            int used = 0;
+            for (long w : works) {
+                if (w != 0) {
+                    used++;
+                }
+            }
+            out.writeInt(used);
+            for (int i = 0; i < keys.length; i++) {
+                if (works[i] != 0) {
+                    out.writeInt(i);
+                    out.writeLong(keys[i]);
+                    out.writeInt(phis[i]);
+                    out.writeInt(deltas[i]);
+                    out.writeLong(works[i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Checkpoint " + checkpointFile + " konnte nicht geschrieben werden", e);
+        }
+        try {
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Checkpoint " + checkpointFile + " konnte nicht ersetzt werden", e);
+        }
+    }
+
+    /**
+     * Lädt einen mit {@link #setCheckpoint} geschriebenen Stand. Der nächste Aufruf von
+     * {@link #solve} mit derselben Stellung und demselben Spieler setzt die Suche fort;
+     * Checkpoints werden weiter in dieselbe Datei geschrieben, wenn ein Intervall gesetzt wird.
+     */
+    public static ProofNumberSearch resume(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Kein df-pn-Checkpoint: " + file);
+            }
+            ProofNumberSearch search = new ProofNumberSearch(in.readInt());
+            search.rootKey = in.readLong();
+            search.phase = in.readInt();
+            search.nodes = in.readLong();
+            int used = in.readInt();
+            for (int j = 0; j < used; j++) {
+                int i = in.readInt();
+                search.keys[i] = in.readLong();
+                search.phis[i] = in.readInt();
+                search.deltas[i] = in.readInt();
+                search.works[i] = in.readLong();
+            }
+            search.unfinished = true;
+            return search;
+        }
+    }
+}
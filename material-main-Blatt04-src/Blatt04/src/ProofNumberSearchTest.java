@@ -0,0 +1,80 @@
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * df-pn muss dasselbe Ergebnis (Vorzeichen) wie alphaBeta() liefern, auch mit kleiner
+ * Tabelle, und nach einem Abbruch aus dem Checkpoint weiterrechnen können.
+ */
+public class ProofNumberSearchTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static ProofNumberSearch.Outcome expected(GameBoard b, int player) {
+		int v = TicTacToe.alphaBeta(b.copy(), player);
+		return v > 0 ? ProofNumberSearch.Outcome.WIN : v < 0 ? ProofNumberSearch.Outcome.LOSS
+				: ProofNumberSearch.Outcome.DRAW;
+	}
+
+	@Test
+	public void testKnownResults() {
+		ProofNumberSearch pns = new ProofNumberSearch(1 << 16);
+		assertEquals(ProofNumberSearch.Outcome.DRAW, pns.solve(new Board(3), 1));
+		assertEquals(ProofNumberSearch.Outcome.WIN, pns.solve(new Board(3, 2), 1));
+		assertEquals(ProofNumberSearch.Outcome.WIN, pns.solve(new Board(4, 3), -1));
+		assertEquals(ProofNumberSearch.Outcome.WIN, pns.solve(new Board(1), 1));
+
+		Board won = new Board(3);
+		won.doMove(0, 1);
+		won.doMove(1, 1);
+		won.doMove(2, 1);
+		assertEquals(ProofNumberSearch.Outcome.LOSS, pns.solve(won, -1));
+	}
+
+	@Test
+	public void testRandomPositionsMatchAlphaBeta() {
+		Random rnd = new Random(3);
+		// 3×3 mit einer Tabelle, die kleiner ist als die Zahl der Stellungen
+		ProofNumberSearch small = new ProofNumberSearch(1 << 10);
+		ProofNumberSearch large = new ProofNumberSearch(1 << 16);
+		for (int game = 0; game < 40; game++) {
+			int n = game % 2 == 0 ? 3 : 4;
+			Board b = PositionTestSupport.randomPosition(n, (n == 3 ? 0 : 4) + rnd.nextInt(5), rnd);
+			int player = PositionTestSupport.playerToMove(b);
+			long hash = b.getHash();
+			ProofNumberSearch pns = n == 3 ? small : large;
+			assertEquals("Partie " + game, expected(b, player), pns.solve(b, player));
+			assertEquals("Brett unverändert", hash, b.getHash());
+		}
+	}
+
+	@Test
+	public void testCheckpointAndResume() throws Exception {
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 2), -1);
+
+		ProofNumberSearch full = new ProofNumberSearch(1 << 18);
+		ProofNumberSearch.Outcome outcome = full.solve(b, 1);
+		assertEquals(expected(b, 1), outcome);
+
+		Path file = folder.getRoot().toPath().resolve("dfpn.ckpt");
+		ProofNumberSearch first = new ProofNumberSearch(1 << 18);
+		first.setNodeLimit(full.getNodes() / 2);
+		first.setCheckpoint(file, 1000);
+		assertEquals(ProofNumberSearch.Outcome.UNKNOWN, first.solve(b, 1));
+		assertTrue(Files.exists(file));
+
+		// "Neustart des Prozesses": nur die Datei bleibt
+		ProofNumberSearch resumed = ProofNumberSearch.resume(file);
+		long before = resumed.getNodes();
+		assertEquals(outcome, resumed.solve(b, 1));
+		assertTrue("Fortsetzung spart Arbeit", resumed.getNodes() - before < full.getNodes());
+	}
+}
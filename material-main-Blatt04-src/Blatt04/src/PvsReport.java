@@ -0,0 +1,70 @@
+/**
+ * Vergleicht die Anzahl besuchter Knoten von Negamax und PVS (mit und ohne Zugsortierung)
+ * auf 3×3- und 4×4-Stellungen sowie die iterative Vertiefung (bis zur exakten Lösung)
+ * mit Negamax, PVS und PVS mit Aspirationsfenster.
+ *
+ * Aufruf: {@code java PvsReport}
+ */
+public class PvsReport {
+
+    // halbe Fensterbreite in internen Einheiten (heuristische Werte sind Differenzen offener Reihen)
+    private static final int ASPIRATION_WINDOW = 2;
+
+    public static void main(String[] args) {
+        System.out.printf("%-24s %-10s %12s %12s %8s%n", "Stellung", "Sortierung", "Negamax", "PVS", "Faktor");
+        report("3x3 leer", new Board(3), 1);
+        report("4x4 leer", new Board(4), 1);
+        report("4x4 Mittelspiel a", board(4, new int[] {0, 5, 3, 10}, new int[] {1, -1, 1, -1}), 1);
+        report("4x4 Mittelspiel b", board(4, new int[] {5, 6, 9, 10, 0, 15}, new int[] {1, -1, 1, -1, 1, -1}), 1);
+        report("4x4 nach 2 Zügen", board(4, new int[] {0, 6}, new int[] {1, -1}), 1);
+
+        System.out.println();
+        System.out.printf("%-24s %12s %12s %12s%n", "Vertiefung bis gelöst", "Negamax", "PVS", "PVS+Asp.");
+        deepening("4x4 Mittelspiel a", board(4, new int[] {0, 5, 3, 10}, new int[] {1, -1, 1, -1}), 1);
+        deepening("4x4 Mittelspiel b", board(4, new int[] {5, 6, 9, 10, 0, 15}, new int[] {1, -1, 1, -1, 1, -1}), 1);
+        deepening("4x4 nach 2 Zügen", board(4, new int[] {0, 6}, new int[] {1, -1}), 1);
+    }
+
+    private static Board board(int n, int[] cells, int[] players) {
+        Board b = new Board(n);
+        for (int i = 0; i < cells.length; i++) {
+            b.doMove(cells[i], players[i]);
+        }
+        return b;
+    }
+
+    private static void report(String name, Board board, int player) {
+        for (MoveOrdering ordering : new MoveOrdering[] {MoveOrdering.NONE, new HeuristicMoveOrdering()}) {
+            SearchContext plain = new SearchContext();
+            plain.setMoveOrdering(ordering);
+            int v1 = TicTacToe.alphaBeta(board, player, plain);
+
+            SearchContext pvs = new SearchContext();
+            pvs.setMoveOrdering(ordering == MoveOrdering.NONE ? MoveOrdering.NONE : new HeuristicMoveOrdering());
+            pvs.setAlgorithm(SearchAlgorithm.PVS);
+            int v2 = TicTacToe.alphaBeta(board, player, pvs);
+            if (v1 != v2) {
+                throw new IllegalStateException(name + ": " + v1 + " != " + v2);
+            }
+            System.out.printf("%-24s %-10s %12d %12d %8.2f%n", name, ordering == MoveOrdering.NONE ? "keine" : "heuristisch",
+                    plain.getNodes(), pvs.getNodes(), (double) plain.getNodes() / Math.max(1, pvs.getNodes()));
+        }
+    }
+
+    // Iterative Vertiefung ohne Budget: alle drei Varianten müssen denselben exakten Wert finden
+    private static void deepening(String name, Board board, int player) {
+        long[] nodes = new long[3];
+        int expected = TicTacToe.alphaBeta(board, player);
+        for (int variant = 0; variant < 3; variant++) {
+            SearchContext ctx = new SearchContext();
+            ctx.setAlgorithm(variant == 0 ? SearchAlgorithm.NEGAMAX : SearchAlgorithm.PVS);
+            ctx.setAspirationWindow(variant == 2 ? ASPIRATION_WINDOW : 0);
+            SearchResult result = TicTacToe.iterativeDeepening(board, player, SearchBudget.UNLIMITED, ctx);
+            if (!result.isSolved() || result.getScore() != expected) {
+                throw new IllegalStateException(name + ": " + result + " statt " + expected);
+            }
+            nodes[variant] = result.getNodes();
+        }
+        System.out.printf("%-24s %12d %12d %12d%n", name, nodes[0], nodes[1], nodes[2]);
+    }
+}
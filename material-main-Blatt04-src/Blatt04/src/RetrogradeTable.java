@@ -0,0 +1,238 @@
+import java.util.Arrays;
+
+/**
+ * Vorberechnete exakte Werte aller Stellungen eines kleinen Bretts (n ≤ 4), rückwärts
+ * von den Endstellungen aus bestimmt statt per Suche.
+ *
+ * Jede Belegung bekommt als perfekten Hash ihren Rang zur Basis 3: Feld i (Index x*n + y)
+ * ist die Ziffer i mit 0 = leer, 1 = x, 2 = o. Pro Spieler am Zug gibt es ein
+ * {@code byte}-Array mit 3^(n²) Einträgen, der Wert aus Sicht des Spielers am Zug in
+ * derselben Kodierung wie {@link TicTacToe#alphaBeta(GameBoard, int)} (0 = Remis,
+ * ±(p+1) = Sieg/Niederlage mit p freien Feldern). Eine Abfrage ist damit ein einziger
+ * Array-Zugriff; nur den Rang eines Bretts auszurechnen kostet n² Feldzugriffe.
+ *
+ * Ein zusätzlicher Stein erhöht den Rang immer. Läuft man die Ränge absteigend durch,
+ * sind daher alle Nachfolger einer Stellung schon bewertet, wenn sie selbst an der Reihe
+ * ist: ein einziger Durchlauf ersetzt die Rückwärtsrechnung Ebene für Ebene.
+ *
+ * Wer gewonnen hat, wird wie bei {@link GameBoard#isGameWon()} über k Steine in einer
+ * Linie bestimmt. Bewertet werden nur Stellungen, die im Spiel vorkommen können
+ * (x und o setzen abwechselnd, wer auch immer begonnen hat, und höchstens der zuletzt
+ * gezogene Spieler hat eine Reihe); alle anderen bleiben {@link #UNREACHABLE}.
+ */
+public final class RetrogradeTable {
+
+    /** Rückgabe von {@link #value(int, int)} für Stellungen, die im Spiel nicht vorkommen. */
+    public static final int UNREACHABLE = Byte.MIN_VALUE;
+
+    /** Größtes unterstütztes n (3^16 Stellungen, zweimal 43 MB). */
+    public static final int MAX_N = 4;
+
+    private final int n;
+    private final int k;
+    private final byte[] xToMove;
+    private final byte[] oToMove;
+    private final long reachable;
+    private final long buildNanos;
+
+    private RetrogradeTable(int n, int k, byte[] xToMove, byte[] oToMove, long reachable, long buildNanos) {
+        this.n = n;
+        this.k = k;
+        this.xToMove = xToMove;
+        this.oToMove = oToMove;
+        this.reachable = reachable;
+        this.buildNanos = buildNanos;
+    }
+
+    /** Wie {@link #build(int, int)} mit k = n. */
+    public static RetrogradeTable build(int n) {
+        return build(n, n);
+    }
+
+    /**
+     * Bewertet alle 3^(n²) Belegungen für beide Spieler am Zug.
+     * Für n = 4 braucht das 86 MB und einige Sekunden.
+     */
+    public static RetrogradeTable build(int n, int k) {
+        if (n < 1 || n > MAX_N) {
+            throw new IllegalArgumentException("n muss zwischen 1 und " + MAX_N + " liegen: " + n);
+        }
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException("k muss zwischen 1 und " + n + " liegen: " + k);
+        }
+        long start = System.nanoTime();
+        int cells = n * n;
+        int size = pow3(cells);
+        int[] pow = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            pow[i] = pow3(i);
+        }
+        int[] lines = lineMasks(n, k);
+        byte[] xToMove = new byte[size];
+        byte[] oToMove = new byte[size];
+
+        // Ziffern des aktuellen Rangs, als Zähler rückwärts von 3^cells − 1 bis 0
+        int[] digits = new int[cells];
+        Arrays.fill(digits, 2);
+        int xMask = 0;
+        int oMask = (1 << cells) - 1;
+        long reachable = 0;
+        for (int rank = size - 1; rank >= 0; rank--) {
+            int xs = Integer.bitCount(xMask);
+            int os = Integer.bitCount(oMask);
+            int free = cells - xs - os;
+            boolean xLine = hasLine(xMask, lines);
+            boolean oLine = hasLine(oMask, lines);
+            // x am Zug: o hat zuletzt gezogen, also gleich viele Steine (x hat begonnen) oder ein o mehr
+            byte vx = value(xs, os, xLine, oLine, free, rank, pow, digits, 1, oToMove);
+            byte vo = value(os, xs, oLine, xLine, free, rank, pow, digits, 2, xToMove);
+            xToMove[rank] = vx;
+            oToMove[rank] = vo;
+            reachable += (vx != UNREACHABLE ? 1 : 0) + (vo != UNREACHABLE ? 1 : 0);
+
+            // nächstkleineren Rang einstellen
+            for (int i = 0; i < cells; i++) {
+                if (digits[i] > 0) {
+                    if (digits[i] == 2) {
+                        oMask &= ~(1 << i);
+                        xMask |= 1 << i;
+                    } else {
+                        xMask &= ~(1 << i);
+                    }
+                    digits[i]--;
+                    break;
+                }
+                digits[i] = 2;
+                oMask |= 1 << i;
+            }
+        }
+        return new RetrogradeTable(n, k, xToMove, oToMove, reachable, System.nanoTime() - start);
+    }
+
+    // Wert für den Spieler am Zug (own Steine, Ziffer digit) aus den Werten der Nachfolger
+    // (childValues: Gegner am Zug); UNREACHABLE, wenn die Stellung nicht vorkommen kann
+    private static byte value(int own, int other, boolean ownLine, boolean otherLine, int free,
+                              int rank, int[] pow, int[] digits, int digit, byte[] childValues) {
+        if (own != other && own != other - 1) {
+            return UNREACHABLE;
+        }
+        if (ownLine) {
+            return UNREACHABLE;   // der Spieler am Zug hätte schon gewonnen
+        }
+        if (otherLine) {
+            return (byte) -(free + 1);
+        }
+        if (free == 0) {
+            return 0;
+        }
+        int best = Integer.MIN_VALUE;
+        for (int i = 0; i < digits.length; i++) {
+            if (digits[i] == 0) {
+                best = Math.max(best, -childValues[rank + digit * pow[i]]);
+            }
+        }
+        return (byte) best;
+    }
+
+    private static boolean hasLine(int mask, int[] lines) {
+        for (int line : lines) {
+            if ((mask & line) == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bitmasken aller Fenster aus k Feldern in einer Linie (Bit x*n + y)
+    private static int[] lineMasks(int n, int k) {
+        int[][] directions = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+        int[] buffer = new int[4 * n * n];
+        int count = 0;
+        for (int[] d : directions) {
+            for (int x = 0; x < n; x++) {
+                for (int y = 0; y < n; y++) {
+                    int endX = x + (k - 1) * d[0];
+                    int endY = y + (k - 1) * d[1];
+                    if (endX < 0 || endX >= n || endY < 0 || endY >= n) {
+                        continue;
+                    }
+                    int mask = 0;
+                    for (int i = 0; i < k; i++) {
+                        mask |= 1 << ((x + i * d[0]) * n + (y + i * d[1]));
+                    }
+                    buffer[count++] = mask;
+                }
+            }
+        }
+        // bei k = 1 liefern alle Richtungen dieselben Einzelfelder
+        return Arrays.stream(buffer, 0, count).distinct().toArray();
+    }
+
+    private static int pow3(int e) {
+        int p = 1;
+        for (int i = 0; i < e; i++) {
+            p *= 3;
+        }
+        return p;
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /** Rang zur Basis 3 der Belegung von board (muss n×n mit demselben n sein). */
+    public int rank(GameBoard board) {
+        if (board.getN() != n) {
+            throw new IllegalArgumentException("Tabelle ist für " + n + "x" + n + ", nicht für " + board.getN());
+        }
+        int rank = 0;
+        for (int cell = n * n - 1; cell >= 0; cell--) {
+            int field = board.getField(Position.of(cell / n, cell % n));
+            rank = rank * 3 + (field == 1 ? 1 : field == -1 ? 2 : 0);
+        }
+        return rank;
+    }
+
+    /** Wert der Stellung mit Rang rank für player (±1), oder {@link #UNREACHABLE}. */
+    public int value(int rank, int player) {
+        return player == 1 ? xToMove[rank] : oToMove[rank];
+    }
+
+    /** Wert wie {@link TicTacToe#alphaBeta(GameBoard, int)}, oder {@link #UNREACHABLE}. */
+    public int value(GameBoard board, int player) {
+        return value(rank(board), player);
+    }
+
+    /** Anzahl bewerteter (erreichbarer) Paare aus Stellung und Spieler am Zug. */
+    public long getReachable() {
+        return reachable;
+    }
+
+    /** Größe der beiden Wert-Arrays in Byte. */
+    public long getMemoryBytes() {
+        return (long) xToMove.length + oToMove.length;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Baut die Tabellen für n = 1..4 (oder die angegebenen n) und gibt Speicher und Bauzeit aus.
+     * Aufruf: {@code java RetrogradeTable [n ...]}
+     */
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[] {1, 2, 3, 4}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf("%-6s %14s %14s %12s %10s%n", "n", "Stellungen", "erreichbar", "Speicher", "Bauzeit");
+        for (int n : sizes) {
+            RetrogradeTable table = build(n);
+            System.out.printf("%-6s %14d %14d %9.1f MB %7.0f ms%n", n + "x" + n, pow3(n * n), table.getReachable(),
+                    table.getMemoryBytes() / 1e6, table.getBuildNanos() / 1e6);
+        }
+    }
+}
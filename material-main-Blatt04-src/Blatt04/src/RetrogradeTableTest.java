@@ -0,0 +1,92 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Die rückwärts berechneten Werte müssen für jede erreichbare Stellung mit alphaBeta()
+ * übereinstimmen, und die Suche muss sie über den Kontext nutzen.
+ */
+public class RetrogradeTableTest {
+
+	// Alle Stellungen ab der aktuellen durchgehen (beide Spieler dürfen beginnen) und vergleichen
+	private static int compareAll(Board b, int player, RetrogradeTable table, SearchContext ctx) {
+		assertEquals(b.toString(), TicTacToe.alphaBeta(b, player, ctx), table.value(b, player));
+		if (b.isGameWon() || b.nFreeFields() == 0) {
+			return 1;
+		}
+		int count = 1;
+		int[] moves = new int[b.nFreeFields()];
+		int free = b.fillMoves(moves);
+		for (int i = 0; i < free; i++) {
+			b.doMove(moves[i], player);
+			count += compareAll(b, -player, table, ctx);
+			b.undoMove(moves[i]);
+		}
+		return count;
+	}
+
+	@Test
+	public void testAllReachable3x3PositionsMatchAlphaBeta() {
+		for (int k = 1; k <= 3; k++) {
+			RetrogradeTable table = RetrogradeTable.build(3, k);
+			SearchContext ctx = new SearchContext();
+			assertTrue(compareAll(new Board(3, k), 1, table, ctx) > 0);
+			compareAll(new Board(3, k), -1, table, ctx);
+		}
+		// 5478 legale Stellungen, wenn x beginnt; o beginnend spiegelbildlich
+		assertEquals(2 * 5478, RetrogradeTable.build(3).getReachable());
+		assertEquals(2 * 19683, RetrogradeTable.build(3).getMemoryBytes());
+	}
+
+	@Test
+	public void testRandom4x4PositionsAndSearchIntegration() {
+		RetrogradeTable table = RetrogradeTable.build(4);
+		Random rnd = new Random(5);
+		for (int game = 0; game < 30; game++) {
+			int first = game % 2 == 0 ? 1 : -1;
+			Board b = PositionTestSupport.randomPosition(4, 4, 3 + rnd.nextInt(8), first, rnd);
+			int player = PositionTestSupport.playerToMove(b, first);
+			assertEquals("Partie " + game, TicTacToe.alphaBeta(b, player), table.value(b, player));
+		}
+
+		// leeres 4×4: mit Tabelle nur die Wurzel, ohne viele tausend Knoten
+		SearchContext ctx = new SearchContext();
+		ctx.setRetrogradeTable(table);
+		assertEquals(0, TicTacToe.alphaBeta(new Board(4), 1, ctx));
+		assertTrue(ctx.getNodes() <= 1);
+		MoveEvaluation eval = TicTacToe.evaluatePossibleMoves(new Board(4), 1, ctx);
+		assertEquals(0, eval.getScore());
+		assertTrue("Wurzel und ihre Kinder: " + ctx.getNodes(), ctx.getNodes() <= 1 + 16);
+
+		// andere Gewinnlänge: Tabelle wird nicht benutzt
+		assertEquals(TicTacToe.alphaBeta(new Board(4, 3), -1), TicTacToe.alphaBeta(new Board(4, 3), -1, ctx));
+	}
+
+	@Test
+	public void testUnreachableAndInvalid() {
+		RetrogradeTable table = RetrogradeTable.build(2);
+		Board b = new Board(2);
+		b.doMove(0, 1);
+		b.doMove(2, -1);
+		b.doMove(1, 1);
+		// x hat mit dem dritten Stein gewonnen: o am Zug verliert, x am Zug kann nicht sein
+		assertEquals(-2, table.value(b, -1));
+		assertEquals(RetrogradeTable.UNREACHABLE, table.value(b, 1));
+		b.undoMove(2);
+		// zwei x, kein o: kommt im Spiel nicht vor
+		assertEquals(RetrogradeTable.UNREACHABLE, table.value(b, -1));
+		try {
+			RetrogradeTable.build(5);
+			fail("5x5 passt nicht in den Speicher");
+		} catch (IllegalArgumentException expected) {
+			// erwartet
+		}
+		try {
+			table.rank(new Board(3));
+			fail("falsche Brettgröße");
+		} catch (IllegalArgumentException expected) {
+			// erwartet
+		}
+	}
+}
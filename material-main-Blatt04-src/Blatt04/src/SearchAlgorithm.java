@@ -0,0 +1,17 @@
+/**
+ * Variante der Alpha-Beta-Suche, wählbar über {@link SearchContext#setAlgorithm}.
+ * Beide liefern dieselben Werte; sie unterscheiden sich nur in der Zahl der Knoten.
+ */
+public enum SearchAlgorithm {
+
+    /** Jeder Zug wird mit dem vollen Fenster (alpha, beta) durchsucht. */
+    NEGAMAX,
+
+    /**
+     * Principal Variation Search (NegaScout): der erste Zug mit vollem Fenster, alle
+     * weiteren nur mit einem Nullfenster (alpha, alpha+1), das lediglich prüft, ob sie
+     * besser sind. Nur wenn ein Zug das Nullfenster überschreitet, wird er mit vollem
+     * Fenster nachgesucht. Lohnt sich, wenn die Zugsortierung den besten Zug meist zuerst liefert.
+     */
+    PVS
+}
@@ -0,0 +1,62 @@
+
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import com.sun.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Prüft über den ThreadMXBean, dass die Suche mit wiederverwendetem Kontext nichts allokiert.
+ */
+public class SearchAllocationTest {
+
+	private static long allocatedBytes() {
+		ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	// 4×4-Mittelspiel, damit die Suche viele tausend Knoten besucht
+	private static Board midgame() {
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		b.doMove(new Position(3, 0), 1);
+		b.doMove(new Position(2, 2), -1);
+		return b;
+	}
+
+	private static void assertSearchAllocatesNothing(GameBoard b) {
+		ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean.isThreadAllocatedMemorySupported());
+		bean.setThreadAllocatedMemoryEnabled(true);
+
+		SearchContext ctx = new SearchContext(new TranspositionTable(1 << 16));
+		int expected = TicTacToe.alphaBeta(b, 1, ctx);   // Aufwärmen, Puffer anlegen
+
+		ctx.getTranspositionTable().clear();
+		long before = allocatedBytes();
+		int eval = TicTacToe.alphaBeta(b, 1, ctx);
+		long allocated = allocatedBytes() - before;
+
+		assertEquals(expected, eval);
+		// alte Implementierung: eine ArrayList und n² Positionen pro Knoten → viele MB
+		assertTrue("Suche hat " + allocated + " Bytes allokiert", allocated < 16 * 1024);
+	}
+
+	@Test
+	public void testBoardSearchDoesNotAllocate() {
+		assertSearchAllocatesNothing(midgame());
+	}
+
+	@Test
+	public void testBitBoardSearchDoesNotAllocate() {
+		Board b = midgame();
+		BitBoard bb = new BitBoard(4);
+		for (int x = 0; x < 4; x++) {
+			for (int y = 0; y < 4; y++) {
+				bb.setField(new Position(x, y), b.getField(new Position(x, y)));
+			}
+		}
+		assertSearchAllocatesNothing(bb);
+	}
+}
@@ -0,0 +1,53 @@
+/**
+ * Grenzen für eine Suche: Wanduhrzeit und/oder Anzahl besuchter Knoten.
+ * Unveränderlich; {@link #UNLIMITED} bedeutet keine Grenze.
+ */
+public final class SearchBudget {
+
+    /** Keine Grenze: die Suche läuft bis zu den Endstellungen. */
+    public static final SearchBudget UNLIMITED = new SearchBudget(0, 0);
+
+    private final long timeMillis;   // 0 = unbegrenzt
+    private final long maxNodes;     // 0 = unbegrenzt
+
+    private SearchBudget(long timeMillis, long maxNodes) {
+        if (timeMillis < 0 || maxNodes < 0) {
+            throw new IllegalArgumentException("Budget darf nicht negativ sein.");
+        }
+        this.timeMillis = timeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    /** Budget nur nach Wanduhrzeit. */
+    public static SearchBudget ofMillis(long timeMillis) {
+        return new SearchBudget(timeMillis, 0);
+    }
+
+    /** Budget nur nach Knotenzahl. */
+    public static SearchBudget ofNodes(long maxNodes) {
+        return new SearchBudget(0, maxNodes);
+    }
+
+    /** Beide Grenzen; was zuerst erreicht wird, beendet die Suche. */
+    public static SearchBudget of(long timeMillis, long maxNodes) {
+        return new SearchBudget(timeMillis, maxNodes);
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public boolean isUnlimited() {
+        return timeMillis == 0 && maxNodes == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget(" + (timeMillis == 0 ? "∞" : timeMillis + " ms") + ", "
+                + (maxNodes == 0 ? "∞" : maxNodes + " Knoten") + ")";
+    }
+}
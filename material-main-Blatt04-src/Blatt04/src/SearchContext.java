@@ -0,0 +1,264 @@
+import java.util.Arrays;
+
+/**
+ * Zustand, den die Alpha-Beta-Suche über alle Knoten hinweg braucht: die
+ * Transpositionstabelle, die Zugsortierung, pro Ply einen Zugpuffer, in den
+ * {@link GameBoard#fillMoves(int[])} schreibt, den Knotenzähler samt Budget und
+ * optional eine Suchstatistik. Ein Kontext wird einmal angelegt und kann für beliebig
+ * viele Suchen (auch mit verschiedenem n) wiederverwendet werden; die Suche selbst
+ * allokiert dann nichts mehr.
+ *
+ * Nicht threadsicher: jeder Thread braucht seinen eigenen Kontext.
+ */
+public class SearchContext {
+
+    private final TranspositionTable tt;
+    private MoveOrdering ordering = new HeuristicMoveOrdering();
+    private SearchAlgorithm algorithm = SearchAlgorithm.NEGAMAX;
+    private int aspirationWindow;          // 0 = volles Fenster an der Wurzel
+    private SearchStatistics statistics;   // null = ausgeschaltet (Standard)
+    private OpeningBook book;              // null = ohne Eröffnungsbuch
+    private RetrogradeTable retrograde;    // null = ohne vorberechnete Werte
+    private int[][] moveBuffers = new int[0][];
+
+    // Budget und Abbruch werden nur alle checkMask+1 Knoten geprüft, damit nanoTime() nicht jeden Knoten kostet
+    private int checkMask = 1023;
+    private long nodes;
+    private long maxNodes;           // 0 = unbegrenzt
+    private long deadline;           // System.nanoTime(), 0 = unbegrenzt
+    private boolean stopped;         // Budget erschöpft: laufende Suche bricht ab
+    private volatile boolean cancelled;   // von außen abgebrochen, siehe cancel()
+    private boolean horizonReached;  // heuristisch bewertet statt bis zum Ende gesucht
+    private int rootBestMove = -1;   // Feld-Index des besten Wurzelzugs der letzten Iteration
+    private final int[] rootScores = new int[Zobrist.MAX_CELLS];   // Wert pro Wurzelzug (skaliert)
+    private final int[] rootFlags = new int[Zobrist.MAX_CELLS];    // EXACT/LOWER/UPPER, 0 = nicht durchsucht
+
+    public SearchContext() {
+        this(new TranspositionTable());
+    }
+
+    public SearchContext(TranspositionTable tt) {
+        if (tt == null) {
+            throw new IllegalArgumentException("Transpositionstabelle fehlt.");
+        }
+        this.tt = tt;
+    }
+
+    // Kontext für eine einmalige Suche auf board, Tabelle passend zu den freien Feldern
+    static SearchContext forBoard(GameBoard board) {
+        return new SearchContext(TranspositionTable.forFreeCells(board.nFreeFields()));
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return tt;
+    }
+
+    public MoveOrdering getMoveOrdering() {
+        return ordering;
+    }
+
+    /**
+     * Zugsortierung austauschen; Standard ist {@link HeuristicMoveOrdering},
+     * {@link MoveOrdering#NONE} sucht in x-major-Reihenfolge.
+     */
+    public void setMoveOrdering(MoveOrdering ordering) {
+        if (ordering == null) {
+            throw new IllegalArgumentException("Zugsortierung fehlt.");
+        }
+        this.ordering = ordering;
+    }
+
+    public SearchAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /** Suchvariante; Standard ist {@link SearchAlgorithm#NEGAMAX}. */
+    public void setAlgorithm(SearchAlgorithm algorithm) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Suchvariante fehlt.");
+        }
+        this.algorithm = algorithm;
+    }
+
+    public int getAspirationWindow() {
+        return aspirationWindow;
+    }
+
+    /**
+     * Aspirationsfenster für {@link TicTacToe#iterativeDeepening}: ab der zweiten Iteration
+     * wird die Wurzel nur im Fenster Vorwert ± halfWidth (interne Einheiten, ein Sieg zählt
+     * {@link TicTacToe#SCORE_SCALE} pro Feld) durchsucht und nur bei Über- oder
+     * Unterschreitung mit vollem Fenster wiederholt. 0 schaltet es aus (Standard).
+     */
+    public void setAspirationWindow(int halfWidth) {
+        if (halfWidth < 0) {
+            throw new IllegalArgumentException("Fensterbreite darf nicht negativ sein: " + halfWidth);
+        }
+        this.aspirationWindow = halfWidth;
+    }
+
+    /** Eröffnungsbuch, das vor der Transpositionstabelle gefragt wird, oder {@code null}. */
+    public OpeningBook getOpeningBook() {
+        return book;
+    }
+
+    /** Eröffnungsbuch setzen ({@code null} = keins); wird nur für Bretter seiner Größe benutzt. */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /** Vorberechnete Werte aller Stellungen oder {@code null}. */
+    public RetrogradeTable getRetrogradeTable() {
+        return retrograde;
+    }
+
+    /**
+     * Tabelle aus {@link RetrogradeTable#build} setzen ({@code null} = keine); wird nur für
+     * Bretter mit ihrem n und k benutzt, jeder Knoten ist dann ein Array-Zugriff.
+     */
+    public void setRetrogradeTable(RetrogradeTable retrograde) {
+        this.retrograde = retrograde;
+    }
+
+    /** Statistik der laufenden bzw. letzten Suche, {@code null} wenn ausgeschaltet. */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Schaltet die Suchstatistik ein. Nach jeder Suche liegt in
+     * {@link SearchStatistics#getLastReport()} ein Bericht; ist monitor nicht null,
+     * wird er dort zusätzlich verbucht (z.B. für JMX).
+     */
+    public SearchStatistics enableStatistics(SearchMonitor monitor) {
+        statistics = new SearchStatistics(monitor);
+        return statistics;
+    }
+
+    /** Schaltet die Statistik wieder aus; die Suche zählt dann nur noch Knoten fürs Budget. */
+    public void disableStatistics() {
+        statistics = null;
+    }
+
+    // Puffer für cells Felder bereitstellen: höchstens cells+1 Plies, je cells Züge
+    void ensureCapacity(int cells) {
+        if (moveBuffers.length < cells + 1 || moveBuffers[0].length < cells) {
+            moveBuffers = new int[cells + 1][cells];
+        }
+    }
+
+    // Neue Suche beginnen: Zähler zurücksetzen, Budget ab jetzt laufen lassen
+    void begin(SearchBudget budget) {
+        nodes = 0;
+        stopped = false;
+        horizonReached = false;
+        limit(budget, System.nanoTime());
+    }
+
+    // Budget setzen, ohne den Knotenzähler zurückzusetzen; Zeit zählt ab startNanos
+    void limit(SearchBudget budget, long startNanos) {
+        maxNodes = budget.getMaxNodes();
+        deadline = budget.getTimeMillis() == 0 ? 0 : startNanos + budget.getTimeMillis() * 1_000_000L;
+    }
+
+    // Knoten zählen; true, wenn die Suche wegen erschöpftem Budget oder Abbruch aufhören soll
+    boolean countNode() {
+        if ((++nodes & checkMask) == 0 && !stopped) {
+            if (Thread.currentThread().isInterrupted()) {
+                cancelled = true;
+            }
+            stopped = cancelled
+                    || (maxNodes != 0 && nodes >= maxNodes)
+                    || (deadline != 0 && System.nanoTime() - deadline >= 0);
+        }
+        return stopped;
+    }
+
+    public int getCheckInterval() {
+        return checkMask + 1;
+    }
+
+    /**
+     * Alle wie viele Knoten Budget und Abbruch geprüft werden (Zweierpotenz, Standard 1024).
+     * Kleinere Werte lassen eine abgebrochene Suche schneller enden, kosten aber öfter
+     * einen Aufruf von {@link System#nanoTime()}.
+     */
+    public void setCheckInterval(int nodes) {
+        if (nodes < 1 || Integer.bitCount(nodes) != 1) {
+            throw new IllegalArgumentException("Prüfintervall muss eine Zweierpotenz sein: " + nodes);
+        }
+        checkMask = nodes - 1;
+    }
+
+    /**
+     * Bricht die laufende Suche ab; darf aus einem anderen Thread aufgerufen werden.
+     * Die Suche merkt es spätestens nach {@link #getCheckInterval()} Knoten und liefert
+     * dann einen bedeutungslosen Wert (zum Teilergebnis siehe {@link SearchHandle}).
+     * Ein Interrupt des suchenden Threads wirkt genauso. Der Kontext bleibt abgebrochen,
+     * auch für spätere Suchen, bis ein neuer {@link SearchHandle} ihn übernimmt.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Abbruch zurücknehmen, bevor ein SearchHandle eine neue Suche startet
+    void resetCancel() {
+        cancelled = false;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    void markHorizon() {
+        horizonReached = true;
+    }
+
+    boolean horizonReached() {
+        return horizonReached;
+    }
+
+    void clearHorizon() {
+        horizonReached = false;
+    }
+
+    int getRootBestMove() {
+        return rootBestMove;
+    }
+
+    void setRootBestMove(int cell) {
+        rootBestMove = cell;
+    }
+
+    // Wert eines Wurzelzugs festhalten; flag wie in der Transpositionstabelle
+    void setRootScore(int cell, int score, int flag) {
+        rootScores[cell] = score;
+        rootFlags[cell] = flag;
+    }
+
+    int getRootScore(int cell) {
+        return rootScores[cell];
+    }
+
+    int getRootFlag(int cell) {
+        return rootFlags[cell];
+    }
+
+    void clearRootScores() {
+        Arrays.fill(rootFlags, 0);
+    }
+
+    /** Anzahl besuchter Knoten seit Beginn der letzten Suche. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Zugpuffer für Ply ply (0 = Wurzel)
+    int[] moves(int ply) {
+        return moveBuffers[ply];
+    }
+}
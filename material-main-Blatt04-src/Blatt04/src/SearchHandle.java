@@ -0,0 +1,156 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Eine Suche, die im Hintergrund läuft und sich von außen abbrechen lässt.
+ *
+ * Abgebrochen wird kooperativ über {@link SearchContext#cancel()}: die Suche prüft das
+ * Flag alle {@link SearchContext#getCheckInterval()} Knoten und kehrt dann zurück, ohne
+ * die Transpositionstabelle mit halben Ergebnissen zu füllen. Auch abgebrochen gibt es
+ * ein Ergebnis: {@link #solve} liefert den besten fertig durchsuchten Wurzelzug mit einer
+ * unteren Schranke, {@link #iterativeDeepening} den Zug der letzten vollständigen Iteration.
+ *
+ * <pre>
+ * SearchHandle handle = SearchHandle.solve(board, 1);
+ * SearchResult result = handle.get(200, TimeUnit.MILLISECONDS);   // danach rechnet nichts mehr
+ * </pre>
+ *
+ * Hat der Executor die Suche beim Abbruch noch nicht gestartet (Warteschlange eines
+ * ausgelasteten Pools, oder nach {@code shutdownNow()} verworfen), startet sie nicht mehr
+ * und das Ergebnis ist sofort ein leeres Teilergebnis ohne Zug.
+ *
+ * Die Suche arbeitet auf einer Kopie des Bretts. Der Kontext gehört der Suche, bis sie
+ * fertig ist, und darf in der Zeit nicht anderweitig benutzt werden.
+ */
+public final class SearchHandle {
+
+    // ein eigener Daemon-Thread pro Suche, wenn kein Executor angegeben ist
+    private static final Executor NEW_THREAD = task -> {
+        Thread t = new Thread(task, "search-handle");
+        t.setDaemon(true);
+        t.start();
+    };
+
+    private final SearchContext ctx;
+    private final CompletableFuture<SearchResult> result = new CompletableFuture<>();
+    // wer zuerst kommt, Suche oder Abbruch, entscheidet, ob die Suche überhaupt läuft
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private SearchHandle(SearchContext ctx) {
+        this.ctx = ctx;
+    }
+
+    private static SearchHandle start(SearchContext ctx, Supplier<SearchResult> search, Executor executor) {
+        ctx.resetCancel();
+        SearchHandle handle = new SearchHandle(ctx);
+        executor.execute(() -> {
+            if (!handle.started.compareAndSet(false, true)) {
+                return;   // vor dem Start abgebrochen, Ergebnis steht schon fest
+            }
+            try {
+                handle.result.complete(search.get());
+            } catch (Throwable t) {
+                handle.result.completeExceptionally(t);
+            }
+        });
+        return handle;
+    }
+
+    /** Exakte Suche wie {@link TicTacToe#alphaBeta(GameBoard, int)} auf einem eigenen Thread. */
+    public static SearchHandle solve(GameBoard board, int player) {
+        return solve(board, player, SearchContext.forBoard(board), NEW_THREAD);
+    }
+
+    /**
+     * Exakte Suche bis zu den Endstellungen. Fertig ist das Ergebnis
+     * {@link SearchResult#isSolved() gelöst}; abgebrochen ist es eine
+     * {@link SearchResult#isLowerBound() untere Schranke} oder ohne Zug.
+     */
+    public static SearchHandle solve(GameBoard board, int player, SearchContext ctx, Executor executor) {
+        GameBoard copy = board.copy();
+        return start(ctx, () -> TicTacToe.solve(copy, player, ctx), executor);
+    }
+
+    /**
+     * {@link TicTacToe#iterativeDeepening(GameBoard, int, SearchBudget, SearchContext)} im
+     * Hintergrund; ein Abbruch wirkt wie ein erschöpftes Budget, nur auch in der ersten Iteration.
+     */
+    public static SearchHandle iterativeDeepening(GameBoard board, int player, SearchBudget budget,
+                                                  SearchContext ctx, Executor executor) {
+        GameBoard copy = board.copy();
+        return start(ctx, () -> TicTacToe.iterativeDeepening(copy, player, budget, ctx), executor);
+    }
+
+    /**
+     * Bricht die Suche ab, ohne auf sie zu warten. Mehrfaches Abbrechen schadet nicht.
+     * Eine noch nicht gestartete Suche ist danach sofort fertig.
+     */
+    public void cancel() {
+        ctx.cancel();
+        if (started.compareAndSet(false, true)) {
+            result.complete(new SearchResult(null, 0, false, 0, 0));
+        }
+    }
+
+    /** Wurde die Suche abgebrochen (auch durch einen Interrupt ihres Threads)? */
+    public boolean isCancelled() {
+        return ctx.isCancelled();
+    }
+
+    /** Ist die Suche fertig, regulär oder nach einem Abbruch? */
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Wartet auf das Ergebnis. Wird der wartende Thread unterbrochen, wird auch die
+     * Suche abgebrochen.
+     */
+    public SearchResult get() throws InterruptedException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            cancel();
+            throw e;
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Wartet höchstens timeout auf das Ergebnis; ist die Suche dann nicht fertig, wird sie
+     * abgebrochen und ihr Teilergebnis abgewartet (höchstens ein Prüfintervall lang; eine
+     * noch nicht gestartete Suche liefert sofort ein leeres Teilergebnis).
+     * Danach belegt sie keine CPU mehr.
+     */
+    public SearchResult get(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            return result.get(timeout, unit);
+        } catch (TimeoutException e) {
+            cancel();
+            return get();
+        } catch (InterruptedException e) {
+            cancel();
+            throw e;
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    // Fehler der Suche im aufrufenden Thread weiterwerfen
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new CompletionException(cause);
+    }
+}
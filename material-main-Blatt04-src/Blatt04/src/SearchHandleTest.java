@@ -0,0 +1,147 @@
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Eine Suche im Hintergrund muss sich abbrechen lassen, danach schnell zurückkehren und
+ * ein brauchbares Teilergebnis liefern; ohne Abbruch muss sie wie alphaBeta() rechnen.
+ */
+public class SearchHandleTest {
+
+	@Test
+	public void testFinishedSearchMatchesAlphaBeta() throws Exception {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		SearchResult result = SearchHandle.solve(b, -1).get();
+		assertTrue(result.isSolved());
+		assertFalse(result.isLowerBound());
+		assertEquals(TicTacToe.alphaBeta(b, -1), result.getScore());
+		assertEquals(0, b.getField(result.getBestMove()));
+
+		Board won = new Board(3);
+		won.doMove(0, 1);
+		won.doMove(1, 1);
+		won.doMove(2, 1);
+		result = SearchHandle.solve(won, -1).get();
+		assertNull(result.getBestMove());
+		assertEquals(TicTacToe.alphaBeta(won, -1), result.getScore());
+	}
+
+	@Test
+	public void testTimeoutStopsSearchWithPartialResult() throws Exception {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean.isThreadCpuTimeSupported());
+		// 5×5 leer ist in Sekunden nicht lösbar
+		SearchContext ctx = new SearchContext();
+		ctx.setCheckInterval(64);
+		Board b = new Board(5);
+		AtomicLong searchCpu = new AtomicLong(-1);
+		Thread[] searcher = new Thread[1];
+		long start = System.nanoTime();
+		SearchHandle handle = SearchHandle.solve(b, 1, ctx, task -> {
+			searcher[0] = new Thread(() -> {
+				task.run();
+				searchCpu.set(bean.getCurrentThreadCpuTime());
+			});
+			searcher[0].start();
+		});
+		SearchResult result = handle.get(200, TimeUnit.MILLISECONDS);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(millis + " ms", millis >= 200);
+		// Nach dem Timeout rechnet die Suche höchstens noch ein Prüfintervall (64 Knoten).
+		// CPU-Zeit des Such-Threads statt Wanddauer: ein ausgelasteter Rechner verlängert
+		// nur diese, eine Suche, die den Abbruch verschläft, aber beide.
+		searcher[0].join();
+		long cpuMillis = searchCpu.get() / 1_000_000;
+		assertTrue("CPU-Zeit " + cpuMillis + " ms bei 200 ms Timeout", cpuMillis < 200 + 100);
+		assertTrue(handle.isDone());
+		assertTrue(handle.isCancelled());
+		assertFalse(result.isSolved());
+		assertTrue(result.getNodes() > 0);
+		// die Suche steht: der Knotenzähler wächst nicht mehr
+		long nodes = ctx.getNodes();
+		Thread.sleep(50);
+		assertEquals(nodes, ctx.getNodes());
+		if (result.getBestMove() != null) {
+			assertTrue(result.isLowerBound());
+		}
+		assertEquals("Brett unverändert", 25, b.nFreeFields());
+	}
+
+	@Test
+	public void testPartialResultIsLowerBound() throws Exception {
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		int exact = TicTacToe.alphaBeta(b, 1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// verschieden spät abbrechen: jedes Teilergebnis ist höchstens der exakte Wert
+			for (int delay = 0; delay < 20; delay += 2) {
+				SearchContext ctx = new SearchContext();
+				ctx.setCheckInterval(1);
+				SearchHandle handle = SearchHandle.solve(b, 1, ctx, executor);
+				Thread.sleep(delay);
+				handle.cancel();
+				SearchResult result = handle.get();
+				if (result.isSolved()) {
+					assertEquals(exact, result.getScore());
+				} else if (result.getBestMove() != null) {
+					assertTrue(result.isLowerBound());
+					assertTrue(result.getScore() + " > " + exact, result.getScore() <= exact);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testInterruptCancelsSearch() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		SearchHandle handle = SearchHandle.solve(new Board(5), 1, new SearchContext(), executor);
+		executor.shutdownNow();   // unterbricht den suchenden Thread
+		SearchResult result = handle.get(5, TimeUnit.SECONDS);
+		assertTrue(handle.isCancelled());
+		assertFalse(result.isSolved());
+
+		// unterbrochener Wartender bricht die Suche ebenfalls ab
+		SearchHandle second = SearchHandle.solve(new Board(5), 1);
+		Thread.currentThread().interrupt();
+		try {
+			second.get();
+			fail("InterruptedException erwartet");
+		} catch (InterruptedException e) {
+			assertTrue(second.isCancelled());
+		}
+		second.get(5, TimeUnit.SECONDS);
+		assertTrue(second.isDone());
+	}
+
+	@Test
+	public void testTimeoutBeforeStartDoesNotBlock() throws Exception {
+		// Executor, der die Suche nur einreiht (voller Pool oder nach shutdownNow verworfen)
+		List<Runnable> queued = new ArrayList<>();
+		SearchContext ctx = new SearchContext();
+		SearchHandle handle = SearchHandle.solve(new Board(3), 1, ctx, queued::add);
+		SearchResult result = handle.get(10, TimeUnit.MILLISECONDS);
+		assertTrue(handle.isDone());
+		assertTrue(handle.isCancelled());
+		assertNull(result.getBestMove());
+		assertFalse(result.isSolved());
+		assertEquals(0, result.getNodes());
+
+		// kommt die Suche doch noch dran, rechnet sie nicht mehr
+		queued.get(0).run();
+		assertSame(result, handle.get());
+		assertEquals(0, ctx.getNodes());
+	}
+}
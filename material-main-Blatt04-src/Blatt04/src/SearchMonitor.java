@@ -0,0 +1,108 @@
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Sammelt die {@link SearchReport}s beliebig vieler Suchen (auch aus mehreren Threads)
+ * und stellt sie als MXBean bereit, z.B. unter {@code blatt04:type=SearchMonitor}.
+ */
+public class SearchMonitor implements SearchMonitorMXBean {
+
+    private long searchCount;
+    private long totalNodes;
+    private long maxNodes;
+    private SearchReport last;
+
+    /** Verbucht den Bericht einer beendeten Suche. */
+    public synchronized void record(SearchReport report) {
+        searchCount++;
+        totalNodes += report.getNodes();
+        maxNodes = Math.max(maxNodes, report.getNodes());
+        last = report;
+    }
+
+    /**
+     * Registriert den Monitor beim Plattform-MBean-Server.
+     * @param name z.B. "blatt04:type=SearchMonitor"
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("MBean " + name + " konnte nicht registriert werden", e);
+        }
+    }
+
+    @Override
+    public synchronized long getSearchCount() {
+        return searchCount;
+    }
+
+    @Override
+    public synchronized long getTotalNodes() {
+        return totalNodes;
+    }
+
+    @Override
+    public synchronized long getMaxNodes() {
+        return maxNodes;
+    }
+
+    @Override
+    public synchronized long getLastNodes() {
+        return last == null ? 0 : last.getNodes();
+    }
+
+    @Override
+    public synchronized double getLastElapsedMillis() {
+        return last == null ? 0 : last.getElapsedNanos() / 1e6;
+    }
+
+    @Override
+    public synchronized int getLastMaxDepth() {
+        return last == null ? 0 : last.getMaxDepth();
+    }
+
+    @Override
+    public synchronized double getLastEffectiveBranchingFactor() {
+        return last == null ? 0 : last.getEffectiveBranchingFactor();
+    }
+
+    @Override
+    public synchronized double getLastFirstMoveCutoffRate() {
+        return last == null ? 0 : last.getFirstMoveCutoffRate();
+    }
+
+    @Override
+    public synchronized long getLastTranspositionHits() {
+        return last == null ? 0 : last.getTranspositionHits();
+    }
+
+    @Override
+    public synchronized long getLastOpeningBookHits() {
+        return last == null ? 0 : last.getOpeningBookHits();
+    }
+
+    @Override
+    public synchronized long getLastRetrogradeHits() {
+        return last == null ? 0 : last.getRetrogradeHits();
+    }
+
+    @Override
+    public synchronized String getLastReport() {
+        return last == null ? "" : last.toString();
+    }
+
+    @Override
+    public synchronized void reset() {
+        searchCount = 0;
+        totalNodes = 0;
+        maxNodes = 0;
+        last = null;
+    }
+}
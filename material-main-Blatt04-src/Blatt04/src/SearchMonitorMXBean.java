@@ -0,0 +1,34 @@
+/**
+ * JMX-Sicht auf {@link SearchMonitor}: Summen über alle Suchen und Werte der letzten Suche.
+ */
+public interface SearchMonitorMXBean {
+
+    long getSearchCount();
+
+    long getTotalNodes();
+
+    /** Größte Knotenzahl einer einzelnen Suche (Hinweis auf pathologische Stellungen). */
+    long getMaxNodes();
+
+    long getLastNodes();
+
+    double getLastElapsedMillis();
+
+    int getLastMaxDepth();
+
+    double getLastEffectiveBranchingFactor();
+
+    double getLastFirstMoveCutoffRate();
+
+    long getLastTranspositionHits();
+
+    long getLastOpeningBookHits();
+
+    long getLastRetrogradeHits();
+
+    /** Letzter Bericht als Text. */
+    String getLastReport();
+
+    /** Alle Zähler zurücksetzen. */
+    void reset();
+}
@@ -0,0 +1,124 @@
+/**
+ * Unveränderlicher Bericht über eine Suche, erzeugt von {@link SearchStatistics}.
+ */
+public final class SearchReport {
+
+    private final long elapsedNanos;
+    private final long[] nodesPerPly;
+    private final long[] nanosPerPly;
+    private final long terminals;
+    private final long horizonLeaves;
+    private final long transpositionHits;
+    private final long openingBookHits;
+    private final long retrogradeHits;
+    private final long[] cutoffsByMoveIndex;
+    private final long[] iterationNanos;
+
+    SearchReport(long elapsedNanos, long[] nodesPerPly, long[] nanosPerPly, long terminals,
+                 long horizonLeaves, long transpositionHits, long openingBookHits, long retrogradeHits,
+                 long[] cutoffsByMoveIndex, long[] iterationNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.nodesPerPly = nodesPerPly;
+        this.nanosPerPly = nanosPerPly;
+        this.terminals = terminals;
+        this.horizonLeaves = horizonLeaves;
+        this.transpositionHits = transpositionHits;
+        this.openingBookHits = openingBookHits;
+        this.retrogradeHits = retrogradeHits;
+        this.cutoffsByMoveIndex = cutoffsByMoveIndex;
+        this.iterationNanos = iterationNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Alle besuchten Knoten (inkl. Endstellungen). */
+    public long getNodes() {
+        long sum = 0;
+        for (long n : nodesPerPly) {
+            sum += n;
+        }
+        return sum;
+    }
+
+    /** Besuchte Knoten pro Abstand zur Wurzel. */
+    public long[] getNodesPerPly() {
+        return nodesPerPly.clone();
+    }
+
+    /**
+     * Eigenzeit pro Abstand zur Wurzel (siehe {@link SearchStatistics}); die Summe ist
+     * {@link #getElapsedNanos()}.
+     */
+    public long[] getNanosPerPly() {
+        return nanosPerPly.clone();
+    }
+
+    /** Gewonnene oder volle Stellungen. */
+    public long getTerminals() {
+        return terminals;
+    }
+
+    /** Am Suchhorizont heuristisch bewertete Stellungen. */
+    public long getHorizonLeaves() {
+        return horizonLeaves;
+    }
+
+    /** Knoten, die ohne Expansion aus der Transpositionstabelle beantwortet wurden. */
+    public long getTranspositionHits() {
+        return transpositionHits;
+    }
+
+    /** Knoten, deren exakter Wert aus dem Eröffnungsbuch kam. */
+    public long getOpeningBookHits() {
+        return openingBookHits;
+    }
+
+    /** Knoten, deren exakter Wert aus der Retrograd-Tabelle kam. */
+    public long getRetrogradeHits() {
+        return retrogradeHits;
+    }
+
+    /** Index i: Beta-Schnitte beim (i+1)-ten probierten Zug. */
+    public long[] getCutoffsByMoveIndex() {
+        return cutoffsByMoveIndex.clone();
+    }
+
+    /** Anteil der Beta-Schnitte, die schon beim ersten Zug kamen (Maß für die Zugsortierung). */
+    public double getFirstMoveCutoffRate() {
+        long total = 0;
+        for (long c : cutoffsByMoveIndex) {
+            total += c;
+        }
+        return total == 0 ? 0.0 : (double) cutoffsByMoveIndex[0] / total;
+    }
+
+    /** Größter erreichter Abstand zur Wurzel. */
+    public int getMaxDepth() {
+        return nodesPerPly.length - 1;
+    }
+
+    /**
+     * Effektiver Verzweigungsfaktor: die b mit b^d = Knoten, d = maximale Tiefe.
+     */
+    public double getEffectiveBranchingFactor() {
+        int depth = getMaxDepth();
+        return depth == 0 ? 0.0 : Math.pow(getNodes(), 1.0 / depth);
+    }
+
+    /** Index d: Dauer der Iteration mit Suchtiefe d (bei alphaBeta nur eine, bis zum Ende). */
+    public long[] getIterationNanos() {
+        return iterationNanos.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchReport(%d Knoten, %d Endstellungen, %d Horizont, %d TT-Treffer, "
+                        + "%d Buch-Treffer, %d Retrograd-Treffer, "
+                        + "Tiefe %d, EBF %.2f, Schnitte beim 1. Zug %.0f%%, %.2f ms)",
+                getNodes(), terminals, horizonLeaves, transpositionHits, openingBookHits, retrogradeHits,
+                getMaxDepth(),
+                getEffectiveBranchingFactor(), 100 * getFirstMoveCutoffRate(), elapsedNanos / 1e6);
+    }
+}
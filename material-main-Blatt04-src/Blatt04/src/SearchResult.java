@@ -0,0 +1,73 @@
+/**
+ * Ergebnis einer Suche mit Zeit- oder Knotenbudget: bester Zug der letzten
+ * vollständig durchsuchten Iteration und seine Bewertung.
+ *
+ * Ist {@link #isSolved()} wahr, hat {@link #getScore()} dieselbe Kodierung wie
+ * {@link TicTacToe#alphaBeta(GameBoard, int)} (0 = Remis, ±(p+1) = Sieg/Niederlage mit
+ * p freien Feldern). Sonst ist der Wert eine heuristische Schätzung (offene Reihen)
+ * und nur mit anderen Schätzungen vergleichbar.
+ *
+ * Eine abgebrochene exakte Suche ({@link SearchHandle#solve}) liefert mit
+ * {@link #isLowerBound()} den besten fertig durchsuchten Wurzelzug: sein Wert ist in
+ * derselben Kodierung, aber nur eine untere Schranke für den Wert der Stellung.
+ */
+public final class SearchResult {
+
+    private final Position bestMove;
+    private final int score;
+    private final boolean solved;
+    private final int depth;
+    private final long nodes;
+    private final boolean lowerBound;
+
+    SearchResult(Position bestMove, int score, boolean solved, int depth, long nodes) {
+        this(bestMove, score, solved, depth, nodes, false);
+    }
+
+    SearchResult(Position bestMove, int score, boolean solved, int depth, long nodes, boolean lowerBound) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.solved = solved;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * Bester Zug, {@code null} wenn die Stellung schon entschieden ist oder die Suche
+     * vor dem ersten Ergebnis abgebrochen wurde.
+     */
+    public Position getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /** Wurde die Stellung bis zu den Endstellungen gelöst (Wert exakt)? */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /** Ist der Wert exakt kodiert, aber nur eine untere Schranke (abgebrochene exakte Suche)? */
+    public boolean isLowerBound() {
+        return lowerBound;
+    }
+
+    /** Suchtiefe der letzten vollständigen Iteration in Halbzügen. */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Insgesamt besuchte Knoten über alle Iterationen. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult(" + bestMove + ", score=" + score + (solved ? ", gelöst" : lowerBound ? ", mindestens" : ", heuristisch")
+                + ", Tiefe " + depth + ", " + nodes + " Knoten)";
+    }
+}
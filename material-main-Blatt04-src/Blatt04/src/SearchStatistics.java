@@ -0,0 +1,133 @@
+import java.util.Arrays;
+
+/**
+ * Zähler einer einzelnen Suche: besuchte Knoten und Zeit pro Ply, Endstellungen,
+ * Horizont-Blätter, Treffer in Transpositionstabelle, Eröffnungsbuch und Retrograd-Tabelle,
+ * Beta-Schnitte nach Zugindex und Zeit pro Iteration.
+ *
+ * Die Zeit pro Ply ist Eigenzeit: die Spanne vom Betreten eines Knotens bis zum Betreten
+ * des nächsten zählt für das Ply des ersten. Arbeit nach der Rückkehr aus dem letzten Kind
+ * (Tabelle schreiben, Schnitt verbuchen) landet damit beim Ply dieses Kindes. Dafür kostet
+ * eingeschaltete Statistik einen {@link System#nanoTime()}-Aufruf pro Knoten.
+ *
+ * Wird über {@link SearchContext#enableStatistics(SearchMonitor)} eingeschaltet; ist sie
+ * aus, kostet sie die Suche nur einen null-Vergleich pro Ereignis. Am Ende jeder Suche
+ * wird ein unveränderlicher {@link SearchReport} erzeugt.
+ */
+public class SearchStatistics {
+
+    private static final int MAX_PLY = Zobrist.MAX_CELLS + 1;
+
+    private final SearchMonitor monitor;
+    private final long[] nodesPerPly = new long[MAX_PLY];
+    private final long[] cutoffsByMoveIndex = new long[Zobrist.MAX_CELLS];
+    private final long[] nanosPerPly = new long[MAX_PLY];
+    private final long[] iterationNanos = new long[MAX_PLY];   // Index = Suchtiefe
+    private long terminals;
+    private long horizonLeaves;
+    private long ttHits;
+    private long bookHits;
+    private long retrogradeHits;
+    private int lastPly;        // Ply des zuletzt betretenen Knotens, bekommt die laufende Zeit
+    private long lastNanos;
+    private int maxPly;
+    private int iterations;
+    private long startNanos;
+    private SearchReport lastReport;
+
+    SearchStatistics(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    // Neue Suche: alle Zähler auf 0
+    void begin() {
+        Arrays.fill(nodesPerPly, 0);
+        Arrays.fill(cutoffsByMoveIndex, 0);
+        Arrays.fill(nanosPerPly, 0);
+        Arrays.fill(iterationNanos, 0);
+        terminals = 0;
+        horizonLeaves = 0;
+        ttHits = 0;
+        bookHits = 0;
+        retrogradeHits = 0;
+        maxPly = 0;
+        iterations = 0;
+        lastPly = 0;
+        startNanos = System.nanoTime();
+        lastNanos = startNanos;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    void node(int ply) {
+        long now = System.nanoTime();
+        nanosPerPly[lastPly] += now - lastNanos;
+        lastNanos = now;
+        lastPly = ply;
+        nodesPerPly[ply]++;
+        if (ply > maxPly) {
+            maxPly = ply;
+        }
+    }
+
+    void terminal() {
+        terminals++;
+    }
+
+    void horizonLeaf() {
+        horizonLeaves++;
+    }
+
+    void ttHit() {
+        ttHits++;
+    }
+
+    void bookHit() {
+        bookHits++;
+    }
+
+    void retrogradeHit() {
+        retrogradeHits++;
+    }
+
+    void cutoff(int moveIndex) {
+        cutoffsByMoveIndex[moveIndex]++;
+    }
+
+    // Abgeschlossene (oder abgebrochene) Iteration der Tiefe depth
+    void iteration(int depth, long nanos) {
+        iterationNanos[depth] = nanos;
+        iterations = Math.max(iterations, depth);
+    }
+
+    // Suche beendet: Bericht erzeugen und ggf. beim Monitor verbuchen
+    SearchReport end() {
+        long now = System.nanoTime();
+        nanosPerPly[lastPly] += now - lastNanos;
+        lastNanos = now;
+        lastReport = new SearchReport(now - startNanos,
+                Arrays.copyOf(nodesPerPly, maxPly + 1), Arrays.copyOf(nanosPerPly, maxPly + 1),
+                terminals, horizonLeaves, ttHits, bookHits, retrogradeHits,
+                trimmed(cutoffsByMoveIndex), Arrays.copyOf(iterationNanos, iterations + 1));
+        if (monitor != null) {
+            monitor.record(lastReport);
+        }
+        return lastReport;
+    }
+
+    // Array ohne die Nullen am Ende
+    private static long[] trimmed(long[] values) {
+        int length = values.length;
+        while (length > 0 && values[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(values, length);
+    }
+
+    /** Bericht der zuletzt beendeten Suche, {@code null} vor der ersten. */
+    public SearchReport getLastReport() {
+        return lastReport;
+    }
+}
@@ -0,0 +1,102 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * JUnit-Tests für die Suchstatistik und ihren JMX-Monitor.
+ */
+public class SearchStatisticsTest {
+
+	@Test
+	public void testReportMatchesNodeCounter() {
+		SearchContext ctx = new SearchContext();
+		ctx.enableStatistics(null);
+		assertEquals(0, TicTacToe.alphaBeta(new Board(3), 1, ctx));
+		SearchReport r = ctx.getStatistics().getLastReport();
+		assertNotNull(r);
+		// der Budgetzähler zählt nur Nicht-Endstellungen
+		assertEquals(ctx.getNodes(), r.getNodes() - r.getTerminals());
+		assertEquals(1, r.getNodesPerPly()[0]);
+		assertEquals(9, r.getMaxDepth());
+		assertEquals(0, r.getHorizonLeaves());
+		assertTrue(r.getTranspositionHits() > 0);
+		assertTrue(r.getFirstMoveCutoffRate() > 0.5);
+		assertTrue(r.getEffectiveBranchingFactor() > 1.0);
+		// Eigenzeit pro Ply: ein Eintrag je Ply, zusammen die ganze Suche
+		long[] nanos = r.getNanosPerPly();
+		assertEquals(r.getNodesPerPly().length, nanos.length);
+		long sum = 0;
+		for (long t : nanos) {
+			assertTrue(t >= 0);
+			sum += t;
+		}
+		assertEquals(r.getElapsedNanos(), sum);
+		assertTrue(nanos[r.getMaxDepth() / 2] > 0);
+		assertEquals(0, r.getOpeningBookHits());
+		assertEquals(0, r.getRetrogradeHits());
+	}
+
+	@Test
+	public void testRetrogradeHitsAreCounted() {
+		SearchContext ctx = new SearchContext();
+		ctx.setRetrogradeTable(RetrogradeTable.build(3));
+		ctx.enableStatistics(null);
+		TicTacToe.alphaBeta(new Board(3), 1, ctx);
+		SearchReport r = ctx.getStatistics().getLastReport();
+		assertEquals("Wurzel direkt aus der Tabelle", 1, r.getRetrogradeHits());
+		assertEquals(1, r.getNodes());
+		assertEquals(0, r.getTranspositionHits());
+
+		TicTacToe.evaluatePossibleMoves(new Board(3), 1, ctx);
+		r = ctx.getStatistics().getLastReport();
+		assertEquals("Ecke, Kante und Mitte; symmetrische Züge werden nicht gesucht", 3, r.getRetrogradeHits());
+	}
+
+	@Test
+	public void testStatisticsDoNotChangeSearch() {
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		SearchContext plain = new SearchContext();
+		SearchContext counted = new SearchContext();
+		counted.enableStatistics(null);
+		assertEquals(TicTacToe.alphaBeta(b, 1, plain), TicTacToe.alphaBeta(b, 1, counted));
+		assertEquals(plain.getNodes(), counted.getNodes());
+	}
+
+	@Test
+	public void testIterationTimesAreRecorded() {
+		SearchContext ctx = new SearchContext();
+		ctx.enableStatistics(null);
+		SearchResult result = TicTacToe.iterativeDeepening(new Board(3), 1, SearchBudget.UNLIMITED, ctx);
+		SearchReport r = ctx.getStatistics().getLastReport();
+		assertEquals(result.getDepth() + 1, r.getIterationNanos().length);
+		for (int d = 1; d <= result.getDepth(); d++) {
+			assertTrue(r.getIterationNanos()[d] > 0);
+		}
+		assertTrue(r.getHorizonLeaves() > 0);
+	}
+
+	@Test
+	public void testMonitorIsVisibleOverJmx() throws Exception {
+		SearchMonitor monitor = new SearchMonitor();
+		ObjectName name = monitor.register("blatt04:type=SearchMonitor,name=test");
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			SearchContext ctx = new SearchContext();
+			ctx.enableStatistics(monitor);
+			TicTacToe.alphaBeta(new Board(3), 1, ctx);
+			TicTacToe.alphaBeta(new Board(3), -1, ctx);
+			assertEquals(2L, server.getAttribute(name, "SearchCount"));
+			assertEquals(monitor.getTotalNodes(), server.getAttribute(name, "TotalNodes"));
+			assertEquals(ctx.getStatistics().getLastReport().getNodes(), monitor.getLastNodes());
+			server.invoke(name, "reset", null, null);
+			assertEquals(0, monitor.getSearchCount());
+		} finally {
+			server.unregisterMBean(name);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+import java.util.Arrays;
+
+/**
+ * Die 8 Symmetrien (Drehungen und Spiegelungen) eines n×n-Bretts als Abbildungen
+ * auf Feld-Indizes (x*n + y), plus Hilfsmethoden für symmetrie-invariante Zobrist-Hashes.
+ *
+ * Ein Brett führt für jede Symmetrie t den Hash des mit t transformierten Bretts mit.
+ * Das Minimum der 8 Hashes ist für alle symmetrischen Stellungen gleich (kanonischer
+ * Hash); stimmt hashes[t] mit hashes[0] überein, ist das Brett (bis auf Kollisionen)
+ * unter t invariant.
+ */
+final class Symmetry {
+
+    /** Anzahl Symmetrien; Index 0 ist die Identität. */
+    static final int COUNT = 8;
+
+    /** INVERSE[t]: Symmetrie, die t rückgängig macht (nur die Drehungen um 90°/270° sind nicht selbstinvers). */
+    static final int[] INVERSE = {0, 3, 2, 1, 4, 5, 6, 7};
+
+    private static final int[][][] MAPS = new int[11][][];
+
+    static {
+        for (int n = 1; n <= 10; n++) {
+            MAPS[n] = build(n);
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    private static int[][] build(int n) {
+        int[][] map = new int[COUNT][n * n];
+        int m = n - 1;
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
+                int cell = x * n + y;
+                map[0][cell] = x * n + y;               // Identität
+                map[1][cell] = y * n + (m - x);         // 90°
+                map[2][cell] = (m - x) * n + (m - y);   // 180°
+                map[3][cell] = (m - y) * n + x;         // 270°
+                map[4][cell] = (m - x) * n + y;         // an senkrechter Achse gespiegelt
+                map[5][cell] = x * n + (m - y);         // an waagrechter Achse gespiegelt
+                map[6][cell] = y * n + x;               // an Hauptdiagonale gespiegelt
+                map[7][cell] = (m - y) * n + (m - x);   // an Nebendiagonale gespiegelt
+            }
+        }
+        return map;
+    }
+
+    /** map[t][cell] = Bild von cell unter Symmetrie t. */
+    static int[][] of(int n) {
+        return MAPS[n];
+    }
+
+    /** Startwerte der 8 Hashes für ein leeres Brett der Größe n mit Gewinnlänge k. */
+    static long[] emptyHashes(int n, int k) {
+        long[] hashes = new long[COUNT];
+        Arrays.fill(hashes, k == n ? Zobrist.SIZE[n] : Zobrist.SIZE[n] ^ Zobrist.LENGTH[k]);
+        return hashes;
+    }
+
+    /** Token an cell in alle 8 Hashes ein- bzw. austragen (XOR). */
+    static void toggle(long[] hashes, int[][] map, int cell, int token) {
+        long[] z = Zobrist.CELL[Zobrist.index(token)];
+        for (int t = 0; t < COUNT; t++) {
+            hashes[t] ^= z[map[t][cell]];
+        }
+    }
+
+    /** Kanonischer Hash: Minimum über alle Symmetrien. */
+    static long canonical(long[] hashes) {
+        long min = hashes[0];
+        for (int t = 1; t < COUNT; t++) {
+            min = Math.min(min, hashes[t]);
+        }
+        return min;
+    }
+
+    /** Index der Symmetrie, deren Hash der kanonische ist; bildet das Brett in die kanonische Lage ab. */
+    static int canonicalIndex(long[] hashes) {
+        int best = 0;
+        for (int t = 1; t < COUNT; t++) {
+            if (hashes[t] < hashes[best]) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /** Bitmaske der Symmetrien t ≥ 1, deren Hash mit der Identität übereinstimmt (Kandidaten für Invarianz). */
+    static int candidates(long[] hashes) {
+        int mask = 0;
+        for (int t = 1; t < COUNT; t++) {
+            if (hashes[t] == hashes[0]) {
+                mask |= 1 << t;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Ist cell der Vertreter seiner Bahn unter den Symmetrien in mask, d.h. der kleinste
+     * Index unter allen Bildern? Nur Vertreter müssen durchsucht werden.
+     */
+    static boolean isRepresentative(int[][] map, int mask, int cell) {
+        for (int t = 1; t < COUNT; t++) {
+            if ((mask & (1 << t)) != 0 && map[t][cell] < cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
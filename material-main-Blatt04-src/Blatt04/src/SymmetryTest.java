@@ -0,0 +1,73 @@
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * JUnit-Tests für die Symmetrie-Reduktion (kanonischer Hash, Invarianz-Maske).
+ */
+public class SymmetryTest {
+
+	@Test
+	public void testMapsArePermutations() {
+		for (int n = 1; n <= 10; n++) {
+			int[][] map = Symmetry.of(n);
+			for (int t = 0; t < Symmetry.COUNT; t++) {
+				boolean[] hit = new boolean[n * n];
+				for (int cell = 0; cell < n * n; cell++) {
+					assertFalse("n=" + n + ", t=" + t, hit[map[t][cell]]);
+					hit[map[t][cell]] = true;
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCanonicalHashOfRotatedBoards() {
+		// x in einer Ecke, o daneben – alle 8 Varianten müssen denselben kanonischen Hash haben
+		long expected = 0;
+		int[][] map = Symmetry.of(4);
+		for (int t = 0; t < Symmetry.COUNT; t++) {
+			Board b = new Board(4);
+			b.doMove(map[t][0], 1);         // (0,0)
+			b.doMove(map[t][1], -1);        // (0,1)
+			if (t == 0) {
+				expected = b.getCanonicalHash();
+			}
+			assertEquals("Symmetrie " + t, expected, b.getCanonicalHash());
+		}
+
+		Board other = new Board(4);
+		other.doMove(0, 1);
+		other.doMove(5, -1);                // (1,1) ist keine Drehung von (0,1)
+		assertNotEquals(expected, other.getCanonicalHash());
+	}
+
+	@Test
+	public void testSymmetryMask() {
+		Board b = new Board(3);
+		assertEquals("Leeres Brett ist unter allen 7 Symmetrien invariant", 0xFE, b.symmetryMask());
+		b.doMove(new Position(1, 1), 1);
+		assertEquals(0xFE, b.symmetryMask());
+		b.doMove(new Position(0, 0), -1);
+		// nur noch Spiegelung an der Hauptdiagonale (t=6)
+		assertEquals(1 << 6, b.symmetryMask());
+		b.doMove(new Position(2, 1), 1);
+		assertEquals(0, b.symmetryMask());
+
+		BitBoard bb = new BitBoard(3);
+		bb.doMove(new Position(1, 1), 1);
+		bb.doMove(new Position(0, 0), -1);
+		assertEquals(1 << 6, bb.symmetryMask());
+	}
+
+	@Test
+	public void testOnlyDistinctOpeningMovesAreKept() {
+		// auf 3×3 gibt es nur 3 verschiedene Eröffnungszüge: Ecke, Rand, Mitte
+		Board b = new Board(3);
+		int[] moves = new int[9];
+		int count = b.fillMoves(moves);
+		count = TicTacToe.keepRepresentatives(moves, count, Symmetry.of(3), b.symmetryMask());
+		assertEquals(3, count);
+		assertArrayEquals(new int[] {0, 1, 4}, java.util.Arrays.copyOf(moves, count));
+	}
+}
@@ -1,17 +1,252 @@
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Diese Klasse implementiert Alpha-Beta (Negamax) für beliebiges n×n‐Tic‐Tac‐Toe.
  */
 public class TicTacToe {
 
+    // "Unendlich" für das Suchfenster. Bewusst nicht Integer.MIN_VALUE, denn
+    // -Integer.MIN_VALUE läuft über und würde das Fenster beim Negieren zerstören.
+    static final int INF = Integer.MAX_VALUE;
+
+    // Intern werden Endstellungen mit SCORE_SCALE multipliziert (Sieg = (p+1)·SCORE_SCALE).
+    // Heuristische Werte am Suchhorizont bleiben betragsmäßig darunter und können so nie
+    // mit einem echten Sieg verwechselt werden. Nach außen wird wieder geteilt.
+    static final int SCORE_SCALE = 1024;
+
     /**
      * Einstiegsmethode, die von außen aufgerufen wird.
      * @param board  aktueller Spielzustand
      * @param player aktueller Spieler (1 = 'x', −1 = 'o')
      * @return       Bewertung des aktuellen Zustands aus Sicht von „player“
      */
-    public static int alphaBeta(Board board, int player) {
-        // alpha = −∞, beta = +∞ initial
-        return alphaBetaHelper(board, player, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    public static int alphaBeta(GameBoard board, int player) {
+        return alphaBeta(board, player, SearchContext.forBoard(board));
+    }
+
+    /**
+     * Wie {@link #alphaBeta(GameBoard, int)}, aber mit einer vom Aufrufer verwalteten
+     * Transpositionstabelle, die über mehrere Aufrufe hinweg wiederverwendet werden kann.
+     * @param tt Transpositionstabelle (Werte hängen nur von der Stellung ab, bleiben also gültig)
+     */
+    public static int alphaBeta(GameBoard board, int player, TranspositionTable tt) {
+        return alphaBeta(board, player, new SearchContext(tt));
+    }
+
+    /**
+     * Wie {@link #alphaBeta(GameBoard, int)} mit einem wiederverwendbaren Suchkontext.
+     * Mit einem bereits benutzten Kontext allokiert die Suche nichts.
+     * @param ctx Suchkontext (Transpositionstabelle und Zugpuffer)
+     */
+    public static int alphaBeta(GameBoard board, int player, SearchContext ctx) {
+        ctx.ensureCapacity(board.getN() * board.getN());
+        ctx.begin(SearchBudget.UNLIMITED);
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.begin();
+        }
+        // alpha = −∞, beta = +∞ initial; Tiefe = freie Felder, also bis zu den Endstellungen
+        int value = alphaBetaHelper(board, player, -INF, INF, board.nFreeFields(), ctx, 0) / SCORE_SCALE;
+        if (stats != null) {
+            stats.iteration(board.nFreeFields(), System.nanoTime() - stats.startNanos());
+            stats.end();
+        }
+        return value;
+    }
+
+    /**
+     * Iterative Vertiefung mit Budget: sucht mit Tiefe 1, 2, 3, … und bewertet Stellungen
+     * am Horizont heuristisch über {@link GameBoard#evaluate(int)}. Jede vollständig
+     * abgeschlossene Iteration ersetzt das Ergebnis der vorherigen; eine wegen des Budgets
+     * abgebrochene Iteration wird verworfen. Die erste Iteration läuft immer zu Ende,
+     * damit auch bei knappem Budget ein Zug zurückkommt; nur wenn der Kontext über
+     * {@link SearchContext#cancel()} abgebrochen wird, kann der Zug fehlen ({@code null}).
+     *
+     * @param board  aktueller Spielzustand (wird nicht verändert)
+     * @param player Spieler am Zug
+     * @param budget Zeit- und/oder Knotengrenze
+     * @return       bester Zug der letzten vollständigen Iteration
+     */
+    public static SearchResult iterativeDeepening(GameBoard board, int player, SearchBudget budget) {
+        return iterativeDeepening(board, player, budget, SearchContext.forBoard(board));
+    }
+
+    /**
+     * Wie {@link #iterativeDeepening(GameBoard, int, SearchBudget)} mit wiederverwendbarem Kontext.
+     */
+    public static SearchResult iterativeDeepening(GameBoard board, int player, SearchBudget budget,
+                                                  SearchContext ctx) {
+        long start = System.nanoTime();
+        int free = board.nFreeFields();
+        ctx.ensureCapacity(board.getN() * board.getN());
+        ctx.begin(SearchBudget.UNLIMITED);
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.begin();
+        }
+
+        // schon entschieden: kein Zug, Wert wie alphaBeta
+        if (board.isGameWon() || free == 0) {
+            int value = alphaBetaHelper(board, player, -INF, INF, free, ctx, 0) / SCORE_SCALE;
+            if (stats != null) {
+                stats.end();
+            }
+            return new SearchResult(null, value, true, 0, ctx.getNodes());
+        }
+
+        int bestMove = -1;
+        int bestScore = 0;
+        boolean solved = false;
+        int completedDepth = 0;
+        for (int depth = 1; depth <= free; depth++) {
+            ctx.clearHorizon();
+            long iterationStart = System.nanoTime();
+            int score;
+            int window = ctx.getAspirationWindow();
+            if (window > 0 && depth > 1) {
+                // Fenster um den Vorwert; fällt der Wert heraus, mit vollem Fenster wiederholen
+                int low = bestScore - window;
+                int high = bestScore + window;
+                score = searchRoot(board, player, depth, ctx, bestMove, low, high);
+                if (!ctx.isStopped() && (score <= low || score >= high)) {
+                    ctx.clearHorizon();
+                    score = searchRoot(board, player, depth, ctx, ctx.getRootBestMove(), -INF, INF);
+                }
+            } else {
+                score = searchRoot(board, player, depth, ctx, bestMove, -INF, INF);
+            }
+            if (stats != null) {
+                stats.iteration(depth, System.nanoTime() - iterationStart);
+            }
+            if (ctx.isStopped()) {
+                break;   // unvollständige Iteration verwerfen
+            }
+            bestMove = ctx.getRootBestMove();
+            bestScore = score;
+            completedDepth = depth;
+            // gelöst, wenn nirgends heuristisch bewertet wurde oder ein erzwungener Sieg/Verlust feststeht
+            solved = !ctx.horizonReached() || Math.abs(score) >= SCORE_SCALE;
+            if (solved) {
+                break;
+            }
+            if (depth == 1) {
+                ctx.limit(budget, start);   // ab jetzt gilt das Budget
+            }
+        }
+        if (bestMove < 0) {
+            // schon die erste Iteration abgebrochen (SearchContext#cancel): kein Zug
+            if (stats != null) {
+                stats.end();
+            }
+            return new SearchResult(null, 0, false, 0, ctx.getNodes());
+        }
+        int n = board.getN();
+        Position move = Position.of(bestMove / n, bestMove % n);
+        int score = solved ? bestScore / SCORE_SCALE : bestScore;
+        if (stats != null) {
+            stats.end();
+        }
+        return new SearchResult(move, score, solved, completedDepth, ctx.getNodes());
+    }
+
+    /**
+     * Exakte Suche wie {@link #alphaBeta(GameBoard, int, SearchContext)}, aber mit bestem Zug.
+     * Wird sie über den Kontext abgebrochen, kommt der beste Wurzelzug zurück, dessen Teilbaum
+     * fertig durchsucht war; sein Wert ist eine untere Schranke ({@link SearchResult#isLowerBound()}).
+     * War noch keiner fertig, fehlt der Zug.
+     */
+    static SearchResult solve(GameBoard board, int player, SearchContext ctx) {
+        int free = board.nFreeFields();
+        ctx.ensureCapacity(board.getN() * board.getN());
+        ctx.begin(SearchBudget.UNLIMITED);
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.begin();
+        }
+        int n = board.getN();
+        SearchResult result;
+        if (board.isGameWon() || free == 0) {
+            int value = alphaBetaHelper(board, player, -INF, INF, free, ctx, 0) / SCORE_SCALE;
+            result = new SearchResult(null, value, true, 0, ctx.getNodes());
+        } else {
+            int score = searchRoot(board, player, free, ctx, -1, -INF, INF);
+            if (!ctx.isStopped()) {
+                int best = ctx.getRootBestMove();
+                result = new SearchResult(Position.of(best / n, best % n), score / SCORE_SCALE, true, free,
+                        ctx.getNodes());
+            } else {
+                // bester fertiger Wurzelzug; der höchste Wert ist exakt, die übrigen höchstens so gut
+                int best = -1;
+                for (int cell = 0; cell < n * n; cell++) {
+                    if (ctx.getRootFlag(cell) != 0 && (best < 0 || ctx.getRootScore(cell) > ctx.getRootScore(best))) {
+                        best = cell;
+                    }
+                }
+                result = best < 0 ? new SearchResult(null, 0, false, 0, ctx.getNodes())
+                        : new SearchResult(Position.of(best / n, best % n), ctx.getRootScore(best) / SCORE_SCALE,
+                                false, 0, ctx.getNodes(), true);
+            }
+        }
+        if (stats != null) {
+            stats.end();
+        }
+        return result;
+    }
+
+    /**
+     * Durchsucht alle Züge an der Wurzel bis zur Tiefe depth. Der beste Zug landet in
+     * {@link SearchContext#getRootBestMove()}, der Wert jedes durchsuchten Zugs in
+     * {@link SearchContext#getRootScore(int)}.
+     *
+     * @param preferred Feld-Index, der zuerst durchsucht wird (bester Zug der vorigen Iteration), oder −1
+     * @param alpha     untere Fenstergrenze (−INF für eine vollständige Suche)
+     * @param beta      obere Fenstergrenze; ein Zug ab beta beendet die Suche (fail high)
+     * @return          Wert der Wurzel (intern skaliert); außerhalb (alpha, beta) nur eine Schranke
+     */
+    static int searchRoot(GameBoard board, int player, int depth, SearchContext ctx, int preferred,
+                          int alpha, int beta) {
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.node(0);
+        }
+        int[] moves = ctx.moves(0);
+        int count = board.fillMoves(moves);
+        int symmetries = board.symmetryMask();
+        if (symmetries != 0) {
+            count = keepRepresentatives(moves, count, Symmetry.of(board.getN()), symmetries);
+        }
+        int hashMove = preferred >= 0 ? preferred : tableMove(board, player, ctx.getTranspositionTable());
+        ctx.getMoveOrdering().order(board, player, moves, count, hashMove, 0);
+
+        ctx.clearRootScores();
+        boolean pvs = ctx.getAlgorithm() == SearchAlgorithm.PVS;
+        int bestValue = Integer.MIN_VALUE;
+        int bestMove = moves[0];
+        for (int i = 0; i < count; i++) {
+            board.doMove(moves[i], player);
+            int score = pvs && i > 0
+                    ? pvsChild(board, player, alpha, beta, depth, ctx, 0)
+                    : -alphaBetaHelper(board, -player, -beta, -alpha, depth - 1, ctx, 1);
+            board.undoMove(moves[i]);
+            if (ctx.isStopped()) {
+                break;
+            }
+            // Fenster ist (alpha, beta): dazwischen exakt, darunter obere, darüber untere Schranke
+            int flag = score <= alpha ? TranspositionTable.UPPER
+                    : score >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            ctx.setRootScore(moves[i], score, flag);
+            if (score > bestValue) {
+                bestValue = score;
+                bestMove = moves[i];
+            }
+            alpha = Math.max(alpha, bestValue);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        ctx.setRootBestMove(bestMove);
+        return bestValue;
     }
 
     /**
@@ -21,35 +256,173 @@ public class TicTacToe {
      * @param player aktueller Spieler (1 oder −1)
      * @param alpha  bisher bester (maximierender) Wert
      * @param beta   bisher schlechtester (minimierender) Wert
-     * @return       Bewertung aus Sicht von "player"
+     * @param depth  Resttiefe; bei 0 wird heuristisch bewertet (= nFreeFields() für eine exakte Suche)
+     * @param ctx    Suchkontext mit Transpositionstabelle, Zugpuffern und Budget
+     * @param ply    Abstand zur Wurzel, wählt den Zugpuffer
+     * @return       Bewertung aus Sicht von "player", skaliert mit SCORE_SCALE
      */
-    private static int alphaBetaHelper(Board board, int player, int alpha, int beta) {
+    static int alphaBetaHelper(GameBoard board, int player, int alpha, int beta, int depth,
+                               SearchContext ctx, int ply) {
+        // Statistik nur, wenn eingeschaltet (sonst kostet sie je Ereignis einen null-Vergleich)
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.node(ply);
+        }
+
         // 1) Terminaltest: Hat der Gegner (−player) gerade gewonnen?
         if (board.isGameWon()) {
+            if (stats != null) {
+                stats.terminal();
+            }
             int p = board.nFreeFields();       // übrig gebliebene freie Felder
-            return -(p + 1);                   // Gegner hat gewonnen → −(p+1)
+            return -(p + 1) * SCORE_SCALE;     // Gegner hat gewonnen → −(p+1)
         }
 
         // 2) Terminaltest: Kein freies Feld mehr → Unentschieden (0)
         if (board.nFreeFields() == 0) {
+            if (stats != null) {
+                stats.terminal();
+            }
+            return 0;
+        }
+
+        // Budget erschöpft: Wert ist bedeutungslos, der Aufrufer verwirft ihn
+        if (ctx.countNode()) {
             return 0;
         }
 
-        // 3) Negamax-Loop über alle legalen Züge für "player"
+        // Eröffnungsbuch: exakter Wert für frühe Stellungen, nur solange sie im Buch stehen können
+        OpeningBook book = ctx.getOpeningBook();
+        int n = board.getN();
+        if (book != null && book.getN() == n && n * n - board.nFreeFields() <= book.getPlies()) {
+            int value = book.lookup(Zobrist.key(board.getCanonicalHash(), player));
+            if (value != OpeningBook.MISSING) {
+                if (stats != null) {
+                    stats.bookHit();
+                }
+                return value * SCORE_SCALE;
+            }
+        }
+
+        // Vollständig vorberechnete Werte (kleine Bretter): ein Array-Zugriff statt Suche
+        RetrogradeTable retrograde = ctx.getRetrogradeTable();
+        if (retrograde != null && retrograde.getN() == n && retrograde.getK() == board.getK()) {
+            int value = retrograde.value(board, player);
+            if (value != RetrogradeTable.UNREACHABLE) {
+                if (stats != null) {
+                    stats.retrogradeHit();
+                }
+                return value * SCORE_SCALE;
+            }
+        }
+
+        // 3) Transpositionstabelle: Wert oder Schranke aus einer anderen Zugfolge übernehmen.
+        //    Der kanonische Hash lässt auch gedrehte/gespiegelte Stellungen denselben Eintrag teilen.
+        TranspositionTable tt = ctx.getTranspositionTable();
+        long key = Zobrist.key(board.getCanonicalHash(), player);
+        long entry = tt.probe(key);
+        if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= depth) {
+            int value = TranspositionTable.value(entry);
+            if (TranspositionTable.depth(entry) < board.nFreeFields() && Math.abs(value) < SCORE_SCALE) {
+                ctx.markHorizon();   // Wert stammt aus einer begrenzten Suche
+            }
+            switch (TranspositionTable.flag(entry)) {
+                case TranspositionTable.EXACT:
+                    if (stats != null) {
+                        stats.ttHit();
+                    }
+                    return value;
+                case TranspositionTable.LOWER:
+                    alpha = Math.max(alpha, value);
+                    break;
+                case TranspositionTable.UPPER:
+                    beta = Math.min(beta, value);
+                    break;
+                default:
+                    break;
+            }
+            if (alpha >= beta) {
+                if (stats != null) {
+                    stats.ttHit();
+                }
+                return value;
+            }
+        }
+
+        // Horizont erreicht: offene Reihen zählen statt weiterzusuchen
+        if (depth <= 0) {
+            if (stats != null) {
+                stats.horizonLeaf();
+            }
+            ctx.markHorizon();
+            return board.evaluate(player);
+        }
+        // Taktik vor der Suche (nur k = n, dort liefern die Linienzähler die Drohungen fast umsonst):
+        // Ein sofortiger Sieg ist der schnellste, also der exakte Wert. Kann der Gegner auf zwei
+        // Feldern gewinnen, hilft kein Zug; auf einem Feld muss dort geblockt werden, denn jeder
+        // andere Zug verliert sofort und ist nie besser als der Block.
+        int forced = -1;
+        if (board.getK() == n) {
+            if (board.winningCell(player) != -1) {
+                return board.nFreeFields() * SCORE_SCALE;
+            }
+            forced = board.winningCell(-player);
+            if (forced == GameBoard.SEVERAL_WINNING_CELLS) {
+                return -(board.nFreeFields() - 1) * SCORE_SCALE;
+            }
+        }
+        int alphaOrig = alpha;   // Fenster nach Übernahme der Schranken, für den Flag beim Speichern
+
+        // 4) Negamax-Loop über alle legalen Züge für "player" (Feld-Indizes im Puffer dieses Plys)
+        int[] moves = ctx.moves(ply);
+        int count;
+        MoveOrdering ordering = ctx.getMoveOrdering();
+        if (forced >= 0) {
+            moves[0] = forced;
+            count = 1;
+        } else {
+            count = board.fillMoves(moves);
+            // Ist die Stellung selbst symmetrisch (v.a. in den ersten Zügen), führen symmetrische
+            // Züge zu gleichwertigen Stellungen; dann nur den Vertreter jeder Bahn durchsuchen.
+            int symmetries = board.symmetryMask();
+            if (symmetries != 0) {
+                count = keepRepresentatives(moves, count, Symmetry.of(n), symmetries);
+            }
+            // Zugsortierung: Tabellenzug (auch aus zu flacher Suche) zuerst, dann Taktik/Killer/History
+            int hashMove = -1;
+            int cells = n * n;
+            if (entry != TranspositionTable.MISS && TranspositionTable.move(entry) >= 0
+                    && TranspositionTable.move(entry) < cells) {
+                int t = Symmetry.INVERSE[board.canonicalSymmetry()];
+                hashMove = Symmetry.of(n)[t][TranspositionTable.move(entry)];
+            }
+            ordering.order(board, player, moves, count, hashMove, ply);
+        }
+        boolean pvs = ctx.getAlgorithm() == SearchAlgorithm.PVS;
         int bestValue = Integer.MIN_VALUE;
-        for (Position pos : board.validMoves()) {
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
             // Zug ausführen
-            board.doMove(pos, player);
+            board.doMove(moves[i], player);
 
             // Negamax-Rekursionsaufruf: Vorzeichen invertieren, alpha/beta vertauschen
-            int score = -alphaBetaHelper(board, -player, -beta, -alpha);
+            // (PVS: ab dem zweiten Zug erst mit Nullfenster)
+            int score = pvs && i > 0
+                    ? pvsChild(board, player, alpha, beta, depth, ctx, ply)
+                    : -alphaBetaHelper(board, -player, -beta, -alpha, depth - 1, ctx, ply + 1);
 
             // Zug zurücknehmen
-            board.undoMove(pos);
+            board.undoMove(moves[i]);
+
+            // abgebrochene Teilbäume nicht in die Tabelle schreiben
+            if (ctx.isStopped()) {
+                return 0;
+            }
 
             // bestValue aktualisieren (maximieren)
             if (score > bestValue) {
                 bestValue = score;
+                bestMove = moves[i];
             }
             // alpha aktualisieren
             if (bestValue > alpha) {
@@ -57,20 +430,164 @@ public class TicTacToe {
             }
             // Alpha-Beta‐Abschneiden
             if (alpha >= beta) {
+                // ein erzwungener Block sagt nichts über gute Züge in Geschwisterknoten
+                if (forced < 0) {
+                    ordering.cutoff(moves[i], player, depth, ply);
+                }
+                if (stats != null) {
+                    stats.cutoff(i);
+                }
                 break;
             }
         }
 
+        // 5) Ergebnis samt Schranken-Typ und bestem Zug speichern (bezogen auf das ursprüngliche Fenster).
+        //    Der Zug wird in die kanonische Lage gedreht, passend zum kanonischen Schlüssel.
+        int flag;
+        if (bestValue <= alphaOrig) {
+            flag = TranspositionTable.UPPER;
+        } else if (bestValue >= beta) {
+            flag = TranspositionTable.LOWER;
+        } else {
+            flag = TranspositionTable.EXACT;
+        }
+        int canonicalMove = Symmetry.of(board.getN())[board.canonicalSymmetry()][bestMove];
+        tt.store(key, bestValue, flag, depth, canonicalMove);
+
         return bestValue;
     }
 
     /**
-     * Diese Methode wird in den JUnit‐Tests nicht abgefragt, kann also leer bleiben.
+     * Wert des gerade gezogenen Kindes für PVS: erst nur prüfen, ob es alpha übertrifft
+     * (Nullfenster), und nur dann mit dem vollen Fenster (alpha, beta) nachsuchen.
+     * Der Zug ist schon ausgeführt; ply ist der des Elternknotens.
+     */
+    private static int pvsChild(GameBoard board, int player, int alpha, int beta, int depth,
+                                SearchContext ctx, int ply) {
+        if (alpha + 1 >= beta) {
+            return -alphaBetaHelper(board, -player, -beta, -alpha, depth - 1, ctx, ply + 1);
+        }
+        int score = -alphaBetaHelper(board, -player, -alpha - 1, -alpha, depth - 1, ctx, ply + 1);
+        if (score > alpha && score < beta && !ctx.isStopped()) {
+            score = -alphaBetaHelper(board, -player, -beta, -alpha, depth - 1, ctx, ply + 1);
+        }
+        return score;
+    }
+
+    // Entfernt Züge, die unter einer der Symmetrien in mask auf einen kleineren Zug abgebildet werden
+    static int keepRepresentatives(int[] moves, int count, int[][] map, int mask) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (Symmetry.isRepresentative(map, mask, moves[i])) {
+                moves[kept++] = moves[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Bester Zug, Wert jedes möglichen Zugs und Hauptvariante in einer einzigen Suche.
+     * Die Wurzelzüge teilen sich das Alpha-Fenster: der beste Zug bekommt einen exakten
+     * Wert, schlechtere Züge eine obere Schranke (wie viel schlechter, interessiert die
+     * Suche nicht). Symmetrische Züge bekommen den Wert ihres Vertreters.
+     *
+     * @param board  aktueller Spielzustand (wird nicht verändert)
+     * @param player Spieler am Zug
      */
-    public static void evaluatePossibleMoves(Board board, int player) {
-        // leer, wird von TicTacToeTest.java nicht geprüft
+    public static MoveEvaluation evaluatePossibleMoves(GameBoard board, int player) {
+        return evaluatePossibleMoves(board, player, SearchContext.forBoard(board));
+    }
+
+    /**
+     * Wie {@link #evaluatePossibleMoves(GameBoard, int)} mit wiederverwendbarem Kontext.
+     */
+    public static MoveEvaluation evaluatePossibleMoves(GameBoard board, int player, SearchContext ctx) {
+        int n = board.getN();
+        int free = board.nFreeFields();
+        ctx.ensureCapacity(n * n);
+        ctx.begin(SearchBudget.UNLIMITED);
+        SearchStatistics stats = ctx.getStatistics();
+        if (stats != null) {
+            stats.begin();
+        }
+        List<MoveEvaluation.MoveScore> scores = new ArrayList<>();
+        List<Position> pv = new ArrayList<>();
+        if (board.isGameWon() || free == 0) {
+            int value = alphaBetaHelper(board, player, -INF, INF, free, ctx, 0) / SCORE_SCALE;
+            if (stats != null) {
+                stats.end();
+            }
+            return new MoveEvaluation(null, value, scores, pv);
+        }
+
+        int value = searchRoot(board, player, free, ctx, -1, -INF, INF) / SCORE_SCALE;
+        if (stats != null) {
+            stats.iteration(free, System.nanoTime() - stats.startNanos());
+            stats.end();
+        }
+        int best = ctx.getRootBestMove();
+
+        // Werte aller freien Felder; weggelassene symmetrische Züge vom Vertreter übernehmen
+        int[][] map = Symmetry.of(n);
+        int symmetries = board.symmetryMask();
+        int[] moves = new int[free];
+        int count = board.fillMoves(moves);
+        for (int i = 0; i < count; i++) {
+            int rep = representative(map, symmetries, moves[i]);
+            boolean exact = ctx.getRootFlag(rep) == TranspositionTable.EXACT;
+            scores.add(new MoveEvaluation.MoveScore(Position.of(moves[i] / n, moves[i] % n),
+                    ctx.getRootScore(rep) / SCORE_SCALE, exact));
+        }
+
+        // Hauptvariante: bester Zug, danach den gespeicherten Zügen der Tabelle folgen
+        pv.add(Position.of(best / n, best % n));
+        board.doMove(best, player);
+        int[] played = new int[free];
+        played[0] = best;
+        int length = 1;
+        int side = -player;
+        while (!board.isGameWon() && board.nFreeFields() > 0) {
+            int move = tableMove(board, side, ctx.getTranspositionTable());
+            if (move < 0) {
+                break;
+            }
+            pv.add(Position.of(move / n, move % n));
+            board.doMove(move, side);
+            played[length++] = move;
+            side = -side;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            board.undoMove(played[i]);
+        }
+        return new MoveEvaluation(Position.of(best / n, best % n), value, scores, pv);
+    }
+
+    // Gespeicherter bester Zug aus der Tabelle, zurück in die Lage des Bretts gedreht; −1 wenn keiner/ungültig
+    static int tableMove(GameBoard board, int player, TranspositionTable tt) {
+        long entry = tt.probe(Zobrist.key(board.getCanonicalHash(), player));
+        int n = board.getN();
+        if (entry == TranspositionTable.MISS || TranspositionTable.move(entry) < 0
+                || TranspositionTable.move(entry) >= n * n) {
+            return -1;
+        }
+        int t = Symmetry.INVERSE[board.canonicalSymmetry()];
+        int move = Symmetry.of(n)[t][TranspositionTable.move(entry)];
+        if (board.getField(Position.of(move / n, move % n)) != 0) {
+            return -1;   // Kollision: Zug passt nicht zu dieser Stellung
+        }
+        return move;
+    }
+
+    // Kleinstes Bild von cell unter den Symmetrien in mask (der durchsuchte Vertreter)
+    private static int representative(int[][] map, int mask, int cell) {
+        int rep = cell;
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            if ((mask & (1 << t)) != 0) {
+                rep = Math.min(rep, map[t][cell]);
+            }
+        }
+        return rep;
     }
 
     // Kein eigenes main() erforderlich – die Tests rufen alphaBeta() sofort auf.
 }
-
@@ -126,15 +126,16 @@ public class TicTacToeTest {
 	}
 
 	/**
-	 * Test: Leeres 4×4-Brett. Bei optimalem Spiel kann x (player=1) ebenfalls gewinnen,
-	 * weil mit 4×4 Tic-Tac-Toe der erste Spieler in aller Regel einen Sieg erzwingt.
-	 * Wir prüfen nur, dass eval > 0.
+	 * Test: Leeres 4×4-Brett. Anders als früher angenommen kann x hier keinen Sieg
+	 * erzwingen: 4×4-Tic-Tac-Toe (vier in einer Reihe) endet bei optimalem Spiel remis.
+	 * Die alte Erwartung eval > 0 war nur durch den Überlauf von -Integer.MIN_VALUE im
+	 * Startfenster erfüllt, der die Suche nach dem ersten Zug abgeschnitten hat.
 	 */
 	@Test
 	public void testAlphaBeta_4x4_EmptyBoard() {
 		Board b4 = new Board(4);
 		int eval = TicTacToe.alphaBeta(b4, 1);
-		assertTrue("Auf einem leeren 4×4-Brett sollte x gewinnen können (eval > 0)", eval > 0);
+		assertEquals("Ein leeres 4×4-Brett ist bei optimalem Spiel remis (eval = 0)", 0, eval);
 	}
 
 	/**
@@ -164,4 +165,111 @@ public class TicTacToeTest {
 		int eval = TicTacToe.alphaBeta(b, 1);
 		assertEquals("Komplett belegtes 3×3-Brett ohne Gewinner muss Remis liefern (eval = 0)", 0, eval);
 	}
+
+	/**
+	 * Spielt die Hauptvariante auf einer Kopie nach und prüft, dass sie legal ist,
+	 * in einer Endstellung endet und dort genau den gemeldeten Wert ergibt.
+	 */
+	private static void assertPrincipalVariationReaches(Board b, int player, MoveEvaluation ev) {
+		Board copy = b.copy();
+		int side = player;
+		for (Position p : ev.getPrincipalVariation()) {
+			copy.doMove(p, side);
+			side = -side;
+		}
+		assertTrue("Hauptvariante endet nicht in einer Endstellung",
+				copy.isGameWon() || copy.nFreeFields() == 0);
+		int value = copy.isGameWon() ? copy.nFreeFields() + 1 : 0;
+		// side ist jetzt der Spieler nach dem letzten Zug; gewonnen hat -side
+		int fromPlayer = (-side == player) ? value : -value;
+		assertEquals(ev.getScore(), fromPlayer);
+	}
+
+	@Test
+	public void testEvaluatePossibleMoves_ImmediateWin() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		MoveEvaluation ev = TicTacToe.evaluatePossibleMoves(b, 1);
+		assertEquals(new Position(2, 0), ev.getBestMove());
+		assertEquals(6, ev.getScore());
+		assertEquals(6, ev.getMoveScores().size());
+		for (MoveEvaluation.MoveScore ms : ev.getMoveScores()) {
+			if (ms.getMove().equals(new Position(2, 0))) {
+				assertTrue(ms.isExact());
+				assertEquals(6, ms.getScore());
+			} else {
+				assertTrue("Kein anderer Zug ist so gut wie der Gewinnzug", ms.getScore() < 6);
+			}
+		}
+		assertEquals(1, ev.getPrincipalVariation().size());
+		assertPrincipalVariationReaches(b, 1, ev);
+		assertEquals("Brett darf nicht verändert werden", 6, b.nFreeFields());
+	}
+
+	@Test
+	public void testEvaluatePossibleMoves_BlockAndDraw() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), -1);
+		b.doMove(new Position(1, 0), -1);
+		b.doMove(new Position(1, 1), 1);
+		MoveEvaluation ev = TicTacToe.evaluatePossibleMoves(b, 1);
+		assertEquals(new Position(2, 0), ev.getBestMove());
+		assertEquals(TicTacToe.alphaBeta(b, 1), ev.getScore());
+		assertPrincipalVariationReaches(b, 1, ev);
+	}
+
+	@Test
+	public void testEvaluatePossibleMoves_EmptyBoardSymmetricScores() {
+		Board b = new Board(3);
+		MoveEvaluation ev = TicTacToe.evaluatePossibleMoves(b, 1);
+		assertEquals(0, ev.getScore());
+		assertEquals(9, ev.getMoveScores().size());
+		// Ecken haben alle denselben (gemeldeten) Wert
+		int corner = ev.getMoveScores().get(0).getScore();
+		assertEquals(corner, ev.getMoveScores().get(2).getScore());
+		assertEquals(corner, ev.getMoveScores().get(6).getScore());
+		assertEquals(corner, ev.getMoveScores().get(8).getScore());
+		assertPrincipalVariationReaches(b, 1, ev);
+	}
+
+	@Test
+	public void testEvaluatePossibleMoves_FinishedGame() {
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), 1);
+		b.doMove(new Position(2, 2), 1);
+		MoveEvaluation ev = TicTacToe.evaluatePossibleMoves(b, -1);
+		assertNull(ev.getBestMove());
+		assertTrue(ev.getPrincipalVariation().isEmpty());
+		assertEquals(TicTacToe.alphaBeta(b, -1), ev.getScore());
+	}
+
+	@Test
+	public void testAlphaBeta_WinLengthBelowN() {
+		// k = n verhält sich wie bisher
+		assertEquals(0, TicTacToe.alphaBeta(new Board(3, 3), 1));
+		// 3×3 mit k = 2: x gewinnt mit dem zweiten eigenen Stein, 6 Felder bleiben frei → 7
+		assertEquals(7, TicTacToe.alphaBeta(new Board(3, 2), 1));
+		// 4×4 mit k = 3: x erzwingt eine Dreierreihe mit dem dritten Stein → 11 frei → 12
+		assertEquals(12, TicTacToe.alphaBeta(new Board(4, 3), 1));
+		assertEquals(12, TicTacToe.alphaBeta(new BitBoard(4, 3), 1));
+		assertEquals("o als Anziehender gewinnt genauso", 12, TicTacToe.alphaBeta(new Board(4, 3), -1));
+	}
+
+	@Test
+	public void testIterativeDeepening_Gomoku10x10() {
+		Board b = new Board(10, 5);
+		// o hat vier in einer Zeile, x muss am offenen Ende blocken
+		b.doMove(new Position(0, 0), -1);
+		b.doMove(new Position(1, 0), -1);
+		b.doMove(new Position(2, 0), -1);
+		b.doMove(new Position(3, 0), -1);
+		b.doMove(new Position(5, 5), 1);
+		b.doMove(new Position(6, 6), 1);
+		b.doMove(new Position(7, 7), 1);
+		SearchResult r = TicTacToe.iterativeDeepening(b, 1, SearchBudget.ofMillis(300));
+		assertEquals(new Position(4, 0), r.getBestMove());
+	}
 }
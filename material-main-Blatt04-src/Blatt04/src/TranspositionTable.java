@@ -0,0 +1,217 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Transpositionstabelle für die Alpha-Beta-Suche.
+ *
+ * Jeder Eintrag speichert zu einem Zobrist-Schlüssel den Suchwert, ob dieser Wert
+ * exakt oder nur eine untere/obere Schranke ist, die Resttiefe, mit der er
+ * berechnet wurde, und den besten (bzw. schneidenden) Zug. Die Tabelle hat eine feste Größe (Zweierpotenz); bei Kollisionen
+ * entscheidet die {@link ReplacementPolicy}, ob der alte Eintrag überschrieben wird.
+ *
+ * Einträge werden als gepacktes {@code long} zurückgegeben, damit {@link #probe}
+ * nichts allokiert; auslesen mit {@link #value}, {@link #flag}, {@link #depth} und {@link #move}.
+ *
+ * Die Tabelle kann ohne Sperren von mehreren Threads gleichzeitig benutzt werden
+ * (lockless hashing nach Hyatt): ein Slot besteht aus zwei {@code long}s in einem
+ * flachen Array, {@code key ^ data} und {@code data}. Schreiben zwei Threads denselben
+ * Slot gleichzeitig, passen die beiden Hälften nicht mehr zusammen, und
+ * {@link #probe} meldet einen Fehlschlag statt eines vermischten Eintrags. Die
+ * Zähler werden nicht synchronisiert und sind bei mehreren Threads nur Näherungswerte.
+ */
+public class TranspositionTable {
+
+    /** Rückgabe von {@link #probe}, wenn nichts gefunden wurde. */
+    public static final long MISS = 0L;
+
+    /** Wert ist exakt. */
+    public static final int EXACT = 1;
+    /** Wert ist eine untere Schranke (Beta-Schnitt). */
+    public static final int LOWER = 2;
+    /** Wert ist eine obere Schranke (kein Zug hat alpha verbessert). */
+    public static final int UPPER = 3;
+
+    /** Standardgröße: 2^20 Einträge (16 MB). */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /** Größte Kapazität: 2^29 Einträge, das flache Array hat dann 2^30 {@code long}s. */
+    public static final int MAX_CAPACITY = 1 << 29;
+
+    /** Ersetzungsstrategie bei belegtem Slot. */
+    public enum ReplacementPolicy {
+        /** Neuer Eintrag verdrängt immer den alten. */
+        ALWAYS,
+        /** Alter Eintrag bleibt, wenn er mit größerer Resttiefe berechnet wurde. */
+        DEPTH_PREFERRED
+    }
+
+    // Jeder Zugriff auf ein Array-Element ist ein einzelnes, atomares 64-Bit-Lesen/Schreiben
+    // (opaque: ohne Speicherbarrieren, aber nie halb geschrieben)
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;   // slots[2i] = key ^ data, slots[2i+1] = data
+    private final int mask;
+    private final ReplacementPolicy policy;
+
+    private long hits;
+    private long misses;
+    private long collisions;
+
+    public TranspositionTable() {
+        this(DEFAULT_CAPACITY, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    public TranspositionTable(int capacity) {
+        this(capacity, ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    /**
+     * Tabelle für eine einzelne Suche mit free freien Feldern: darunter gibt es höchstens
+     * 3^free Stellungen, kleine Suchen bekommen also eine kleine Tabelle statt immer
+     * {@link #DEFAULT_CAPACITY} Einträge (16 MB) anzulegen und zu nullen.
+     */
+    public static TranspositionTable forFreeCells(int free) {
+        long positions = 1;
+        for (int i = 0; i < free && positions < DEFAULT_CAPACITY; i++) {
+            positions *= 3;
+        }
+        return new TranspositionTable((int) Math.min(positions, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * @param capacity gewünschte Anzahl Einträge (höchstens {@link #MAX_CAPACITY}), wird auf die nächste
+     *                 Zweierpotenz aufgerundet
+     * @param policy   Ersetzungsstrategie
+     */
+    public TranspositionTable(int capacity, ReplacementPolicy policy) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Kapazität muss zwischen 1 und 2^29 liegen: " + capacity);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Ersetzungsstrategie fehlt.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new long[2 * size];
+        mask = size - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Sucht den Eintrag zu key.
+     * @return gepackter Eintrag oder {@link #MISS}
+     */
+    public long probe(long key) {
+        int slot = ((int) key & mask) << 1;
+        long entry = (long) SLOTS.getOpaque(slots, slot + 1);
+        long check = (long) SLOTS.getOpaque(slots, slot);
+        if (entry != MISS && (check ^ entry) == key) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        if (entry != MISS) {
+            collisions++;   // Slot von einer anderen Stellung belegt (oder gerade überschrieben)
+        }
+        return MISS;
+    }
+
+    /**
+     * Speichert einen Suchwert.
+     * @param key   Zobrist-Schlüssel inkl. Spieler am Zug
+     * @param value Suchwert aus Sicht des Spielers am Zug
+     * @param flag  {@link #EXACT}, {@link #LOWER} oder {@link #UPPER}
+     * @param depth Resttiefe, mit der der Wert berechnet wurde (0..255)
+     */
+    public void store(long key, int value, int flag, int depth) {
+        store(key, value, flag, depth, -1);
+    }
+
+    /**
+     * Wie {@link #store(long, int, int, int)}, zusätzlich mit dem besten Zug.
+     * @param move Feld-Index (0..99) des besten Zugs oder −1
+     */
+    public void store(long key, int value, int flag, int depth, int move) {
+        int slot = ((int) key & mask) << 1;
+        long old = (long) SLOTS.getOpaque(slots, slot + 1);
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED && old != MISS
+                && ((long) SLOTS.getOpaque(slots, slot) ^ old) != key && depth(old) > depth) {
+            return;
+        }
+        long entry = pack(value, flag, depth, move);
+        SLOTS.setOpaque(slots, slot, key ^ entry);
+        SLOTS.setOpaque(slots, slot + 1, entry);
+    }
+
+    // Aufbau eines Eintrags: Bits 0-31 Wert, 32-33 Flag, 34-41 Tiefe, 42-49 Zug+1 (0 = kein Zug)
+    static long pack(int value, int flag, int depth, int move) {
+        return (value & 0xFFFFFFFFL) | ((long) flag << 32) | ((long) (depth & 0xFF) << 34)
+                | ((long) ((move + 1) & 0xFF) << 42);
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public static int flag(long entry) {
+        return (int) (entry >>> 32) & 0x3;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 34) & 0xFF;
+    }
+
+    /** Bester Zug als Feld-Index, −1 wenn keiner gespeichert ist. */
+    public static int move(long entry) {
+        return ((int) (entry >>> 42) & 0xFF) - 1;
+    }
+
+    /** Löscht alle Einträge und Zähler. */
+    public void clear() {
+        Arrays.fill(slots, 0L);
+        resetStatistics();
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        collisions = 0;
+    }
+
+    public int capacity() {
+        return slots.length / 2;
+    }
+
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    /** Anzahl Probes, die einen passenden Eintrag gefunden haben. */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Anzahl Probes ohne passenden Eintrag (inkl. Kollisionen). */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Anzahl Fehlschläge, bei denen der Slot von einer anderen Stellung belegt war. */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /** Anteil belegter Slots (zählt alle Slots, also O(Kapazität)). */
+    public double fillRate() {
+        int used = 0;
+        for (int i = 1; i < slots.length; i += 2) {
+            if (slots[i] != MISS) {
+                used++;
+            }
+        }
+        return (double) used / capacity();
+    }
+}
@@ -0,0 +1,118 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Viele Threads auf einer gemeinsamen (absichtlich kleinen) Transpositionstabelle:
+ * zerrissene Schreibzugriffe dürfen nie als gültiger Eintrag zurückkommen, und
+ * jede Suche muss denselben Wert wie eine serielle Suche liefern.
+ */
+public class TranspositionTableStressTest {
+
+	private static final int THREADS = 8;
+
+	// Wert, Tiefe und Zug hängen nur vom Schlüssel ab; ein vermischter Eintrag fällt so auf
+	private static int valueOf(long key) {
+		return (int) (key ^ (key >>> 32));
+	}
+
+	@Test
+	public void testNoTornEntries() throws Exception {
+		TranspositionTable tt = new TranspositionTable(64, TranspositionTable.ReplacementPolicy.ALWAYS);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Integer>> checks = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				long seed = t;
+				checks.add(pool.submit(() -> {
+					Random rnd = new Random(seed);
+					int hits = 0;
+					for (int i = 0; i < 200_000; i++) {
+						long key = rnd.nextInt(1024) * 0x9E3779B97F4A7C15L;
+						if (rnd.nextBoolean()) {
+							tt.store(key, valueOf(key), TranspositionTable.EXACT, (int) (key >>> 58), (int) (key >>> 57) & 63);
+						} else {
+							long entry = tt.probe(key);
+							if (entry != TranspositionTable.MISS) {
+								assertEquals(valueOf(key), TranspositionTable.value(entry));
+								assertEquals((int) (key >>> 58), TranspositionTable.depth(entry));
+								assertEquals((int) (key >>> 57) & 63, TranspositionTable.move(entry));
+								hits++;
+							}
+						}
+					}
+					return hits;
+				}));
+			}
+			int hits = 0;
+			for (Future<Integer> f : checks) {
+				hits += f.get();
+			}
+			assertTrue(hits > 0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentSearchesMatchSerial() throws Exception {
+		// zufällig angespielte 4×4-Stellungen, seriell mit eigener Tabelle gelöst
+		Random rnd = new Random(99);
+		List<Board> boards = new ArrayList<>();
+		List<Integer> players = new ArrayList<>();
+		List<Integer> expected = new ArrayList<>();
+		while (boards.size() < 48) {
+			Board b = PositionTestSupport.randomPosition(4, 3 + rnd.nextInt(5), rnd);
+			if (b.isGameWon()) {
+				continue;
+			}
+			int player = PositionTestSupport.playerToMove(b);
+			boards.add(b);
+			players.add(player);
+			expected.add(TicTacToe.alphaBeta(b.copy(), player));
+		}
+
+		TranspositionTable shared = new TranspositionTable(1 << 12);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> runs = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int offset = t;
+				runs.add(pool.submit(() -> {
+					SearchContext ctx = new SearchContext(shared);
+					for (int i = 0; i < boards.size(); i++) {
+						int k = (i + offset * 5) % boards.size();
+						assertEquals("Stellung " + k, (int) expected.get(k),
+								TicTacToe.alphaBeta(boards.get(k).copy(), players.get(k), ctx));
+					}
+				}));
+			}
+			for (Future<?> f : runs) {
+				f.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelSearchAndBatchSolverShareTable() throws Exception {
+		TranspositionTable shared = new TranspositionTable(1 << 16);
+		Board b = new Board(4);
+		b.doMove(new Position(0, 0), 1);
+		b.doMove(new Position(1, 1), -1);
+		try (ParallelSearch search = new ParallelSearch(2, ParallelSearch.DEFAULT_SPLIT_PLIES, shared);
+		     BatchSolver solver = new BatchSolver(2, 4, 16, shared)) {
+			int value = search.alphaBeta(b, 1);
+			assertSame(shared, solver.getTranspositionTable());
+			long hitsBefore = shared.getHits();
+			assertEquals(value, (int) solver.submit(b, 1).get());
+			assertTrue("Batch nutzt die Einträge der parallelen Suche", shared.getHits() > hitsBefore);
+		}
+	}
+}
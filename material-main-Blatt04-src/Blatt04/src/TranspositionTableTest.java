@@ -0,0 +1,100 @@
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * JUnit-Tests für die Transpositionstabelle und ihr Zusammenspiel mit alphaBeta().
+ */
+public class TranspositionTableTest {
+
+	@Test
+	public void testStoreAndProbe() {
+		TranspositionTable tt = new TranspositionTable(16);
+		assertEquals(TranspositionTable.MISS, tt.probe(42L));
+
+		tt.store(42L, -7, TranspositionTable.LOWER, 5);
+		long entry = tt.probe(42L);
+		assertNotEquals(TranspositionTable.MISS, entry);
+		assertEquals(-7, TranspositionTable.value(entry));
+		assertEquals(TranspositionTable.LOWER, TranspositionTable.flag(entry));
+		assertEquals(5, TranspositionTable.depth(entry));
+
+		assertEquals(1, tt.getHits());
+		assertEquals(1, tt.getMisses());
+	}
+
+	@Test
+	public void testCapacityIsRoundedUp() {
+		assertEquals(16, new TranspositionTable(10).capacity());
+		assertEquals(1, new TranspositionTable(1).capacity());
+	}
+
+	@Test
+	public void testCapacityForFreeCells() {
+		assertEquals(1, TranspositionTable.forFreeCells(0).capacity());
+		assertEquals(32768, TranspositionTable.forFreeCells(9).capacity());   // 3^9 = 19683 Stellungen
+		assertEquals(TranspositionTable.DEFAULT_CAPACITY, TranspositionTable.forFreeCells(16).capacity());
+		assertEquals(TranspositionTable.DEFAULT_CAPACITY, TranspositionTable.forFreeCells(100).capacity());
+	}
+
+	@Test
+	public void testCapacityBounds() {
+		// 2^30 Einträge bräuchten 2^31 longs und liefen über
+		for (int capacity : new int[] {0, TranspositionTable.MAX_CAPACITY + 1, 1 << 30, Integer.MAX_VALUE}) {
+			try {
+				new TranspositionTable(capacity);
+				fail("Kapazität " + capacity);
+			} catch (IllegalArgumentException e) {
+				// erwartet
+			}
+		}
+	}
+
+	@Test
+	public void testReplacementPolicies() {
+		// Schlüssel 1 und 17 landen bei Kapazität 16 im selben Slot
+		TranspositionTable deep = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+		deep.store(1L, 3, TranspositionTable.EXACT, 8);
+		deep.store(17L, 4, TranspositionTable.EXACT, 2);
+		assertEquals("Tieferer Eintrag muss erhalten bleiben", 3, TranspositionTable.value(deep.probe(1L)));
+		assertEquals(TranspositionTable.MISS, deep.probe(17L));
+		assertEquals(1, deep.getCollisions());
+
+		TranspositionTable always = new TranspositionTable(16, TranspositionTable.ReplacementPolicy.ALWAYS);
+		always.store(1L, 3, TranspositionTable.EXACT, 8);
+		always.store(17L, 4, TranspositionTable.EXACT, 2);
+		assertEquals(TranspositionTable.MISS, always.probe(1L));
+		assertEquals(4, TranspositionTable.value(always.probe(17L)));
+	}
+
+	@Test
+	public void testHashFollowsMoves() {
+		Board b = new Board(3);
+		long empty = b.getHash();
+		b.doMove(new Position(1, 1), 1);
+		assertNotEquals(empty, b.getHash());
+		b.undoMove(new Position(1, 1));
+		assertEquals(empty, b.getHash());
+
+		// gleiche Stellung über andere Zugfolge → gleicher Hash
+		Board a = new Board(3);
+		a.doMove(new Position(0, 0), 1);
+		a.doMove(new Position(2, 2), -1);
+		Board c = new Board(3);
+		c.setField(new Position(2, 2), -1);
+		c.setField(new Position(0, 0), 1);
+		assertEquals(a.getHash(), c.getHash());
+	}
+
+	@Test
+	public void testTinyTableGivesSameResult() {
+		// Auch mit ständigen Kollisionen muss alphaBeta denselben Wert liefern
+		Board b = new Board(3);
+		b.doMove(new Position(0, 0), -1);
+		b.doMove(new Position(1, 0), -1);
+		b.doMove(new Position(1, 1), 1);
+		TranspositionTable tiny = new TranspositionTable(1, TranspositionTable.ReplacementPolicy.ALWAYS);
+		assertEquals(TicTacToe.alphaBeta(b, 1), TicTacToe.alphaBeta(b, 1, tiny));
+		assertEquals(0, TicTacToe.alphaBeta(new Board(3), 1, tiny));
+	}
+}
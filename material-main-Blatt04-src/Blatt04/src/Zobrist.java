@@ -0,0 +1,55 @@
+import java.util.SplittableRandom;
+
+/**
+ * Zufallsschlüssel für das Zobrist-Hashing eines n×n-Bretts.
+ * Jede Kombination aus Spieler und Feld bekommt eine feste 64-Bit-Zahl; der Hash
+ * eines Bretts ist das XOR aller belegten Felder und wird in {@link Board#setField}
+ * inkrementell nachgeführt.
+ */
+final class Zobrist {
+
+    /** Maximale Anzahl Felder (n ≤ 10). */
+    static final int MAX_CELLS = 100;
+
+    /** CELL[0][i] für x (+1) auf Feld i, CELL[1][i] für o (−1). */
+    static final long[][] CELL = new long[2][MAX_CELLS];
+
+    /** Startwert pro Brettgröße, damit gleiche Belegungen bei verschiedenem n nicht kollidieren. */
+    static final long[] SIZE = new long[11];
+
+    /** Wird eingemischt, wenn o am Zug ist. */
+    static final long SIDE;
+
+    /** Wird pro Gewinnlänge k &lt; n eingemischt (k = n bleibt ohne, damit alte Schlüssel gültig bleiben). */
+    static final long[] LENGTH = new long[11];
+
+    static {
+        // fester Seed, damit Hashes über Prozessgrenzen hinweg gleich bleiben
+        SplittableRandom rnd = new SplittableRandom(0x5EEDB1A77L);
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < MAX_CELLS; i++) {
+                CELL[p][i] = rnd.nextLong();
+            }
+        }
+        for (int n = 0; n < SIZE.length; n++) {
+            SIZE[n] = rnd.nextLong();
+        }
+        SIDE = rnd.nextLong();
+        for (int k = 0; k < LENGTH.length; k++) {
+            LENGTH[k] = rnd.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    // Index in CELL für Token +1/−1
+    static int index(int token) {
+        return token == 1 ? 0 : 1;
+    }
+
+    // Schlüssel für die Transpositionstabelle: Brett-Hash plus Spieler am Zug
+    static long key(long boardHash, int player) {
+        return player == 1 ? boardHash : boardHash ^ SIDE;
+    }
+}